@@ -0,0 +1,97 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.client.generator.*;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.*;
+
+/**
+ * Jeux de données des benchmarks : flux d’exemple du répertoire {@code resources/}
+ * et flux générés de taille paramétrable ({@link SyntheticFeedGenerator}).
+ * <p>
+ * Le répertoire des exemples peut être changé avec la propriété système
+ * {@code rss25sb.bench.samples} (par défaut : {@code resources}, relatif au projet).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+public final class BenchmarkFeeds {
+
+    /** Nombre maximal d’articles d’un flux rss25SB natif (contrainte du XSD). */
+    public static final int MAX_NATIVE_ITEMS = 10;
+
+    /** Date de publication du premier article généré. */
+    private static final OffsetDateTime NEWEST = OffsetDateTime.of(2025, 5, 20, 10, 0, 0, 0, ZoneOffset.ofHours(2));
+
+    private BenchmarkFeeds() {
+    }
+
+    /**
+     * Lit un flux d’exemple.
+     *
+     * @param name nom du fichier sans extension (ex : {@code optionals_added})
+     * @return le contenu du flux
+     * @throws UncheckedIOException si le fichier est introuvable
+     */
+    public static String sample(String name) {
+        Path dir = Path.of(System.getProperty("rss25sb.bench.samples", "resources"));
+        try {
+            return Files.readString(dir.resolve(name + ".xml"), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Flux d’exemple introuvable : " + name, e);
+        }
+    }
+
+    /**
+     * Génère un flux rss25SB natif valide de {@code count} articles complets
+     * (catégories, image, auteur et contributeur).
+     *
+     * @param count nombre d’articles, au plus {@value #MAX_NATIVE_ITEMS}
+     * @return le flux XML
+     */
+    public static String nativeFeed(int count) {
+        if (count > MAX_NATIVE_ITEMS) {
+            throw new IllegalArgumentException("Un flux rss25SB natif est limité à " + MAX_NATIVE_ITEMS + " articles");
+        }
+        SyntheticFeedSpec spec = spec(count);
+        spec.setImageRate(1);
+        return generate(spec);
+    }
+
+    /**
+     * Génère un flux RSS 2.0 au format de LeMonde.fr de {@code count} articles.
+     * Un article sur deux en moyenne porte une image {@code media:content} avec dimensions.
+     *
+     * @param count nombre d’articles
+     * @return le flux XML
+     */
+    public static String leMondeFeed(int count) {
+        SyntheticFeedSpec spec = spec(count);
+        spec.setFormat(SyntheticFeedFormat.LE_MONDE);
+        spec.setContentSize(120);
+        return generate(spec);
+    }
+
+    /**
+     * Prépare une description de {@code count} articles à dates fixes, pour des documents
+     * identiques d’une exécution à l’autre.
+     */
+    private static SyntheticFeedSpec spec(int count) {
+        SyntheticFeedSpec spec = new SyntheticFeedSpec();
+        spec.setItems(count);
+        spec.setNewest(NEWEST);
+        return spec;
+    }
+
+    private static String generate(SyntheticFeedSpec spec) {
+        try {
+            return new SyntheticFeedGenerator(spec).nextDocument();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Génération du flux de benchmark impossible", e);
+        }
+    }
+}
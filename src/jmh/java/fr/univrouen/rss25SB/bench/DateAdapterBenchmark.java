@@ -0,0 +1,45 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.model.adapter.OffsetDateTimeXmlAdapter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link OffsetDateTimeXmlAdapter}, appelé pour chaque date de chaque article
+ * lors de la (dé)sérialisation JAXB.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateAdapterBenchmark {
+
+    private final OffsetDateTimeXmlAdapter adapter = new OffsetDateTimeXmlAdapter();
+
+    private String text;
+    private OffsetDateTime value;
+
+    @Setup
+    public void setUp() {
+        text = "2025-05-18T12:00:00+02:00";
+        value = adapter.unmarshal(text);
+    }
+
+    @Benchmark
+    public OffsetDateTime unmarshal() {
+        return adapter.unmarshal(text);
+    }
+
+    @Benchmark
+    public String marshal() {
+        return adapter.marshal(value);
+    }
+}
@@ -0,0 +1,60 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.model.db.ItemEntity;
+import fr.univrouen.rss25SB.model.xml.*;
+import fr.univrouen.rss25SB.utils.*;
+import fr.univrouen.rss25SB.utils.constants.Constants;
+import jakarta.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.SAXException;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversion entre articles XML et entités JPA
+ * ({@link ItemMapper#toEntity(Item)} et {@link ItemMapper#toXml(ItemEntity)}),
+ * sur les 10 articles complets d’un flux natif généré.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+
+    private List<Item> items;
+    private List<ItemEntity> entities;
+
+    @Setup
+    public void setUp() throws JAXBException, SAXException {
+        Feed feed = XmlUtil.unmarshal(BenchmarkFeeds.nativeFeed(BenchmarkFeeds.MAX_NATIVE_ITEMS), Feed.class, Constants.XSD_PATH);
+        items = feed.getItem();
+        entities = new ArrayList<>();
+        for (Item item : items) {
+            entities.add(ItemMapper.toEntity(item));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkFeeds.MAX_NATIVE_ITEMS)
+    public void toEntity(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toEntity(item));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkFeeds.MAX_NATIVE_ITEMS)
+    public void toXml(Blackhole blackhole) {
+        for (ItemEntity entity : entities) {
+            blackhole.consume(ItemMapper.toXml(entity));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.converter.sources.LeMondeFluxConverter;
+import fr.univrouen.rss25SB.model.xml.Feed;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversion d’un flux Le Monde :
+ * <ul>
+ *     <li>{@code staxConvert} : {@link LeMondeFluxConverter#convert(String)}, liste complète en mémoire</li>
+ *     <li>{@code staxStream} : conversion article par article depuis les octets du flux,
+ *         comme lors d’une ingestion par lots</li>
+ *     <li>{@code domReference} : ancienne conversion DOM ({@link LeMondeDomReference})</li>
+ * </ul>
+ * Le profileur {@code -prof gc} donne l’allocation par opération de chaque variante.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeMondeConverterBenchmark {
+
+    /** Nombre d’articles du flux. */
+    @Param({"10", "100", "1000"})
+    public int items;
+
+    private final LeMondeFluxConverter converter = new LeMondeFluxConverter();
+
+    private String xml;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        xml = BenchmarkFeeds.leMondeFeed(items);
+        bytes = xml.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Feed staxConvert() {
+        return converter.convert(xml);
+    }
+
+    @Benchmark
+    public int staxStream(Blackhole blackhole) {
+        return converter.stream(new ByteArrayInputStream(bytes), blackhole::consume);
+    }
+
+    @Benchmark
+    public Feed domReference() throws Exception {
+        return LeMondeDomReference.convert(xml);
+    }
+}
@@ -0,0 +1,101 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.model.xml.*;
+
+import org.w3c.dom.*;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.*;
+import java.io.StringReader;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Référence de comparaison : conversion DOM d’un flux Le Monde, telle qu’elle existait
+ * avant le passage au lecteur StAX en une passe.
+ * <p>
+ * Le document entier est chargé en mémoire, puis chaque champ de chaque {@code <item>}
+ * est recherché avec {@link Element#getElementsByTagName(String)}. Seul l’algorithme est
+ * conservé ; la journalisation de l’ancienne version est omise.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+final class LeMondeDomReference {
+
+    private LeMondeDomReference() {
+    }
+
+    /**
+     * Convertit un flux RSS 2.0 Le Monde en {@link Feed} via DOM.
+     *
+     * @param xmlContent flux XML brut
+     * @return le flux converti
+     * @throws Exception si le document est invalide
+     */
+    static Feed convert(String xmlContent) throws Exception {
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        Document doc = builder.parse(new InputSource(new StringReader(xmlContent)));
+        NodeList itemNodes = doc.getElementsByTagName("item");
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemNodes.getLength(); i++) {
+            items.add(convertItem((Element) itemNodes.item(i)));
+        }
+        Feed feed = new Feed();
+        feed.setItem(items);
+        return feed;
+    }
+
+    private static Item convertItem(Element itemElement) {
+        Item item = new Item();
+        item.setTitle(text(itemElement, "title", null));
+        item.setGuid(text(itemElement, "guid", null));
+
+        String pubDate = text(itemElement, "pubDate", null);
+        if (pubDate != null && !pubDate.isBlank()) {
+            item.setPublished(OffsetDateTime.parse(pubDate, DateTimeFormatter.RFC_1123_DATE_TIME));
+        }
+        String updated = text(itemElement, "updated", null);
+        if (updated != null && !updated.isBlank()) {
+            item.setUpdated(OffsetDateTime.parse(updated, DateTimeFormatter.RFC_1123_DATE_TIME));
+        }
+
+        Content content = new Content();
+        content.setType("text");
+        content.setSrc(text(itemElement, "description", null));
+        item.setContent(content);
+
+        NodeList mediaNodes = itemElement.getElementsByTagName("media:content");
+        if (mediaNodes.getLength() > 0) {
+            Element media = (Element) mediaNodes.item(0);
+            Image image = new Image();
+            image.setHref(media.getAttribute("url"));
+            image.setType("image/JPEG");
+            image.setAlt(text(media, "media:description", "Image Le Monde"));
+            try {
+                image.setLength(Integer.parseInt(media.getAttribute("width")) * Integer.parseInt(media.getAttribute("height")) * 3);
+            } catch (NumberFormatException e) {
+                image.setLength(50000);
+            }
+            item.setImage(image);
+        }
+
+        Category category = new Category();
+        category.setTerm("Actualités");
+        item.getCategory().add(category);
+
+        Author author = new Author();
+        author.setName("Rédaction Le Monde");
+        author.setEmail("contact@lemonde.fr");
+        author.setUri("https://www.lemonde.fr");
+        item.getAuthorOrContributor().add(author);
+        return item;
+    }
+
+    private static String text(Element parent, String tagName, String defaultValue) {
+        NodeList nodes = parent.getElementsByTagName(tagName);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent().trim() : defaultValue;
+    }
+}
@@ -0,0 +1,90 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.model.xml.Feed;
+import fr.univrouen.rss25SB.utils.XmlUtil;
+import fr.univrouen.rss25SB.utils.constants.Constants;
+import jakarta.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.SAXException;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la (dé)sérialisation JAXB d’un flux rss25SB :
+ * <ul>
+ *     <li>{@code unmarshal} / {@code marshal} : {@link XmlUtil#unmarshal(String, Class, String)}
+ *         (avec validation XSD) et {@link XmlUtil#marshal(Object)}, contextes et schéma partagés</li>
+ *     <li>{@code referenceUnmarshal} / {@code referenceMarshal} : ancien chemin, contexte JAXB
+ *         et schéma recréés à chaque appel ({@link XmlUtilReference})</li>
+ * </ul>
+ * Le XSD limitant un flux à 10 articles, la taille {@code generated-100} correspond à dix
+ * documents de 10 articles traités à la suite, comme dix soumissions successives.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlUtilBenchmark {
+
+    /** Flux d’entrée : exemples du dépôt ou flux natifs générés de 1, 10 ou 100 articles. */
+    @Param({"only_required", "optionals_added", "generated-1", "generated-10", "generated-100"})
+    public String feed;
+
+    private List<String> documents;
+    private List<Feed> parsed;
+
+    @Setup
+    public void setUp() throws JAXBException, SAXException {
+        documents = new ArrayList<>();
+        if (feed.startsWith("generated-")) {
+            int items = Integer.parseInt(feed.substring("generated-".length()));
+            int perDocument = Math.min(items, BenchmarkFeeds.MAX_NATIVE_ITEMS);
+            String document = BenchmarkFeeds.nativeFeed(perDocument);
+            for (int i = 0; i < items / perDocument; i++) {
+                documents.add(document);
+            }
+        } else {
+            documents.add(BenchmarkFeeds.sample(feed));
+        }
+        parsed = new ArrayList<>();
+        for (String document : documents) {
+            parsed.add(XmlUtil.unmarshal(document, Feed.class, Constants.XSD_PATH));
+        }
+    }
+
+    @Benchmark
+    public void unmarshal(Blackhole blackhole) throws JAXBException, SAXException {
+        for (String document : documents) {
+            blackhole.consume(XmlUtil.unmarshal(document, Feed.class, Constants.XSD_PATH));
+        }
+    }
+
+    @Benchmark
+    public void marshal(Blackhole blackhole) throws JAXBException {
+        for (Feed value : parsed) {
+            blackhole.consume(XmlUtil.marshal(value));
+        }
+    }
+
+    @Benchmark
+    public void referenceUnmarshal(Blackhole blackhole) throws JAXBException, SAXException {
+        for (String document : documents) {
+            blackhole.consume(XmlUtilReference.unmarshal(document, Feed.class, Constants.XSD_PATH));
+        }
+    }
+
+    @Benchmark
+    public void referenceMarshal(Blackhole blackhole) throws JAXBException {
+        for (Feed value : parsed) {
+            blackhole.consume(XmlUtilReference.marshal(value));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package fr.univrouen.rss25SB.bench;
+
+import jakarta.xml.bind.*;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.*;
+import java.io.*;
+
+/**
+ * Référence de comparaison : (dé)sérialisation JAXB telle qu’elle existait avant le partage
+ * des contextes, du schéma et des (dé)sérialiseurs ({@link fr.univrouen.rss25SB.utils.XmlContextRegistry}).
+ * <p>
+ * À chaque appel, un {@link JAXBContext} est créé pour la classe, et le schéma XSD est relu
+ * et compilé par une nouvelle {@link SchemaFactory}. Seul l’algorithme est conservé ;
+ * la journalisation de l’ancienne version est omise.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+final class XmlUtilReference {
+
+    private XmlUtilReference() {
+    }
+
+    /**
+     * Désérialise un flux XML avec validation XSD, comme l’ancien {@code XmlUtil.unmarshal}.
+     *
+     * @param xmlContent flux XML brut
+     * @param clazz      classe de destination
+     * @param xsdPath    chemin du XSD dans le classpath
+     * @param <T>        type retourné
+     * @return l’objet désérialisé
+     * @throws JAXBException si la désérialisation échoue
+     * @throws SAXException  si le schéma est invalide ou le flux non conforme
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T unmarshal(String xmlContent, Class<T> clazz, String xsdPath) throws JAXBException, SAXException {
+        JAXBContext context = JAXBContext.newInstance(clazz);
+        Unmarshaller unmarshaller = context.createUnmarshaller();
+
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        Schema schema = factory.newSchema(XmlUtilReference.class.getClassLoader().getResource(xsdPath));
+        unmarshaller.setSchema(schema);
+
+        return (T) unmarshaller.unmarshal(new StringReader(xmlContent));
+    }
+
+    /**
+     * Sérialise un objet en XML indenté, comme l’ancien {@code XmlUtil.marshal}.
+     *
+     * @param object objet à sérialiser
+     * @return le XML produit
+     * @throws JAXBException si la sérialisation échoue
+     */
+    static String marshal(Object object) throws JAXBException {
+        JAXBContext context = JAXBContext.newInstance(object.getClass());
+        Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(object, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.model.xml.*;
+import fr.univrouen.rss25SB.utils.*;
+import fr.univrouen.rss25SB.utils.constants.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.*;
+import org.xml.sax.SAXException;
+
+import javax.xml.transform.TransformerException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link XsltTransformer#marshalAndTransform(Object, XsltFilePath, OutputStream)}
+ * pour chaque feuille de style, avec le document qu’elle reçoit en production :
+ * <ul>
+ *     <li>{@code LIST} : une page de 50 résumés</li>
+ *     <li>{@code ITEM} : un article complet</li>
+ *     <li>{@code ERROR} : un message d’erreur</li>
+ *     <li>{@code INSERT} : le compte rendu d’une insertion de 50 articles</li>
+ * </ul>
+ * Deux références sans cache de feuilles compilées ({@link XsltReference}) servent de comparaison :
+ * {@code compileEachCall} (fabrique et compilation à chaque appel) et {@code formerPath}
+ * (chemin d’origine complet, avec contexte JAXB et document XML intermédiaire).
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XsltBenchmark {
+
+    /** Taille de la page de résumés et du compte rendu d’insertion. */
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"LIST", "ITEM", "ERROR", "INSERT"})
+    public XsltFilePath stylesheet;
+
+    private XsltTransformer transformer;
+    private Object document;
+
+    @Setup
+    public void setUp() throws JAXBException, SAXException {
+        transformer = new XsltTransformer(false, event -> { }, new PipelineMetrics(new SimpleMeterRegistry()));
+        document = switch (stylesheet) {
+            case LIST -> {
+                List<ItemSummaryDTO> summaries = new ArrayList<>();
+                for (long i = 0; i < PAGE_SIZE; i++) {
+                    summaries.add(new ItemSummaryDTO(i, "Article n°" + i, "https://example.com/" + i, "2025-05-20T10:00:00+02:00"));
+                }
+                yield new ItemSummaryListDTO(summaries);
+            }
+            case ITEM -> XmlUtil.unmarshal(BenchmarkFeeds.sample("optionals_added"), Feed.class, Constants.XSD_PATH)
+                .getItem().get(0);
+            case ERROR -> new XmlErrorResponseDTO(42L, "Article 42 introuvable. Status = ERROR");
+            case INSERT -> {
+                List<Long> ids = new ArrayList<>();
+                for (long i = 0; i < PAGE_SIZE; i++) {
+                    ids.add(i);
+                }
+                yield InsertResponseDTO.success(ids);
+            }
+        };
+    }
+
+    @Benchmark
+    public void marshalAndTransform() throws JAXBException, TransformerException {
+        transformer.marshalAndTransform(document, stylesheet, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void compileEachCall() throws JAXBException, TransformerException {
+        XsltReference.compileEachCall(document, stylesheet, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void formerPath() throws JAXBException, TransformerException {
+        XsltReference.formerPath(document, stylesheet, OutputStream.nullOutputStream());
+    }
+}
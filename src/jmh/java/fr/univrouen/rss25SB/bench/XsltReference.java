@@ -0,0 +1,86 @@
+package fr.univrouen.rss25SB.bench;
+
+import fr.univrouen.rss25SB.utils.XmlContextRegistry;
+import fr.univrouen.rss25SB.utils.constants.XsltFilePath;
+import jakarta.xml.bind.*;
+import jakarta.xml.bind.util.JAXBSource;
+
+import javax.xml.transform.*;
+import javax.xml.transform.stream.*;
+import java.io.*;
+
+/**
+ * Références de comparaison pour {@link fr.univrouen.rss25SB.utils.XsltTransformer}, sans
+ * feuille de style compilée en cache :
+ * <ul>
+ *     <li>{@link #compileEachCall} : une {@link TransformerFactory} est créée et la feuille
+ *         compilée à chaque appel ; la sérialisation reste celle d’aujourd’hui
+ *         ({@link JAXBSource} et sérialiseur partagé), pour isoler le gain du cache de {@link Templates} ;</li>
+ *     <li>{@link #formerPath} : le chemin d’origine complet, avec en plus un {@link JAXBContext}
+ *         créé à chaque appel et un document XML intermédiaire sous forme de chaîne.</li>
+ * </ul>
+ * Seul l’algorithme est conservé ; la journalisation est omise.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+final class XsltReference {
+
+    private XsltReference() {
+    }
+
+    /**
+     * Sérialise et transforme un objet JAXB en compilant la feuille de style à chaque appel.
+     *
+     * @param jaxbObject objet JAXB source
+     * @param stylesheet feuille XSLT à appliquer
+     * @param output     flux de destination
+     * @throws JAXBException        en cas d’erreur de sérialisation
+     * @throws TransformerException en cas d’erreur de compilation ou de transformation
+     */
+    static void compileEachCall(Object jaxbObject, XsltFilePath stylesheet, OutputStream output)
+            throws JAXBException, TransformerException {
+        Class<?> clazz = jaxbObject.getClass();
+        Marshaller marshaller = XmlContextRegistry.borrowMarshaller(clazz);
+        try {
+            newTransformer(stylesheet).transform(new JAXBSource(marshaller, jaxbObject), new StreamResult(output));
+        } finally {
+            XmlContextRegistry.releaseMarshaller(clazz, marshaller);
+        }
+    }
+
+    /**
+     * Sérialise et transforme un objet JAXB comme la version d’origine : nouveau contexte JAXB,
+     * document XML intermédiaire, puis nouvelle fabrique et compilation de la feuille.
+     *
+     * @param jaxbObject objet JAXB source
+     * @param stylesheet feuille XSLT à appliquer
+     * @param output     flux de destination
+     * @throws JAXBException        en cas d’erreur de sérialisation
+     * @throws TransformerException en cas d’erreur de compilation ou de transformation
+     */
+    static void formerPath(Object jaxbObject, XsltFilePath stylesheet, OutputStream output)
+            throws JAXBException, TransformerException {
+        JAXBContext context = JAXBContext.newInstance(jaxbObject.getClass());
+        StringWriter xmlWriter = new StringWriter();
+        context.createMarshaller().marshal(jaxbObject, xmlWriter);
+
+        newTransformer(stylesheet).transform(
+            new StreamSource(new StringReader(xmlWriter.toString())), new StreamResult(output));
+    }
+
+    /**
+     * Compile la feuille de style avec une nouvelle fabrique et applique les propriétés de sortie HTML.
+     */
+    private static Transformer newTransformer(XsltFilePath stylesheet) throws TransformerException {
+        InputStream xsltStream = XsltReference.class.getResourceAsStream(stylesheet.getPath());
+        if (xsltStream == null) {
+            throw new IllegalArgumentException("Fichier XSLT introuvable : " + stylesheet.getPath());
+        }
+        Transformer transformer = TransformerFactory.newInstance().newTransformer(new StreamSource(xsltStream));
+        transformer.setOutputProperty(OutputKeys.METHOD, "html");
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        return transformer;
+    }
+}
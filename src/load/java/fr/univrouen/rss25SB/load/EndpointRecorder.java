@@ -0,0 +1,58 @@
+package fr.univrouen.rss25SB.load;
+
+import org.HdrHistogram.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enregistreur des réponses d’un endpoint : latences (histogramme HdrHistogram,
+ * de 1 µs à 1 min, 3 chiffres significatifs) et nombre de réponses en erreur.
+ * <p>
+ * Les clients enregistrent sans verrou ({@link Recorder}) ; {@link #snapshot()} extrait
+ * les mesures accumulées depuis l’appel précédent, ce qui permet d’écarter la chauffe.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public class EndpointRecorder {
+
+    /** Latence maximale représentable, en microsecondes. */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder latencies = new Recorder(1, MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Enregistre une réponse.
+     *
+     * @param elapsedNanos durée de l’échange, en nanosecondes
+     * @param error        {@code true} si la réponse est une erreur (ou si l’échange a échoué)
+     */
+    public void record(long elapsedNanos, boolean error) {
+        long micros = Math.max(1, Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        latencies.recordValue(micros);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Extrait les mesures accumulées depuis l’appel précédent, puis les remet à zéro.
+     *
+     * @return l’histogramme des latences (µs) et le nombre d’erreurs de l’intervalle
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(latencies.getIntervalHistogram(), errors.sumThenReset());
+    }
+
+    /**
+     * Mesures d’un intervalle.
+     *
+     * @param latencies histogramme des latences, en microsecondes
+     * @param errors    nombre de réponses en erreur
+     */
+    public record Snapshot(Histogram latencies, long errors) {
+    }
+}
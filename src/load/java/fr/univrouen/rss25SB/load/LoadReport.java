@@ -0,0 +1,199 @@
+package fr.univrouen.rss25SB.load;
+
+import com.fasterxml.jackson.databind.*;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Résultat d’une campagne de charge : débit et percentiles de latence par endpoint,
+ * état du pool de connexions. Sérialisé en JSON, il sert de référence aux campagnes suivantes.
+ *
+ * @param scenario        nom du scénario
+ * @param profiles        profils Spring actifs
+ * @param clients         nombre de clients simultanés
+ * @param durationSeconds durée mesurée, en secondes
+ * @param jdk             version de la JVM
+ * @param cpus            nombre de processeurs disponibles
+ * @param endpoints       mesures de chaque endpoint, par libellé
+ * @param pool            état du pool Hikari
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public record LoadReport(String scenario,
+                         String profiles,
+                         int clients,
+                         double durationSeconds,
+                         String jdk,
+                         int cpus,
+                         Map<String, EndpointResult> endpoints,
+                         PoolMonitor.PoolStats pool) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Mesures d’un endpoint.
+     *
+     * @param requests   nombre de réponses
+     * @param errors     nombre de réponses en erreur
+     * @param throughput réponses par seconde
+     * @param p50Millis  latence médiane, en millisecondes
+     * @param p95Millis  95e percentile, en millisecondes
+     * @param p99Millis  99e percentile, en millisecondes
+     * @param maxMillis  latence maximale, en millisecondes
+     */
+    public record EndpointResult(long requests, long errors, double throughput,
+                                 double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        /**
+         * Retourne la part de réponses en erreur.
+         *
+         * @return le rapport erreurs / réponses, 0 sans réponse
+         */
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    /**
+     * Construit le rapport d’une campagne.
+     *
+     * @param settings        paramètres de la campagne
+     * @param snapshots       mesures de chaque opération
+     * @param durationSeconds durée mesurée effective, en secondes
+     * @param pool            état du pool
+     * @return le rapport
+     */
+    public static LoadReport of(LoadSettings settings, Map<Operation, EndpointRecorder.Snapshot> snapshots,
+                                double durationSeconds, PoolMonitor.PoolStats pool) {
+        Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+        snapshots.forEach((operation, snapshot) -> {
+            Histogram histogram = snapshot.latencies();
+            long requests = histogram.getTotalCount();
+            endpoints.put(operation.getEndpoint(), new EndpointResult(
+                requests,
+                snapshot.errors(),
+                round(requests / durationSeconds),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue())));
+        });
+        return new LoadReport(settings.scenario(), settings.profiles(), settings.clients(), round(durationSeconds),
+            System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(), endpoints, pool);
+    }
+
+    /**
+     * Lit un rapport de référence.
+     *
+     * @param file fichier JSON
+     * @return le rapport, ou {@link Optional#empty()} si le fichier n’existe pas
+     * @throws IOException si le fichier est illisible
+     */
+    public static Optional<LoadReport> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(JSON.readValue(file.toFile(), LoadReport.class));
+    }
+
+    /**
+     * Enregistre le rapport au format JSON.
+     *
+     * @param file fichier de destination (ses répertoires parents sont créés)
+     * @throws IOException si l’écriture échoue
+     */
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Vérifie les seuils absolus : part d’erreurs de chaque endpoint et attentes de connexion expirées.
+     *
+     * @param settings paramètres portant les seuils
+     * @return les dépassements constatés (vide si aucun)
+     */
+    public List<String> violations(LoadSettings settings) {
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((endpoint, result) -> {
+            if (result.errorRate() > settings.maxErrorRate()) {
+                violations.add(String.format(Locale.ROOT, "%s : %d erreur(s) sur %d réponses (%.2f %% > %.2f %%)",
+                    endpoint, result.errors(), result.requests(), result.errorRate() * 100, settings.maxErrorRate() * 100));
+            }
+        });
+        if (pool.timeouts() > settings.maxPoolTimeouts()) {
+            violations.add(String.format(Locale.ROOT, "pool Hikari épuisé : %d attente(s) de connexion expirée(s), "
+                + "jusqu’à %d thread(s) en attente pour %d connexion(s)", pool.timeouts(), pool.maxPending(), pool.maxSize()));
+        }
+        return violations;
+    }
+
+    /**
+     * Compare la campagne à une référence : p95 et p99 ne doivent pas augmenter, ni le débit
+     * baisser, au-delà des tolérances de {@code settings}. Les endpoints absents de la référence
+     * ne sont pas comparés.
+     *
+     * @param baseline rapport de référence
+     * @param settings paramètres portant les tolérances
+     * @return les régressions constatées (vide si aucune)
+     */
+    public List<String> regressions(LoadReport baseline, LoadSettings settings) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, current) -> {
+            EndpointResult reference = baseline.endpoints().get(endpoint);
+            if (reference == null) {
+                return;
+            }
+            checkLatency(regressions, endpoint, "p95", current.p95Millis(), reference.p95Millis(), settings);
+            checkLatency(regressions, endpoint, "p99", current.p99Millis(), reference.p99Millis(), settings);
+            double minThroughput = reference.throughput() * (1 - settings.maxThroughputRegression());
+            if (current.throughput() < minThroughput) {
+                regressions.add(String.format(Locale.ROOT, "%s : débit %.1f req/s < %.1f req/s (référence %.1f)",
+                    endpoint, current.throughput(), minThroughput, reference.throughput()));
+            }
+        });
+        return regressions;
+    }
+
+    private static void checkLatency(List<String> regressions, String endpoint, String percentile,
+                                     double current, double reference, LoadSettings settings) {
+        double limit = reference * (1 + settings.maxLatencyRegression());
+        if (current > limit) {
+            regressions.add(String.format(Locale.ROOT, "%s : %s %.2f ms > %.2f ms (référence %.2f)",
+                endpoint, percentile, current, limit, reference));
+        }
+    }
+
+    /**
+     * Met en forme le rapport sous forme de tableau.
+     *
+     * @return le texte du rapport
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Scénario %s (profils : %s), %d clients, %.0f s, JDK %s, %d CPU%n",
+            scenario, profiles.isEmpty() ? "-" : profiles, clients, durationSeconds, jdk, cpus));
+        text.append(String.format(Locale.ROOT, "%-30s %9s %7s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "Requêtes", "Erreurs", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        endpoints.forEach((endpoint, r) -> text.append(String.format(Locale.ROOT,
+            "%-30s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+            endpoint, r.requests(), r.errors(), r.throughput(), r.p50Millis(), r.p95Millis(), r.p99Millis(), r.maxMillis())));
+        text.append(String.format(Locale.ROOT,
+            "Pool Hikari : %d connexion(s) max, %d active(s) au plus, %d thread(s) en attente au plus, "
+                + "%d attente(s) expirée(s), acquisition moyenne %.2f ms%n",
+            pool.maxSize(), pool.maxActive(), pool.maxPending(), pool.timeouts(), pool.meanAcquireMillis()));
+        return text.toString();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,156 @@
+package fr.univrouen.rss25SB.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Paramètres d’une campagne de charge, lus depuis les arguments {@code clé=valeur}
+ * du programme (propriété Maven {@code load.args}).
+ * <table>
+ *     <caption>Paramètres reconnus</caption>
+ *     <tr><th>Clé</th><th>Défaut</th><th>Rôle</th></tr>
+ *     <tr><td>scenario</td><td>platform</td><td>nom du scénario et du fichier de référence</td></tr>
+ *     <tr><td>profiles</td><td>(vide, {@code virtual} pour le scénario du même nom)</td><td>profils Spring actifs</td></tr>
+ *     <tr><td>clients</td><td>32</td><td>nombre de clients simultanés</td></tr>
+ *     <tr><td>warmup</td><td>10</td><td>durée de chauffe, en secondes (non mesurée)</td></tr>
+ *     <tr><td>duration</td><td>60</td><td>durée mesurée, en secondes</td></tr>
+ *     <tr><td>mix</td><td>insert=20,resume=40,html=30,delete=10</td><td>poids de chaque opération</td></tr>
+ *     <tr><td>guid-pool</td><td>2000</td><td>nombre de GUID distincts tirés par les insertions</td></tr>
+ *     <tr><td>pool-size</td><td>(celle de l’application)</td><td>taille maximale du pool Hikari (au moins 2 : Flyway en utilise deux au démarrage)</td></tr>
+ *     <tr><td>datasource-url</td><td>(PostgreSQL embarqué)</td><td>base PostgreSQL existante et vide</td></tr>
+ *     <tr><td>datasource-username / datasource-password</td><td>postgres / (vide)</td><td>identifiants de cette base</td></tr>
+ *     <tr><td>baseline-dir</td><td>src/load/baseline</td><td>répertoire des références</td></tr>
+ *     <tr><td>update-baseline</td><td>false</td><td>remplace la référence par la campagne courante</td></tr>
+ *     <tr><td>max-latency-regression</td><td>0.25</td><td>hausse tolérée des p95 et p99</td></tr>
+ *     <tr><td>max-throughput-regression</td><td>0.20</td><td>baisse tolérée du débit</td></tr>
+ *     <tr><td>max-error-rate</td><td>0</td><td>part tolérée de réponses en erreur, par endpoint</td></tr>
+ *     <tr><td>max-pool-timeouts</td><td>0</td><td>nombre toléré d’attentes de connexion expirées</td></tr>
+ * </table>
+ *
+ * @param scenario                nom du scénario
+ * @param profiles                profils Spring actifs
+ * @param clients                 nombre de clients simultanés
+ * @param warmup                  durée de chauffe
+ * @param duration                durée mesurée
+ * @param mix                     poids de chaque opération
+ * @param guidPool                nombre de GUID distincts
+ * @param poolSize                taille du pool Hikari, ou {@code null} pour celle de l’application
+ * @param datasourceUrl           URL JDBC d’une base existante, ou {@code null} pour une base embarquée
+ * @param datasourceUsername      utilisateur de cette base
+ * @param datasourcePassword      mot de passe de cette base
+ * @param baselineDir             répertoire des références
+ * @param updateBaseline          {@code true} pour enregistrer la campagne comme référence
+ * @param maxLatencyRegression    hausse relative tolérée des percentiles
+ * @param maxThroughputRegression baisse relative tolérée du débit
+ * @param maxErrorRate            part tolérée de réponses en erreur
+ * @param maxPoolTimeouts         nombre toléré d’attentes de connexion expirées
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public record LoadSettings(String scenario,
+                           String profiles,
+                           int clients,
+                           Duration warmup,
+                           Duration duration,
+                           Map<Operation, Integer> mix,
+                           int guidPool,
+                           Integer poolSize,
+                           String datasourceUrl,
+                           String datasourceUsername,
+                           String datasourcePassword,
+                           Path baselineDir,
+                           boolean updateBaseline,
+                           double maxLatencyRegression,
+                           double maxThroughputRegression,
+                           double maxErrorRate,
+                           long maxPoolTimeouts) {
+
+    /** Clés acceptées par {@link #parse(String[])}. */
+    private static final Set<String> KNOWN_KEYS = Set.of(
+        "scenario", "profiles", "clients", "warmup", "duration", "mix", "guid-pool",
+        "datasource-url", "datasource-username", "datasource-password", "baseline-dir", "update-baseline",
+        "max-latency-regression", "max-throughput-regression", "max-error-rate", "max-pool-timeouts");
+
+    /**
+     * Lit les paramètres depuis les arguments du programme.
+     *
+     * @param args arguments {@code clé=valeur}
+     * @return les paramètres, complétés par les valeurs par défaut
+     * @throws IllegalArgumentException si un argument est mal formé ou inconnu
+     */
+    public static LoadSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argument attendu sous la forme clé=valeur : " + arg);
+            }
+            values.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+
+        String scenario = values.getOrDefault("scenario", "platform");
+        String poolSize = values.remove("pool-size");
+        LoadSettings settings = new LoadSettings(
+            scenario,
+            values.getOrDefault("profiles", "virtual".equals(scenario) ? "virtual" : ""),
+            Integer.parseInt(values.getOrDefault("clients", "32")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+            parseMix(values.getOrDefault("mix", "insert=20,resume=40,html=30,delete=10")),
+            Integer.parseInt(values.getOrDefault("guid-pool", "2000")),
+            poolSize == null ? null : Integer.valueOf(poolSize),
+            values.get("datasource-url"),
+            values.getOrDefault("datasource-username", "postgres"),
+            values.getOrDefault("datasource-password", ""),
+            Path.of(values.getOrDefault("baseline-dir", "src/load/baseline")),
+            Boolean.parseBoolean(values.getOrDefault("update-baseline", "false")),
+            Double.parseDouble(values.getOrDefault("max-latency-regression", "0.25")),
+            Double.parseDouble(values.getOrDefault("max-throughput-regression", "0.20")),
+            Double.parseDouble(values.getOrDefault("max-error-rate", "0")),
+            Long.parseLong(values.getOrDefault("max-pool-timeouts", "0")));
+
+        if (settings.poolSize() != null && settings.poolSize() < 2) {
+            throw new IllegalArgumentException("pool-size doit valoir au moins 2 (migrations Flyway)");
+        }
+        values.keySet().removeAll(KNOWN_KEYS);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Paramètre(s) inconnu(s) : " + values.keySet());
+        }
+        return settings;
+    }
+
+    /**
+     * Retourne le fichier de référence du scénario.
+     *
+     * @return le chemin {@code <baseline-dir>/<scenario>.json}
+     */
+    public Path baselineFile() {
+        return baselineDir.resolve(scenario + ".json");
+    }
+
+    /**
+     * Lit la répartition des opérations, ex : {@code insert=20,resume=40,html=30,delete=10}.
+     *
+     * @param value valeur du paramètre {@code mix}
+     * @return le poids de chaque opération citée
+     */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Répartition invalide : " + value);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Répartition vide : " + value);
+        }
+        return mix;
+    }
+}
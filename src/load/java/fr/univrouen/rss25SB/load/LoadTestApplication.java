@@ -0,0 +1,185 @@
+package fr.univrouen.rss25SB.load;
+
+import fr.univrouen.rss25SB.Rss25SbApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Banc de charge HTTP de bout en bout.
+ * <p>
+ * L’application est démarrée dans ce processus, sur un port libre, contre une base
+ * PostgreSQL embarquée (ou la base vide indiquée par {@code datasource-url}) dont
+ * le schéma est créé par Flyway. La charge mixte ({@link LoadWorkload}) tourne pendant
+ * la chauffe puis la durée mesurée ; le rapport est ensuite comparé à la référence
+ * du scénario ({@code src/load/baseline/<scenario>.json}).
+ * </p>
+ *
+ * <p>
+ * Code de sortie : 0 si aucun seuil n’est dépassé, 1 en cas de régression, d’erreurs
+ * ou d’attentes de connexion expirées, 2 si la campagne n’a pu être menée.
+ * </p>
+ *
+ * <p>
+ * Exécution : {@code mvn -Pload,java21 test-compile exec:exec -Dload.args="scenario=virtual clients=64"}
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see LoadSettings
+ */
+@Slf4j
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    /**
+     * Point d’entrée du banc de charge.
+     *
+     * @param args paramètres {@code clé=valeur} (voir {@link LoadSettings})
+     */
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = run(LoadSettings.parse(args));
+        } catch (Exception e) {
+            log.error("Campagne de charge interrompue : {}", e.getMessage(), e);
+            status = 2;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Mène une campagne complète.
+     *
+     * @param settings paramètres de la campagne
+     * @return le code de sortie
+     * @throws Exception si la base, l’application ou l’écriture du rapport échoue
+     */
+    private static int run(LoadSettings settings) throws Exception {
+        try (Database database = Database.start(settings);
+             ConfigurableApplicationContext context = startApplication(settings, database)) {
+
+            Long existing = context.getBean(JdbcTemplate.class).queryForObject("SELECT count(*) FROM item", Long.class);
+            if (existing != null && existing > 0) {
+                throw new IllegalStateException("La base contient déjà " + existing + " article(s) : "
+                    + "les insertions seraient ignorées comme doublons et fausseraient la répartition");
+            }
+
+            URI baseUrl = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            Map<Operation, EndpointRecorder> recorders = new EnumMap<>(Operation.class);
+            settings.mix().keySet().forEach(operation -> recorders.put(operation, new EndpointRecorder()));
+
+            LoadReport report;
+            try (PoolMonitor pool = new PoolMonitor(context.getBean(MeterRegistry.class));
+                 LoadWorkload workload = new LoadWorkload(baseUrl, settings, recorders)) {
+                log.info("Charge {} sur {} : {} clients, chauffe {} s, mesure {} s", settings.mix(), baseUrl,
+                    settings.clients(), settings.warmup().toSeconds(), settings.duration().toSeconds());
+                workload.start();
+
+                Thread.sleep(settings.warmup().toMillis());
+                recorders.values().forEach(EndpointRecorder::snapshot);
+                pool.reset();
+                long start = System.nanoTime();
+
+                Thread.sleep(settings.duration().toMillis());
+                Map<Operation, EndpointRecorder.Snapshot> snapshots = new EnumMap<>(Operation.class);
+                recorders.forEach((operation, recorder) -> snapshots.put(operation, recorder.snapshot()));
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+                report = LoadReport.of(settings, snapshots, elapsedSeconds, pool.snapshot());
+            }
+            return conclude(settings, report);
+        }
+    }
+
+    /**
+     * Affiche le rapport, le compare à la référence et met celle-ci à jour si demandé.
+     */
+    private static int conclude(LoadSettings settings, LoadReport report) throws Exception {
+        System.out.println();
+        System.out.print(report.format());
+
+        List<String> failures = new ArrayList<>(report.violations(settings));
+        Optional<LoadReport> baseline = LoadReport.read(settings.baselineFile());
+        if (settings.updateBaseline()) {
+            report.write(settings.baselineFile());
+            System.out.println("Référence enregistrée : " + settings.baselineFile());
+        } else if (baseline.isPresent()) {
+            failures.addAll(report.regressions(baseline.get(), settings));
+        } else {
+            System.out.println("Aucune référence " + settings.baselineFile() + " : comparaison ignorée "
+                + "(relancer avec update-baseline=true pour l’enregistrer).");
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("Résultat : OK");
+            return 0;
+        }
+        System.out.println("Résultat : ÉCHEC");
+        failures.forEach(failure -> System.out.println("  - " + failure));
+        return 1;
+    }
+
+    /**
+     * Démarre l’application sur un port libre. Le redémarrage automatique de DevTools,
+     * qui relancerait ce programme dans un autre chargeur de classes, est désactivé.
+     */
+    private static ConfigurableApplicationContext startApplication(LoadSettings settings, Database database) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=" + database.url(),
+            "--spring.datasource.username=" + database.username(),
+            "--spring.datasource.password=" + database.password(),
+            "--rss25sb.retention.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.fr.univrouen=WARN"));
+        if (settings.poolSize() != null) {
+            args.add("--spring.datasource.hikari.maximum-pool-size=" + settings.poolSize());
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Rss25SbApplication.class);
+        if (!settings.profiles().isBlank()) {
+            builder.profiles(settings.profiles().split(","));
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Base de la campagne : PostgreSQL embarqué, arrêté à la fermeture, ou base existante.
+     *
+     * @param url      URL JDBC
+     * @param username utilisateur
+     * @param password mot de passe
+     * @param embedded instance embarquée à arrêter, ou {@code null}
+     */
+    private record Database(String url, String username, String password, EmbeddedPostgres embedded)
+            implements Closeable {
+
+        static Database start(LoadSettings settings) throws Exception {
+            if (settings.datasourceUrl() != null) {
+                log.info("Base PostgreSQL existante : {}", settings.datasourceUrl());
+                return new Database(settings.datasourceUrl(), settings.datasourceUsername(),
+                    settings.datasourcePassword(), null);
+            }
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            log.info("PostgreSQL embarqué démarré sur le port {}", postgres.getPort());
+            return new Database(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "", postgres);
+        }
+
+        @Override
+        public void close() throws java.io.IOException {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+}
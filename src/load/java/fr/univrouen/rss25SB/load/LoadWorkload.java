@@ -0,0 +1,231 @@
+package fr.univrouen.rss25SB.load;
+
+import fr.univrouen.rss25SB.client.generator.*;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.*;
+import java.net.URI;
+import java.net.http.*;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.regex.*;
+
+/**
+ * Charge mixte en boucle fermée : chaque client enchaîne des requêtes sans pause,
+ * l’opération étant tirée selon les poids de {@link LoadSettings#mix()}.
+ * <ul>
+ *     <li>{@link Operation#INSERT} soumet 1 à 10 articles dont les GUID sont tirés dans un
+ *         ensemble borné ({@code guid-pool}) : les clients insèrent donc des doublons
+ *         et s’en disputent l’insertion ; le perdant reçoit un {@code 409}, qui n’est pas une erreur</li>
+ *     <li>{@link Operation#RESUME} relit la première page avec l’ETag de sa lecture précédente</li>
+ *     <li>{@link Operation#HTML} et {@link Operation#DELETE} visent des identifiants
+ *         renvoyés par les insertions ; un {@code 404} (article déjà supprimé) n’est pas une erreur.
+ *         Tant qu’aucun identifiant n’est connu, une insertion est faite à la place</li>
+ * </ul>
+ * Une réponse {@code 5xx}, un autre code {@code 4xx} ou un échange en échec compte comme une erreur.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+@Slf4j
+public class LoadWorkload implements AutoCloseable {
+
+    /** Nombre d’identifiants récents conservés pour les lectures et suppressions. */
+    private static final int ID_RING_SIZE = 4096;
+
+    /** Nombre maximal d’articles d’un flux rss25SB (contrainte du XSD). */
+    private static final int MAX_ITEMS_PER_FEED = 10;
+
+    /** Délai maximal d’un échange HTTP. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Pattern INSERTED_ID = Pattern.compile("<id>(\\d+)</id>");
+
+    private final URI baseUrl;
+    private final LoadSettings settings;
+    private final Map<Operation, EndpointRecorder> recorders;
+    private final HttpClient http;
+    private final ExecutorService clients;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    /** Identifiants insérés récemment ; 0 marque un emplacement vide ou déjà supprimé. */
+    private final AtomicLongArray insertedIds = new AtomicLongArray(ID_RING_SIZE);
+    private final AtomicLong insertCursor = new AtomicLong();
+
+    /** Date de publication de l’article n°0 : un même GUID garde la même date d’une requête à l’autre. */
+    private final OffsetDateTime newest = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+
+    private volatile boolean running = true;
+
+    /**
+     * Prépare la charge sans la démarrer.
+     *
+     * @param baseUrl   URL de l’application (ex : {@code http://localhost:8080})
+     * @param settings  paramètres de la campagne
+     * @param recorders enregistreur de chaque opération
+     */
+    public LoadWorkload(URI baseUrl, LoadSettings settings, Map<Operation, EndpointRecorder> recorders) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.recorders = recorders;
+        this.http = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        this.clients = Executors.newFixedThreadPool(settings.clients());
+
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Démarre les clients, qui tournent jusqu’à {@link #close()}.
+     */
+    public void start() {
+        for (int i = 0; i < settings.clients(); i++) {
+            clients.submit(this::runClient);
+        }
+    }
+
+    /**
+     * Arrête les clients et attend la fin des requêtes en cours.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        clients.shutdown();
+        if (!clients.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Boucle d’un client.
+     */
+    private void runClient() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] etag = new String[1];
+        while (running) {
+            Operation operation = pick(random);
+            long id = 0;
+            if (operation == Operation.HTML || operation == Operation.DELETE) {
+                id = pickInsertedId(random, operation == Operation.DELETE);
+                if (id == 0) {
+                    operation = Operation.INSERT;
+                }
+            }
+
+            HttpRequest request = buildRequest(operation, id, random, etag[0]);
+            long start = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - start;
+                error = isError(operation, response.statusCode());
+                recorders.get(operation).record(elapsed, error);
+                afterResponse(operation, response, etag);
+            } catch (IOException e) {
+                recorders.get(operation).record(System.nanoTime() - start, true);
+                log.debug("Échec de l’échange {} : {}", operation.getEndpoint(), e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tire une opération selon les poids de la répartition.
+     */
+    private Operation pick(ThreadLocalRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Tire un identifiant inséré récemment.
+     *
+     * @param take {@code true} pour le retirer (suppression)
+     * @return l’identifiant, ou 0 si aucun n’a été trouvé
+     */
+    private long pickInsertedId(ThreadLocalRandom random, boolean take) {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int slot = random.nextInt(ID_RING_SIZE);
+            long id = take ? insertedIds.getAndSet(slot, 0) : insertedIds.get(slot);
+            if (id != 0) {
+                return id;
+            }
+        }
+        return 0;
+    }
+
+    private HttpRequest buildRequest(Operation operation, long id, ThreadLocalRandom random, String etag) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT);
+        return switch (operation) {
+            case INSERT -> builder.uri(baseUrl.resolve("/rss25SB/insert"))
+                .header("Content-Type", "application/xml")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(feed(random)))
+                .build();
+            case RESUME -> {
+                builder.uri(baseUrl.resolve("/rss25SB/resume/xml")).GET();
+                if (etag != null) {
+                    builder.header("If-None-Match", etag);
+                }
+                yield builder.build();
+            }
+            case HTML -> builder.uri(baseUrl.resolve("/rss25SB/html/" + id)).GET().build();
+            case DELETE -> builder.uri(baseUrl.resolve("/rss25SB/delete/" + id)).DELETE().build();
+        };
+    }
+
+    private static boolean isError(Operation operation, int status) {
+        return switch (status) {
+            case 404 -> operation != Operation.HTML && operation != Operation.DELETE;
+            case 409 -> operation != Operation.INSERT;
+            default -> status >= 400;
+        };
+    }
+
+    private void afterResponse(Operation operation, HttpResponse<String> response, String[] etag) {
+        if (operation == Operation.RESUME) {
+            response.headers().firstValue("ETag").ifPresent(value -> etag[0] = value);
+        } else if (operation == Operation.INSERT && response.statusCode() < 300) {
+            Matcher matcher = INSERTED_ID.matcher(response.body());
+            while (matcher.find()) {
+                long slot = insertCursor.getAndIncrement() % ID_RING_SIZE;
+                insertedIds.set((int) slot, Long.parseLong(matcher.group(1)));
+            }
+        }
+    }
+
+    /**
+     * Construit un flux rss25SB valide de 1 à 10 articles consécutifs ({@link SyntheticFeedGenerator}),
+     * dont le premier est tiré dans l’ensemble {@code guid-pool} : deux clients qui tirent des
+     * numéros proches soumettent les mêmes GUID.
+     */
+    private byte[] feed(ThreadLocalRandom random) {
+        SyntheticFeedSpec spec = new SyntheticFeedSpec();
+        spec.setItems(1 + random.nextInt(MAX_ITEMS_PER_FEED));
+        spec.setFirstIndex(random.nextInt(settings.guidPool()));
+        spec.setNewest(newest);
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+            new SyntheticFeedGenerator(spec).writeNext(body);
+            return body.toByteArray();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Génération du flux impossible", e);
+        }
+    }
+}
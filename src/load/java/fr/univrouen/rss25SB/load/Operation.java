@@ -0,0 +1,33 @@
+package fr.univrouen.rss25SB.load;
+
+import lombok.Getter;
+
+/**
+ * Opérations de la charge mixte, identifiées dans le rapport par la méthode HTTP
+ * et le motif de la route appelée.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter
+public enum Operation {
+
+    /** Soumission synchrone d’un flux rss25SB dont les GUID se recouvrent d’un client à l’autre. */
+    INSERT("POST /rss25SB/insert"),
+
+    /** Interrogation périodique de la première page de résumés, avec {@code If-None-Match}. */
+    RESUME("GET /rss25SB/resume/xml"),
+
+    /** Lecture HTML d’un article inséré pendant la campagne. */
+    HTML("GET /rss25SB/html/{id}"),
+
+    /** Suppression d’un article inséré pendant la campagne. */
+    DELETE("DELETE /rss25SB/delete/{id}");
+
+    /** Libellé de l’endpoint dans le rapport et le fichier de référence. */
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+}
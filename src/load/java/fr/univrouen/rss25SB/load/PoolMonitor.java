@@ -0,0 +1,110 @@
+package fr.univrouen.rss25SB.load;
+
+import io.micrometer.core.instrument.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+/**
+ * Surveillance du pool de connexions Hikari de l’application pendant la campagne,
+ * à partir des mesures Micrometer {@code hikaricp.connections.*}.
+ * <p>
+ * Les jauges (connexions actives, threads en attente d’une connexion) sont échantillonnées
+ * toutes les {@value #SAMPLE_PERIOD_MS} ms pour en retenir le maximum ; les compteurs
+ * (attentes expirées, durée d’acquisition) sont relevés par différence entre
+ * {@link #reset()} et {@link #snapshot()}.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public class PoolMonitor implements AutoCloseable {
+
+    /** Période d’échantillonnage des jauges, en millisecondes. */
+    private static final long SAMPLE_PERIOD_MS = 50;
+
+    private final MeterRegistry registry;
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DoubleAccumulator maxActive = new DoubleAccumulator(Math::max, 0);
+    private final DoubleAccumulator maxPending = new DoubleAccumulator(Math::max, 0);
+    private volatile double timeoutsAtReset;
+    private volatile double acquireCountAtReset;
+    private volatile double acquireNanosAtReset;
+
+    /**
+     * Démarre l’échantillonnage.
+     *
+     * @param registry registre Micrometer de l’application
+     */
+    public PoolMonitor(MeterRegistry registry) {
+        this.registry = registry;
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remet les mesures à zéro (fin de la chauffe).
+     */
+    public void reset() {
+        maxActive.reset();
+        maxPending.reset();
+        timeoutsAtReset = counter("hikaricp.connections.timeout");
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        acquireCountAtReset = acquire == null ? 0 : acquire.count();
+        acquireNanosAtReset = acquire == null ? 0 : acquire.totalTime(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Relève les mesures depuis le dernier {@link #reset()}.
+     *
+     * @return l’état du pool pendant la période mesurée
+     */
+    public PoolStats snapshot() {
+        sample();
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        double acquires = acquire == null ? 0 : acquire.count() - acquireCountAtReset;
+        double acquireNanos = acquire == null ? 0 : acquire.totalTime(TimeUnit.NANOSECONDS) - acquireNanosAtReset;
+        return new PoolStats(
+            (int) gauge("hikaricp.connections.max"),
+            (int) maxActive.get(),
+            (int) maxPending.get(),
+            (long) (counter("hikaricp.connections.timeout") - timeoutsAtReset),
+            acquires == 0 ? 0 : Math.round(acquireNanos / acquires / 10_000.0) / 100.0);
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private void sample() {
+        maxActive.accumulate(gauge("hikaricp.connections.active"));
+        maxPending.accumulate(gauge("hikaricp.connections.pending"));
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = registry.find(name).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    private double counter(String name) {
+        Counter counter = registry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * État du pool pendant la période mesurée.
+     *
+     * @param maxSize          taille maximale configurée
+     * @param maxActive        plus grand nombre de connexions utilisées simultanément
+     * @param maxPending       plus grand nombre de threads en attente d’une connexion
+     * @param timeouts         attentes de connexion expirées ({@code connection-timeout})
+     * @param meanAcquireMillis durée moyenne d’obtention d’une connexion, en millisecondes
+     */
+    public record PoolStats(int maxSize, int maxActive, int maxPending, long timeouts, double meanAcquireMillis) {
+    }
+}
@@ -3,6 +3,7 @@ package fr.univrouen.rss25SB;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import fr.univrouen.rss25SB.client.config.Rss25SBClientProperties;
 
@@ -21,13 +22,15 @@ import fr.univrouen.rss25SB.client.config.Rss25SBClientProperties;
  *     <li>Le démarrage de l’API REST de gestion des flux rss25SB</li>
  *     <li>Le chargement du client d’envoi de flux (outil de transfert)</li>
  *     <li>L’accès aux fonctionnalités de conversion et d’affichage</li>
+ *     <li>La planification des tâches de fond (rétention des articles)</li>
  * </ul>
  *
  * @author Matisse SENECHAL
- * @version 2.0
+ * @version 2.1
  */
 @SpringBootApplication
 @EnableConfigurationProperties(Rss25SBClientProperties.class)
+@EnableScheduling
 public class Rss25SbApplication {
 
     /**
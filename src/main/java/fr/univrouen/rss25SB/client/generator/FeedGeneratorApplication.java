@@ -0,0 +1,188 @@
+package fr.univrouen.rss25SB.client.generator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * Outil en ligne de commande produisant des flux synthétiques ({@link SyntheticFeedGenerator}),
+ * écrits dans des fichiers ou envoyés directement à {@code POST /rss25SB/insert}.
+ * <p>
+ * Paramètres {@code clé=valeur} : {@code format} (rss25sb, lemonde), {@code items},
+ * {@code first-index}, {@code per-document}, {@code categories}, {@code authors},
+ * {@code content-size}, {@code collision-rate}, {@code image-rate}, {@code newest} (RFC 3339),
+ * {@code interval-seconds}, {@code seed}, puis la destination : {@code out=<répertoire>}
+ * (par défaut {@code generated-feeds}) ou {@code url=<endpoint d’insertion>}, avec {@code mode}
+ * (atomic, chunked) transmis au service.
+ * </p>
+ *
+ * <p>
+ * En envoi HTTP, chaque document est écrit dans un tube relu par le client HTTP : même un document
+ * Le Monde de plusieurs millions d’articles est transmis sans être chargé en mémoire.
+ * </p>
+ *
+ * <p>
+ * Exécution :
+ * {@code mvn -q compile exec:java -Dexec.mainClass=fr.univrouen.rss25SB.client.generator.FeedGeneratorApplication
+ * -Dexec.args="format=lemonde items=100000 per-document=5000 url=http://localhost:8080/rss25SB/insert mode=chunked"}
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Slf4j
+public final class FeedGeneratorApplication {
+
+    /** Taille du tampon du tube d’envoi HTTP. */
+    private static final int PIPE_BUFFER_BYTES = 64 * 1024;
+
+    private static final Pattern INSERTED_ID = Pattern.compile("<id>\\d+</id>");
+
+    private FeedGeneratorApplication() {
+    }
+
+    /**
+     * Point d’entrée de l’outil.
+     *
+     * @param args paramètres {@code clé=valeur}
+     */
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = run(parse(args));
+        } catch (Exception e) {
+            log.error("Génération interrompue : {}", e.getMessage(), e);
+            status = 2;
+        }
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Génère et écrit ou envoie tous les documents.
+     *
+     * @param params paramètres de la ligne de commande
+     * @return 0 si tous les documents ont été écrits ou acceptés, 1 sinon
+     */
+    private static int run(Map<String, String> params) throws Exception {
+        SyntheticFeedSpec spec = toSpec(params);
+        SyntheticFeedGenerator generator = new SyntheticFeedGenerator(spec);
+        String url = params.remove("url");
+        String mode = params.remove("mode");
+        String outDir = params.remove("out");
+        Path out = Path.of(outDir != null ? outDir : "generated-feeds");
+        if (!params.isEmpty()) {
+            throw new IllegalArgumentException("Paramètre(s) inconnu(s) : " + params.keySet());
+        }
+
+        long start = System.nanoTime();
+        long documents = 0;
+        long items = 0;
+        if (url == null) {
+            Files.createDirectories(out);
+            while (generator.hasNext()) {
+                Path file = out.resolve(String.format("feed-%06d.xml", ++documents));
+                try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    items += generator.writeNext(output);
+                }
+            }
+            log.info("{} articles écrits dans {} document(s) sous {} en {} ms", items, documents, out,
+                (System.nanoTime() - start) / 1_000_000);
+            return 0;
+        }
+
+        URI target = URI.create(mode == null ? url : url + (url.contains("?") ? "&" : "?") + "mode=" + mode);
+        HttpClient http = HttpClient.newHttpClient();
+        ExecutorService writers = Executors.newSingleThreadExecutor();
+        Map<Integer, Long> statuses = new TreeMap<>();
+        long inserted = 0;
+        long failed = 0;
+        try {
+            while (generator.hasNext()) {
+                PipedInputStream body = new PipedInputStream(PIPE_BUFFER_BYTES);
+                PipedOutputStream pipe = new PipedOutputStream(body);
+                Future<Long> written = writers.submit(() -> {
+                    try (OutputStream output = pipe) {
+                        return generator.writeNext(output);
+                    }
+                });
+                HttpRequest request = HttpRequest.newBuilder(target)
+                    .header("Content-Type", "application/xml")
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> body))
+                    .build();
+                documents++;
+                HttpResponse<String> response;
+                try {
+                    response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                } catch (IOException e) {
+                    // Le service a coupé la connexion avant la fin de l’envoi (ex : 413 sur un document trop gros)
+                    body.close();
+                    failed++;
+                    log.warn("Document {} interrompu : {} (réduire per-document sous rss25sb.insert.max-payload-bytes)",
+                        documents, e.getMessage());
+                    continue;
+                }
+                // Débloque l’écriture si le service a répondu sans lire tout le document
+                body.close();
+                try {
+                    items += written.get();
+                } catch (ExecutionException e) {
+                    if (response.statusCode() < 400) {
+                        throw e;
+                    }
+                }
+                statuses.merge(response.statusCode(), 1L, Long::sum);
+                inserted += INSERTED_ID.matcher(response.body()).results().count();
+                if (response.statusCode() >= 400) {
+                    log.warn("Document {} refusé ({}) : {}", documents, response.statusCode(), response.body());
+                }
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        log.info("{} articles envoyés dans {} document(s) à {} en {} ms : {} inséré(s), statuts {}, {} envoi(s) interrompu(s)",
+            items, documents, target, (System.nanoTime() - start) / 1_000_000, inserted, statuses, failed);
+        return failed > 0 || statuses.keySet().stream().anyMatch(code -> code >= 400) ? 1 : 0;
+    }
+
+    /**
+     * Construit la description du jeu de flux et retire de {@code params} les clés consommées.
+     */
+    private static SyntheticFeedSpec toSpec(Map<String, String> params) {
+        SyntheticFeedSpec spec = new SyntheticFeedSpec();
+        Optional.ofNullable(params.remove("format")).map(SyntheticFeedFormat::fromParam).ifPresent(spec::setFormat);
+        Optional.ofNullable(params.remove("items")).map(Long::valueOf).ifPresent(spec::setItems);
+        Optional.ofNullable(params.remove("first-index")).map(Long::valueOf).ifPresent(spec::setFirstIndex);
+        Optional.ofNullable(params.remove("per-document")).map(Long::valueOf).ifPresent(spec::setItemsPerDocument);
+        Optional.ofNullable(params.remove("categories")).map(Integer::valueOf).ifPresent(spec::setCategories);
+        Optional.ofNullable(params.remove("authors")).map(Integer::valueOf).ifPresent(spec::setAuthors);
+        Optional.ofNullable(params.remove("content-size")).map(Integer::valueOf).ifPresent(spec::setContentSize);
+        Optional.ofNullable(params.remove("collision-rate")).map(Double::valueOf).ifPresent(spec::setCollisionRate);
+        Optional.ofNullable(params.remove("image-rate")).map(Double::valueOf).ifPresent(spec::setImageRate);
+        Optional.ofNullable(params.remove("newest")).map(OffsetDateTime::parse).ifPresent(spec::setNewest);
+        Optional.ofNullable(params.remove("interval-seconds")).map(Long::valueOf).map(Duration::ofSeconds)
+            .ifPresent(spec::setInterval);
+        Optional.ofNullable(params.remove("seed")).map(Long::valueOf).ifPresent(spec::setSeed);
+        return spec;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> params = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argument attendu sous la forme clé=valeur : " + arg);
+            }
+            params.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+        return params;
+    }
+}
@@ -0,0 +1,45 @@
+package fr.univrouen.rss25SB.client.generator;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Formats produits par le {@link SyntheticFeedGenerator}.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter
+public enum SyntheticFeedFormat {
+
+    /** Flux natif rss25SB, validé par le XSD : au plus 10 articles par document. */
+    RSS25SB(10),
+
+    /** Flux RSS 2.0 au format de LeMonde.fr, sans limite d’articles par document. */
+    LE_MONDE(Long.MAX_VALUE);
+
+    /** Nombre maximal d’articles d’un document. */
+    private final long maxItemsPerDocument;
+
+    SyntheticFeedFormat(long maxItemsPerDocument) {
+        this.maxItemsPerDocument = maxItemsPerDocument;
+    }
+
+    /**
+     * Retourne le format correspondant à un paramètre ({@code rss25sb} ou {@code lemonde},
+     * insensible à la casse).
+     *
+     * @param value valeur du paramètre
+     * @return le format correspondant
+     * @throws IllegalArgumentException si la valeur ne correspond à aucun format
+     */
+    public static SyntheticFeedFormat fromParam(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "rss25sb" -> RSS25SB;
+            case "lemonde", "le_monde" -> LE_MONDE;
+            default -> throw new IllegalArgumentException("Format inconnu : " + value
+                + " (valeurs acceptées : rss25sb, lemonde)");
+        };
+    }
+}
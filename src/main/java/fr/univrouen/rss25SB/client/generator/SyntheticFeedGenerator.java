@@ -0,0 +1,278 @@
+package fr.univrouen.rss25SB.client.generator;
+
+import javax.xml.stream.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Générateur de flux synthétiques, écrits en flux (StAX) : la mémoire consommée ne dépend
+ * ni du nombre d’articles, ni de la taille de leur contenu.
+ * <p>
+ * Les articles de la {@link SyntheticFeedSpec} sont répartis en documents successifs
+ * ({@link #writeNext(OutputStream)}), d’au plus 10 articles pour le format rss25SB (limite
+ * du XSD) et d’une taille quelconque pour le format Le Monde. Chaque article est dérivé de
+ * son numéro et de la graine :
+ * </p>
+ * <ul>
+ *     <li>GUID : UUID version 4 dont les bits de poids fort dépendent de la graine et ceux de
+ *         poids faible du numéro ; avec la probabilité {@code collisionRate}, l’article reprend
+ *         le GUID d’un article de numéro inférieur</li>
+ *     <li>de 1 à 3 catégories parmi {@code categories}, un auteur parmi {@code authors}
+ *         (et un contributeur un article sur deux)</li>
+ *     <li>une image avec la probabilité {@code imageRate}</li>
+ *     <li>une date de publication antérieure de {@code interval} à celle de l’article précédent</li>
+ * </ul>
+ * Les documents rss25SB produits sont valides vis-à-vis du schéma {@code rss25.xsd} ;
+ * les documents Le Monde sont reconnus par le convertisseur Le Monde (lien du canal).
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see SyntheticFeedSpec
+ */
+public class SyntheticFeedGenerator {
+
+    /** Espace de noms rss25SB. */
+    private static final String RSS25_NS = "http://univ.fr/rss25";
+
+    /** Espace de noms Media RSS (images Le Monde). */
+    private static final String MEDIA_NS = "http://search.yahoo.com/mrss/";
+
+    /** Format RFC 3339 attendu par le XSD (secondes, sans fraction). */
+    private static final DateTimeFormatter RFC_3339 = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX", Locale.ROOT);
+
+    /** Texte répété pour composer les descriptions. */
+    private static final char[] FILLER = ("Le gouvernement a presente ce matin un ensemble de mesures destinees "
+        + "a soutenir les collectivites locales face a la hausse des couts de l energie. Les elus saluent "
+        + "une avancee mais regrettent un calendrier trop serre pour les budgets de l annee prochaine. ").toCharArray();
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final SyntheticFeedSpec spec;
+    private final long end;
+    private final long guidHighBits;
+    private long next;
+
+    /**
+     * Prépare la génération.
+     *
+     * @param spec description du jeu de flux
+     * @throws IllegalArgumentException si la description est incohérente
+     */
+    public SyntheticFeedGenerator(SyntheticFeedSpec spec) {
+        spec.validate();
+        this.spec = spec;
+        this.next = spec.getFirstIndex();
+        this.end = spec.getFirstIndex() + spec.getItems();
+        // UUID version 4 : quartet de version à 4
+        this.guidHighBits = (mix(spec.getSeed()) & 0xFFFF_FFFF_FFFF_0FFFL) | 0x0000_0000_0000_4000L;
+    }
+
+    /**
+     * Indique s’il reste des articles à écrire.
+     *
+     * @return {@code true} si {@link #writeNext(OutputStream)} écrira un document
+     */
+    public boolean hasNext() {
+        return next < end;
+    }
+
+    /**
+     * Écrit le document suivant.
+     *
+     * @param output destination (non fermée par cette méthode)
+     * @return le nombre d’articles écrits
+     * @throws XMLStreamException si l’écriture échoue
+     * @throws NoSuchElementException s’il ne reste aucun article
+     */
+    public long writeNext(OutputStream output) throws XMLStreamException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Tous les articles ont été générés");
+        }
+        long first = next;
+        long last = first + Math.min(end - first, spec.getDocumentSize());
+        // Un document dont l’écriture échoue n’est pas régénéré
+        next = last;
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+        try {
+            if (spec.getFormat() == SyntheticFeedFormat.RSS25SB) {
+                writeRss25SB(writer, first, last);
+            } else {
+                writeLeMonde(writer, first, last);
+            }
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        return last - first;
+    }
+
+    /**
+     * Retourne le document suivant sous forme de chaîne (petits documents : benchmarks, tests de charge).
+     *
+     * @return le document XML
+     * @throws XMLStreamException si l’écriture échoue
+     */
+    public String nextDocument() throws XMLStreamException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writeNext(buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retourne le GUID d’un article (sans préfixe d’URL).
+     *
+     * @param index numéro de l’article
+     * @return l’UUID de l’article, tenant compte des collisions
+     */
+    public String guid(long index) {
+        long h = mix(spec.getSeed() ^ mix(index));
+        long guidIndex = index;
+        if (index > 0 && unit(mix(h + 3)) < spec.getCollisionRate()) {
+            guidIndex = Long.remainderUnsigned(mix(h + 4), index);
+        }
+        // Variante RFC 4122 : deux bits de poids fort à 10
+        return new UUID(guidHighBits, (guidIndex & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L).toString();
+    }
+
+    private void writeRss25SB(XMLStreamWriter w, long first, long last) throws XMLStreamException {
+        w.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        w.setPrefix("p", RSS25_NS);
+        w.writeStartElement(RSS25_NS, "feed");
+        w.writeNamespace("p", RSS25_NS);
+        w.writeAttribute("lang", "fr");
+        w.writeAttribute("version", "25");
+        text(w, RSS25_NS, "title", "Flux synthetique");
+        text(w, RSS25_NS, "pubDate", RFC_3339.format(published(first)));
+        text(w, RSS25_NS, "copyright", "Universite de Rouen");
+        w.writeEmptyElement(RSS25_NS, "link");
+        w.writeAttribute("rel", "self");
+        w.writeAttribute("type", "application/xml");
+        w.writeAttribute("href", "http://example.com/rss25.xml");
+
+        for (long index = first; index < last; index++) {
+            long h = mix(spec.getSeed() ^ mix(index));
+            w.writeStartElement(RSS25_NS, "item");
+            text(w, RSS25_NS, "guid", "https://example.com/" + guid(index));
+            text(w, RSS25_NS, "title", "Article synthetique numero " + index);
+            int categoryCount = 1 + (int) Long.remainderUnsigned(h, 3);
+            for (int c = 0; c < categoryCount; c++) {
+                w.writeEmptyElement(RSS25_NS, "category");
+                w.writeAttribute("term", "categorie" + Long.remainderUnsigned(mix(h + 10 + c), spec.getCategories()));
+            }
+            text(w, RSS25_NS, "published", RFC_3339.format(published(index)));
+            if (unit(mix(h + 1)) < spec.getImageRate()) {
+                w.writeEmptyElement(RSS25_NS, "image");
+                w.writeAttribute("type", "image/JPEG");
+                w.writeAttribute("href", "http://example.com/images/" + index + ".jpg");
+                w.writeAttribute("alt", "Illustration " + index);
+                w.writeAttribute("length", Integer.toString(20_000 + (int) Long.remainderUnsigned(h, 200_000)));
+            }
+            w.writeEmptyElement(RSS25_NS, "content");
+            w.writeAttribute("type", "html");
+            w.writeAttribute("src", "http://example.com/articles/" + index + ".html");
+            person(w, "author", "Auteur", Long.remainderUnsigned(mix(h + 2), spec.getAuthors()));
+            if ((index & 1) == 1) {
+                person(w, "contributor", "Contributeur", Long.remainderUnsigned(mix(h + 5), spec.getAuthors()));
+            }
+            w.writeEndElement();
+        }
+        w.writeEndElement();
+        w.writeEndDocument();
+    }
+
+    private static void person(XMLStreamWriter w, String element, String label, long number) throws XMLStreamException {
+        w.writeEmptyElement(RSS25_NS, element);
+        w.writeAttribute("name", label + " " + number);
+        w.writeAttribute("email", label.toLowerCase(Locale.ROOT) + number + "@example.com");
+        w.writeAttribute("uri", "http://example.com/" + label.toLowerCase(Locale.ROOT) + "s/" + number);
+    }
+
+    private void writeLeMonde(XMLStreamWriter w, long first, long last) throws XMLStreamException {
+        w.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        w.setPrefix("media", MEDIA_NS);
+        w.writeStartElement("rss");
+        w.writeAttribute("version", "2.0");
+        w.writeNamespace("media", MEDIA_NS);
+        w.writeStartElement("channel");
+        text(w, null, "title", "Le Monde.fr - Actualités et Infos en France et dans le monde");
+        text(w, null, "link", "https://www.lemonde.fr");
+        text(w, null, "description", "Le Monde.fr - 1er site d’information.");
+
+        for (long index = first; index < last; index++) {
+            long h = mix(spec.getSeed() ^ mix(index));
+            w.writeStartElement("item");
+            text(w, null, "title", "Titre de l’article synthétique n°" + index);
+            text(w, null, "pubDate", DateTimeFormatter.RFC_1123_DATE_TIME.format(published(index)));
+            w.writeStartElement("description");
+            filler(w, spec.getContentSize(), (int) Long.remainderUnsigned(h, FILLER.length));
+            w.writeEndElement();
+            w.writeStartElement("guid");
+            w.writeAttribute("isPermaLink", "false");
+            w.writeCharacters("https://www.lemonde.fr/synthetique/" + guid(index));
+            w.writeEndElement();
+            text(w, null, "link", "https://www.lemonde.fr/synthetique/article-" + index + ".html");
+            text(w, null, "category", "Rubrique " + Long.remainderUnsigned(mix(h + 10), spec.getCategories()));
+            if (unit(mix(h + 1)) < spec.getImageRate()) {
+                w.writeStartElement(MEDIA_NS, "content");
+                w.writeAttribute("url", "https://img.lemonde.fr/synthetique/" + index + ".jpg");
+                w.writeAttribute("width", "644");
+                w.writeAttribute("height", "322");
+                text(w, MEDIA_NS, "description", "Illustration " + index);
+                text(w, MEDIA_NS, "credit", "Photographe " + Long.remainderUnsigned(mix(h + 2), spec.getAuthors()));
+                w.writeEndElement();
+            }
+            w.writeEndElement();
+        }
+        w.writeEndElement();
+        w.writeEndElement();
+        w.writeEndDocument();
+    }
+
+    /**
+     * Écrit {@code length} caractères de texte de remplissage, par tranches, à partir de {@code offset}.
+     */
+    private static void filler(XMLStreamWriter w, int length, int offset) throws XMLStreamException {
+        int remaining = length;
+        int position = offset;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, FILLER.length - position);
+            w.writeCharacters(FILLER, position, chunk);
+            remaining -= chunk;
+            position = 0;
+        }
+    }
+
+    private static void text(XMLStreamWriter w, String namespace, String name, String value) throws XMLStreamException {
+        if (namespace == null) {
+            w.writeStartElement(name);
+        } else {
+            w.writeStartElement(namespace, name);
+        }
+        w.writeCharacters(value);
+        w.writeEndElement();
+    }
+
+    private OffsetDateTime published(long index) {
+        return spec.getNewest().minus(spec.getInterval().multipliedBy(index));
+    }
+
+    /**
+     * Mélange SplitMix64 : dérive d’une valeur des bits pseudo-aléatoires bien répartis.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E37_79B9_7F4A_7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Convertit des bits pseudo-aléatoires en réel de [0, 1).
+     */
+    private static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
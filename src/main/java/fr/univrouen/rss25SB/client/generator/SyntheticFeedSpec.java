@@ -0,0 +1,93 @@
+package fr.univrouen.rss25SB.client.generator;
+
+import lombok.*;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Description d’un jeu de flux synthétiques : format, volume et forme des articles.
+ * <p>
+ * Les articles sont numérotés de {@link #firstIndex} à {@code firstIndex + items - 1}. Un article
+ * est entièrement déterminé par son numéro et la graine : deux générations de même graine
+ * produisent les mêmes GUID, ce qui permet de reprendre un remplissage à un numéro donné ou de
+ * rejouer volontairement des doublons.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter
+@Setter
+public class SyntheticFeedSpec {
+
+    /** Format des documents. */
+    private SyntheticFeedFormat format = SyntheticFeedFormat.RSS25SB;
+
+    /** Nombre total d’articles. */
+    private long items = 10;
+
+    /** Numéro du premier article. */
+    private long firstIndex = 0;
+
+    /** Nombre maximal d’articles par document, {@code null} pour le maximum du format. */
+    private Long itemsPerDocument;
+
+    /** Nombre de catégories distinctes ; chaque article en porte de 1 à 3. */
+    private int categories = 20;
+
+    /** Nombre d’auteurs distincts. */
+    private int authors = 50;
+
+    /** Longueur de la description d’un article Le Monde, en caractères (le contenu rss25SB n’est qu’un lien). */
+    private int contentSize = 200;
+
+    /** Probabilité qu’un article reprenne le GUID d’un article de numéro inférieur. */
+    private double collisionRate = 0;
+
+    /** Probabilité qu’un article porte une image. */
+    private double imageRate = 0.5;
+
+    /** Date de publication du premier article ; les suivants remontent dans le temps. */
+    private OffsetDateTime newest = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+
+    /** Intervalle entre deux articles consécutifs. */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /** Graine des tirages aléatoires et de l’espace des GUID. */
+    private long seed = 42;
+
+    /**
+     * Vérifie la cohérence des paramètres.
+     *
+     * @throws IllegalArgumentException si un paramètre est hors limites
+     */
+    public void validate() {
+        require(items >= 0, "items doit être positif ou nul");
+        require(firstIndex >= 0, "first-index doit être positif ou nul");
+        long perDocument = getDocumentSize();
+        require(perDocument >= 1 && perDocument <= format.getMaxItemsPerDocument(),
+            "per-document doit être compris entre 1 et " + format.getMaxItemsPerDocument() + " pour le format " + format);
+        require(categories >= 1, "categories doit valoir au moins 1");
+        require(authors >= 1, "authors doit valoir au moins 1");
+        require(contentSize >= 0, "content-size doit être positif ou nul");
+        require(collisionRate >= 0 && collisionRate <= 1, "collision-rate doit être compris entre 0 et 1");
+        require(imageRate >= 0 && imageRate <= 1, "image-rate doit être compris entre 0 et 1");
+        require(!interval.isNegative(), "interval doit être positif ou nul");
+    }
+
+    /**
+     * Retourne le nombre maximal d’articles d’un document.
+     *
+     * @return {@link #itemsPerDocument}, ou à défaut le maximum du format
+     */
+    public long getDocumentSize() {
+        return itemsPerDocument != null ? itemsPerDocument : format.getMaxItemsPerDocument();
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fr.univrouen.rss25SB.config;
+
+import lombok.*;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriétés de l’insertion de flux ({@code /rss25SB/insert}).
+ * <p>
+ * Les propriétés sont définies avec le préfixe {@code rss25sb.insert}
+ * dans le fichier {@code application.properties}.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.2
+ */
+@Getter @Setter
+@Configuration
+@ConfigurationProperties(prefix = "rss25sb.insert")
+public class InsertProperties {
+
+    /** Taille maximale (en octets) d’un flux soumis ; vérifiée au fil de la lecture. */
+    private long maxPayloadBytes = 10L * 1024 * 1024;
+
+    /** Nombre d’articles accumulés avant écriture en base puis libération du contexte JPA. */
+    private int batchSize = 50;
+
+    /** Nombre d’articles validés par transaction en mode d’insertion {@code chunked}. */
+    private int chunkSize = 500;
+
+    /** Propriétés de l’insertion asynchrone ({@code ?async=true}). */
+    private final Async async = new Async();
+
+    /**
+     * Propriétés de la file d’insertion asynchrone ({@code rss25sb.insert.async.*}).
+     */
+    @Getter @Setter
+    public static class Async {
+
+        /** Nombre de traitements d’insertion exécutés en parallèle. */
+        private int workers = 2;
+
+        /** Nombre maximal de flux en attente ; au-delà, les soumissions sont refusées (503). */
+        private int queueCapacity = 100;
+
+        /** Durée de conservation (en minutes) du résultat d’un traitement terminé. */
+        private long jobTtlMinutes = 60;
+
+        /** Répertoire des fichiers temporaires contenant les flux en attente (répertoire temporaire système par défaut). */
+        private String spoolDir;
+    }
+}
@@ -0,0 +1,75 @@
+package fr.univrouen.rss25SB.config;
+
+import fr.univrouen.rss25SB.utils.constants.IngestMode;
+import lombok.*;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.*;
+
+/**
+ * Propriétés de la collecte planifiée des flux externes.
+ * <p>
+ * Les propriétés sont définies avec le préfixe {@code rss25sb.poller}
+ * dans le fichier {@code application.properties}. Les sources sont déclarées sous forme de liste :
+ * </p>
+ * <pre>{@code
+ * rss25sb.poller.sources[0].name=lemonde-une
+ * rss25sb.poller.sources[0].url=https://www.lemonde.fr/rss/une.xml
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@Configuration
+@ConfigurationProperties(prefix = "rss25sb.poller")
+public class PollerProperties {
+
+    /** Active ou désactive la collecte planifiée. */
+    private boolean enabled = true;
+
+    /** Période de vérification des échéances des sources, en millisecondes. */
+    private long tickMs = 10_000;
+
+    /** Nombre maximal de sources collectées simultanément. */
+    private int maxConcurrent = 2;
+
+    /** Intervalle de collecte initial d’une source, en secondes. */
+    private long initialIntervalSeconds = 300;
+
+    /** Intervalle minimal entre deux collectes d’une même source, en secondes. */
+    private long minIntervalSeconds = 60;
+
+    /** Intervalle maximal entre deux collectes d’une même source, en secondes. */
+    private long maxIntervalSeconds = 3600;
+
+    /** Délai maximal d’établissement de la connexion, en millisecondes. */
+    private long connectTimeoutMs = 5_000;
+
+    /** Délai maximal d’obtention des en-têtes de la réponse, en millisecondes. */
+    private long requestTimeoutMs = 30_000;
+
+    /** Délai maximal de réception complète du corps de la réponse, en millisecondes. */
+    private long bodyTimeoutMs = 60_000;
+
+    /** Mode d’insertion des articles collectés. */
+    private IngestMode mode = IngestMode.ATOMIC;
+
+    /** Sources à collecter. */
+    private List<Source> sources = new ArrayList<>();
+
+    /**
+     * Source collectée ({@code rss25sb.poller.sources[n].*}).
+     */
+    @Getter @Setter
+    public static class Source {
+
+        /** Nom de la source, utilisé dans les journaux et les mesures (par défaut : l’hôte de l’URL). */
+        private String name;
+
+        /** URL du flux. */
+        private String url;
+    }
+}
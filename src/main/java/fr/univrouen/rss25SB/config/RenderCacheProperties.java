@@ -0,0 +1,27 @@
+package fr.univrouen.rss25SB.config;
+
+import lombok.*;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriétés du cache des rendus d’articles (HTML et XML).
+ * <p>
+ * Les propriétés sont définies avec le préfixe {@code rss25sb.cache.rendered}
+ * dans le fichier {@code application.properties}.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@Configuration
+@ConfigurationProperties(prefix = "rss25sb.cache.rendered")
+public class RenderCacheProperties {
+
+    /** Active ou désactive le cache des rendus. */
+    private boolean enabled = true;
+
+    /** Capacité du cache, exprimée en mégaoctets de rendus stockés. */
+    private long maxSizeMb = 64;
+}
@@ -0,0 +1,40 @@
+package fr.univrouen.rss25SB.config;
+
+import lombok.*;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriétés de pagination des listes synthétiques d’articles ({@code /rss25SB/resume}).
+ * <p>
+ * Les propriétés sont définies avec le préfixe {@code rss25sb.resume}
+ * dans le fichier {@code application.properties}.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@Configuration
+@ConfigurationProperties(prefix = "rss25sb.resume")
+public class ResumeProperties {
+
+    /** Nombre d’articles par page lorsque le paramètre {@code limit} est absent. */
+    private int defaultLimit = 50;
+
+    /** Nombre maximal d’articles par page accepté pour le paramètre {@code limit}. */
+    private int maxLimit = 500;
+
+    /**
+     * Ramène une taille de page demandée dans l’intervalle autorisé.
+     *
+     * @param requested taille demandée par le client (peut être {@code null})
+     * @return une taille comprise entre 1 et {@link #maxLimit}
+     */
+    public int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(requested, maxLimit));
+    }
+}
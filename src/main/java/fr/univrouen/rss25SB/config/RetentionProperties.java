@@ -0,0 +1,39 @@
+package fr.univrouen.rss25SB.config;
+
+import lombok.*;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propriétés de la rétention des articles.
+ * <p>
+ * Les propriétés sont définies avec le préfixe {@code rss25sb.retention}
+ * dans le fichier {@code application.properties}.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+@Getter @Setter
+@Configuration
+@ConfigurationProperties(prefix = "rss25sb.retention")
+public class RetentionProperties {
+
+    /**
+     * Active ou désactive la purge planifiée. Désactivée par défaut, pour qu’un premier
+     * déploiement ne supprime pas les articles déjà présents.
+     */
+    private boolean enabled = false;
+
+    /** Âge maximal d’un article, en jours, calculé sur sa date de publication. */
+    private int maxAgeDays = 90;
+
+    /** Nombre maximal d’articles supprimés par transaction. */
+    private int batchSize = 500;
+
+    /** Pause entre deux lots, en millisecondes, laissant passer les insertions concurrentes. */
+    private long pauseMs = 50;
+
+    /** Expression cron de déclenchement de la purge (par défaut : chaque nuit à 3h30). */
+    private String cron = "0 30 3 * * *";
+}
@@ -0,0 +1,61 @@
+package fr.univrouen.rss25SB.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import fr.univrouen.rss25SB.dto.CacheStatsDTO;
+import fr.univrouen.rss25SB.service.RenderedItemCache;
+import fr.univrouen.rss25SB.utils.XmlUtil;
+import jakarta.xml.bind.JAXBException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Contrôleur REST exposant les statistiques du cache des rendus d’articles.
+ *
+ * <p><b>URL :</b> <code>/rss25SB/cache/stats</code></p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see RenderedItemCache
+ * @see CacheStatsDTO
+ */
+@RestController
+@Slf4j
+@RequestMapping("/rss25SB")
+@RequiredArgsConstructor
+public class CacheController {
+
+    /** Cache des rendus d’articles. */
+    private final RenderedItemCache renderedItemCache;
+
+    /**
+     * Endpoint GET retournant les statistiques du cache des rendus au format XML.
+     *
+     * @return {@link ResponseEntity} contenant un flux XML {@code <cacheStats>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     *
+     * <p><b>Exemple d’appel :</b> {@code GET /rss25SB/cache/stats}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @GetMapping(value = "/cache/stats", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> getCacheStats() throws JAXBException {
+        log.debug("GET /rss25SB/cache/stats appelé");
+
+        CacheStats stats = renderedItemCache.stats();
+        CacheStatsDTO dto = new CacheStatsDTO(
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount(),
+            stats.evictionWeight(),
+            renderedItemCache.estimatedSize(),
+            renderedItemCache.weightedSizeBytes(),
+            renderedItemCache.maxWeightBytes()
+        );
+
+        return ResponseEntity.ok(XmlUtil.marshal(dto));
+    }
+}
@@ -2,7 +2,7 @@ package fr.univrouen.rss25SB.controllers;
 
 import fr.univrouen.rss25SB.dto.*;
 import fr.univrouen.rss25SB.service.ItemService;
-import fr.univrouen.rss25SB.utils.XmlUtil;
+import fr.univrouen.rss25SB.utils.*;
 import jakarta.xml.bind.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,12 +10,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Stream;
+
 /**
- * Contrôleur REST permettant de supprimer un article RSS à partir de son identifiant.
+ * Contrôleur REST permettant de supprimer des articles RSS, un par un à partir de leur
+ * identifiant, ou par lot selon un critère.
  * <p>
- * Ce contrôleur expose un endpoint HTTP {@code DELETE} accessible via :
+ * Ce contrôleur expose deux endpoints HTTP {@code DELETE} accessibles via :
  * <pre>{@code
  * /rss25SB/delete/{id}
+ * /rss25SB/delete?ids=1,2,3 | ?before=2025-01-01 | ?category=tech
  * }</pre>
  * Il retourne une réponse au format XML indiquant si l'opération de suppression a réussi ou non.
  * </p>
@@ -37,8 +44,9 @@ import org.springframework.web.bind.annotation.*;
  * }</pre>
  *
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.1
  * @see DeleteResponseDTO
+ * @see BulkDeleteResponseDTO
  * @see XmlErrorResponseDTO
  * @see ItemService
  * @see XmlUtil
@@ -98,4 +106,60 @@ public class DeleteController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(fallback);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint HTTP DELETE permettant de supprimer un ensemble d’articles selon un critère unique :
+     * <ul>
+     *     <li>{@code ids} : liste d’identifiants (les identifiants inconnus sont ignorés)</li>
+     *     <li>{@code before} : articles publiés avant une date (RFC 3339 ou {@code yyyy-MM-dd}, exclue)</li>
+     *     <li>{@code category} : articles possédant la catégorie de ce terme</li>
+     * </ul>
+     * La suppression s’effectue par requêtes ensemblistes dans une seule transaction.
+     *
+     * @param ids      identifiants des articles à supprimer
+     * @param before   date limite de publication
+     * @param category terme de catégorie
+     * @return réponse HTTP contenant un flux XML :
+     *         <ul>
+     *             <li>{@code <bulkDeleted>} avec le nombre de lignes supprimées par table</li>
+     *             <li>{@code <error>} (400) si aucun ou plusieurs critères sont fournis, ou si la date est invalide</li>
+     *         </ul>
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     *
+     * <p><b>Exemple d’appel :</b> {@code DELETE /rss25SB/delete?before=2025-01-01}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @DeleteMapping(value = "/delete", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> deleteItems(@RequestParam(required = false) List<Long> ids,
+                                              @RequestParam(required = false) String before,
+                                              @RequestParam(required = false) String category) throws JAXBException {
+        log.debug("DELETE /rss25SB/delete appelé (ids={}, before={}, category={})", ids, before, category);
+        String messageErreur = "Erreur lors de la suppression groupée d’articles rss25SB:\n";
+
+        long criteria = Stream.of(ids, before, category).filter(Objects::nonNull).count();
+        if (criteria != 1) {
+            messageErreur += "Un et un seul critère est attendu : ids, before ou category.";
+            log.warn("Suppression groupée refusée : {} critère(s)", criteria);
+            return ResponseEntity.badRequest().body(XmlUtil.marshal(new XmlErrorResponseDTO(null, messageErreur)));
+        }
+
+        BulkDeleteResponseDTO summary;
+        if (ids != null) {
+            summary = itemService.deleteItemsByIds(ids);
+        } else if (before != null) {
+            OffsetDateTime limit;
+            try {
+                limit = DateTimeUtil.parseRfc3339OrDate(before);
+            } catch (DateTimeParseException e) {
+                messageErreur += "Date invalide : " + before + " (format attendu : RFC 3339 ou yyyy-MM-dd).";
+                log.warn("Suppression groupée refusée : {}", messageErreur);
+                return ResponseEntity.badRequest().body(XmlUtil.marshal(new XmlErrorResponseDTO(null, messageErreur)));
+            }
+            summary = itemService.deleteItemsPublishedBefore(limit);
+        } else {
+            summary = itemService.deleteItemsByCategory(category);
+        }
+
+        return ResponseEntity.ok(XmlUtil.marshal(summary));
+    }
+}
@@ -0,0 +1,69 @@
+package fr.univrouen.rss25SB.controllers;
+
+import fr.univrouen.rss25SB.model.ResourceVersion;
+import fr.univrouen.rss25SB.service.*;
+import jakarta.servlet.http.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Contrôleur REST exposant l’export complet du catalogue d’articles,
+ * sous la forme d’un unique document {@code <feed>} au format rss25SB.
+ * <p>
+ * Le document est écrit en flux directement dans la réponse HTTP :
+ * il est adapté aux archivages nocturnes de tables volumineuses.
+ * Si le catalogue n’a pas changé depuis le précédent export du client
+ * ({@code If-None-Match} / {@code If-Modified-Since}), une réponse {@code 304} est renvoyée.
+ * </p>
+ *
+ * <p><b>URL :</b> <code>/rss25SB/export/xml</code></p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see ExportService
+ */
+@RestController
+@Slf4j
+@RequestMapping("/rss25SB")
+@RequiredArgsConstructor
+public class ExportController {
+
+    /** Service réalisant l’export en flux. */
+    private final ExportService exportService;
+
+    /** Version du catalogue, validateur HTTP de l’export. */
+    private final CatalogueVersion catalogueVersion;
+
+    /**
+     * Endpoint GET exportant tous les articles en un seul flux XML.
+     *
+     * @param request    requête HTTP (utilisée pour le lien {@code rel="self"})
+     * @param webRequest requête courante, portant les en-têtes conditionnels
+     * @param response   réponse HTTP dans laquelle le document est écrit
+     * @throws Exception si la lecture en base ou l’écriture XML échoue
+     *
+     * <p><b>Exemple d’appel :</b> {@code GET /rss25SB/export/xml}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @GetMapping(value = "/export/xml", produces = MediaType.APPLICATION_XML_VALUE)
+    public void exportAsXml(HttpServletRequest request, WebRequest webRequest,
+                            HttpServletResponse response) throws Exception {
+        log.debug("GET /rss25SB/export/xml appelé");
+
+        ResourceVersion version = catalogueVersion.current();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_XML_VALUE + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("rss25SB-export.xml").build().toString());
+
+        long count = exportService.exportAll(response.getOutputStream(), request.getRequestURL().toString());
+        log.debug("Export envoyé ({} articles)", count);
+    }
+}
@@ -1,23 +1,23 @@
 package fr.univrouen.rss25SB.controllers;
 
-import fr.univrouen.rss25SB.converter.FluxSourceSelector;
+import fr.univrouen.rss25SB.converter.FeedConverter;
 import fr.univrouen.rss25SB.dto.InsertResponseDTO;
-import fr.univrouen.rss25SB.model.db.ItemEntity;
-import fr.univrouen.rss25SB.model.xml.*;
-import fr.univrouen.rss25SB.service.ItemService;
+import fr.univrouen.rss25SB.exception.PayloadTooLargeException;
+import fr.univrouen.rss25SB.service.*;
 import fr.univrouen.rss25SB.utils.*;
 import fr.univrouen.rss25SB.utils.constants.*;
-import jakarta.xml.bind.*;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.xml.sax.SAXException;
 
-import java.nio.charset.StandardCharsets;
+import java.io.*;
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Contrôleur REST responsable de la gestion de l’insertion de flux RSS au format XML ou HTML.
@@ -34,9 +34,9 @@ import java.util.*;
  * Ce contrôleur s’appuie sur :
  * </p>
  * <ul>
- *     <li>{@link ItemService} pour effectuer l’insertion en base</li>
+ *     <li>{@link FeedIngestService} pour lire en flux, valider ou convertir, puis insérer les articles</li>
+ *     <li>{@link InsertJobService} pour les insertions asynchrones</li>
  *     <li>{@link HtmlRenderer} pour générer des vues HTML dynamiques avec Thymeleaf</li>
- *     <li>{@link FluxSourceSelector} pour convertir les flux XML externes non conformes</li>
  *     <li>{@link XsltTransformer} pour transformer les réponses XML (type {@link InsertResponseDTO}) en pages HTML</li>
  * </ul>
  *
@@ -48,10 +48,9 @@ import java.util.*;
  * <p><b>Base d’URL : </b><code>/rss25SB</code>
  *
  * @author Matisse SENECHAL
- * @version 3.0
- * @see ItemService
+ * @version 4.3
+ * @see FeedIngestService
  * @see HtmlRenderer
- * @see FluxSourceSelector
  * @see InsertResponseDTO
  * @see XsltTransformer
  */
@@ -61,141 +60,125 @@ import java.util.*;
 @Slf4j
 public class InsertController {
 
-    /** Service métier permettant d'accéder aux articles stockés en base. */
-    private final ItemService itemService;
+    /** Service d’ingestion en flux (validation, conversion et insertion par lots). */
+    private final FeedIngestService feedIngestService;
+
+    /** File d’insertion asynchrone ({@code ?async=true}). */
+    private final InsertJobService insertJobService;
 
     /** Moteur de rendu HTML (basé sur Thymeleaf) pour afficher les vues HTML. */
     private final HtmlRenderer htmlRenderer;
 
-    /**
-     * Sélecteur de stratégie de conversion automatique de flux RSS externes vers le format {@code rss25SB}.
-     * <p>
-     * Permet d'identifier dynamiquement la source d’un flux XML non conforme (ex: Le Monde, AFP, etc.)
-     * et d’en effectuer la conversion au format attendu par le service via des convertisseurs spécifiques.
-     */
-    private final FluxSourceSelector fluxSourceSelector;
+    /** Transformateur XSLT partagé (feuilles de style précompilées). */
+    private final XsltTransformer xsltTransformer;
 
     /**
      * Endpoint POST permettant d’insérer un flux RSS au format XML.
      * <p>
-     * Si le flux est conforme au schéma rss25SB, il est directement traité.
-     * Sinon, une tentative de conversion est effectuée via {@link FluxSourceSelector}.
+     * Le corps de la requête est lu en flux par {@link FeedIngestService} : un flux rss25SB
+     * est validé (XSD) au fil de la lecture, un flux externe est converti par le
+     * {@link FeedConverter} adapté, et les articles sont insérés par lots dans une même
+     * transaction. Un corps annonçant une taille supérieure au maximum autorisé est
+     * refusé avant toute lecture.
      * Le contrôleur retourne un statut HTTP approprié selon le résultat :
      * <ul>
      *     <li>201 Created : articles insérés avec succès</li>
      *     <li>204 No Content : aucun article inséré (doublons)</li>
      *     <li>400 Bad Request : flux invalide ou non reconnu</li>
+     *     <li>409 Conflict : article de même GUID inséré simultanément par une autre requête</li>
+     *     <li>413 Payload Too Large : flux trop volumineux</li>
      *     <li>500 Internal Server Error : erreur inattendue lors de la sauvegarde</li>
      * </ul>
      *
-     * @param xmlContent le contenu XML du flux RSS soumis
+     * <p>
+     * Le paramètre {@code mode=chunked} active l’insertion par lots validés indépendamment,
+     * avec compte rendu de progression ({@link IngestMode}) ; par défaut, l’insertion est atomique.
+     * </p>
+     *
+     * <p>
+     * Avec {@code async=true}, le flux est seulement recopié puis placé dans la file
+     * d’insertion ({@link InsertJobService}) : la réponse {@code 202 Accepted} contient
+     * l’identifiant du traitement ({@code <job>}), dont le résultat s’obtient via
+     * {@code GET /rss25SB/insert/jobs/{id}}. Si la file est pleine, la réponse est
+     * {@code 503 Service Unavailable} avec un en-tête {@code Retry-After}.
+     * </p>
+     *
+     * @param request la requête HTTP dont le corps contient le flux RSS soumis
+     * @param mode    mode d’insertion ({@code atomic} par défaut, ou {@code chunked})
+     * @param async   {@code true} pour une insertion asynchrone
      * @return {@link ResponseEntity} contenant un objet {@link InsertResponseDTO}
+     * @throws IOException si le corps de la requête ne peut être ouvert
      */
     @PostMapping(
         value = "/insert",
         consumes = MediaType.APPLICATION_XML_VALUE,
         produces = MediaType.APPLICATION_XML_VALUE
     )
-    public ResponseEntity<InsertResponseDTO> insertRssFeed(@RequestBody String xmlContent) {
-        log.debug("POST /rss25SB/insert appelé, payload length={}", xmlContent.length());
-        StringBuilder messageErreur = new StringBuilder("Erreur lors de la soumission d’un flux XML :\n");
-        Feed feed = tryDeserializeOrConvert(xmlContent, messageErreur);
+    public ResponseEntity<InsertResponseDTO> insertRssFeed(HttpServletRequest request,
+                                                           @RequestParam(required = false) String mode,
+                                                           @RequestParam(defaultValue = "false") boolean async)
+            throws IOException {
+        long contentLength = request.getContentLengthLong();
+        log.debug("POST /rss25SB/insert appelé, Content-Length={}, mode={}", contentLength, mode);
+
+        IngestMode ingestMode;
+        try {
+            ingestMode = IngestMode.fromParam(mode);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(InsertResponseDTO.error(
+                "Erreur lors de la soumission d’un flux XML :\n- " + e.getMessage()));
+        }
 
-        if (feed == null) {
-            log.warn("Échec de désérialisation/conversion : {}", messageErreur);
-            return ResponseEntity.badRequest().body(InsertResponseDTO.error(messageErreur.toString()));
+        if (contentLength > feedIngestService.getMaxPayloadBytes()) {
+            log.warn("Flux refusé : Content-Length={} supérieur au maximum autorisé", contentLength);
+            String message = new PayloadTooLargeException(feedIngestService.getMaxPayloadBytes()).getMessage();
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(InsertResponseDTO.error(
+                "Erreur lors de la soumission d’un flux XML :\n- " + message));
         }
 
-        return tryInsertItems(feed, messageErreur);
+        if (async) {
+            return enqueue(request.getInputStream(), ingestMode);
+        }
+        return toResponse(feedIngestService.ingest(request.getInputStream(), ingestMode));
     }
 
     /**
-     * Tente de désérialiser un flux XML en objet {@link Feed} après validation via XSD.
-     * Si la validation échoue, essaie d'appliquer un convertisseur de source externe
-     * (via {@link FluxSourceSelector}).
+     * Place un flux dans la file d’insertion asynchrone.
      *
-     * @param xmlContent Le contenu XML brut à valider et désérialiser
-     * @param errorMsg Accumulateur de messages d’erreur à enrichir
-     * @return Une instance de {@link Feed} si valide ou convertie, sinon {@code null}
+     * @param body corps de la requête
+     * @param mode mode d’insertion
+     * @return {@code 202} avec l’identifiant du traitement, {@code 413} ou {@code 503}
+     * @throws IOException si la recopie du flux échoue
      */
-    private Feed tryDeserializeOrConvert(String xmlContent, StringBuilder errorMsg) {
+    private ResponseEntity<InsertResponseDTO> enqueue(InputStream body, IngestMode mode) throws IOException {
         try {
-            log.debug("Tentative de désérialisation avec validation XSD depuis {}", Constants.XSD_PATH);
-            return XmlUtil.unmarshal(xmlContent, Feed.class, Constants.XSD_PATH);
-        } catch (JAXBException | SAXException e) {
-            log.warn("Le flux n'est pas conforme au XSD rss25SB : {}", e.getMessage());
-            errorMsg.append("- Flux non valide au format rss25SB. Tentative de conversion automatique...\n");
-
-            try {
-                Feed converted = fluxSourceSelector.convert(xmlContent);
-                log.info("Conversion réussie depuis une source externe vers rss25SB");
-                return converted;
-            } catch (UnsupportedOperationException ex) {
-                log.warn("Aucune stratégie de conversion disponible : {}", ex.getMessage());
-                errorMsg.append("- Flux non reconnu : ").append(ex.getMessage());
-            } catch (Exception ex) {
-                log.error("Erreur critique pendant la conversion : {}", ex.getMessage());
-                errorMsg.append("- Échec de conversion : ").append(XmlUtil.extractFirstErrorMessage(ex));
-            }
-        } catch (Exception e) {
-            log.error("Erreur inattendue lors de la désérialisation : {}", e.getMessage(), e);
-            errorMsg.append("- Erreur inattendue : ").append(XmlUtil.extractFirstErrorMessage(e));
+            InsertJobService.InsertJob job = insertJobService.submit(body, mode);
+            return ResponseEntity.accepted()
+                .location(URI.create("/rss25SB/insert/jobs/" + job.getId()))
+                .body(job.toResponse());
+        } catch (PayloadTooLargeException e) {
+            log.warn("Flux refusé : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(InsertResponseDTO.error(
+                "Erreur lors de la soumission d’un flux XML :\n- " + e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(InsertResponseDTO.error(
+                    "Erreur lors de la soumission d’un flux XML :\n- File d’insertion pleine, réessayez plus tard."));
         }
-        return null;
     }
 
     /**
-     * Insère les articles contenus dans le {@link Feed} passé en paramètre.
-     * <p>
-     * Seuls les articles n’ayant pas encore été enregistrés (vérification sur le GUID)
-     * sont insérés. Une réponse est construite selon l’état d’insertion :
-     * <ul>
-     *     <li>201 Created si des articles ont été insérés,</li>
-     *     <li>204 No Content si tous les articles existaient déjà,</li>
-     *     <li>500 Internal Server Error en cas d’échec inattendu.</li>
-     * </ul>
+     * Convertit le résultat d’une ingestion en réponse HTTP.
      *
-     * @param feed      le flux {@link Feed} à insérer
-     * @param errorMsg  message d’erreur à enrichir en cas d’exception
-     * @return {@link ResponseEntity} contenant une réponse {@link InsertResponseDTO}
+     * @param result résultat renvoyé par {@link FeedIngestService}
+     * @return la réponse HTTP correspondante
      */
-    private ResponseEntity<InsertResponseDTO> tryInsertItems(Feed feed, StringBuilder errorMsg) {
-        try {
-            List<Item> itemsToInsert = feed.getItem().stream()
-                .filter(item -> !itemService.itemExists(item.getGuid()))
-                .toList();
-
-            if (itemsToInsert.isEmpty()) {
-                errorMsg.append("- Aucun article inséré : tous déjà présents.");
-                log.info("Aucun nouvel article inséré");
-                return ResponseEntity.status(HttpStatus.NO_CONTENT)
-                                     .body(InsertResponseDTO.error(errorMsg.toString()));
-            }
-
-            // Phase de validation : on vérifie que tous les items peuvent être convertis en entité
-            List<ItemEntity> entities = new ArrayList<>();
-            for (Item item : itemsToInsert) {
-                try {
-                    entities.add(ItemMapper.toEntity(item));
-                } catch (Exception e) {
-                    log.warn("Article invalide détecté avant insertion : {}", e.getMessage());
-                    errorMsg.append("- Un ou plusieurs articles sont invalides. Aucune insertion effectuée.\n");
-                    errorMsg.append("Article GUID=").append(item.getGuid()).append(" : ").append(e.getMessage());
-                    return ResponseEntity.badRequest().body(InsertResponseDTO.error(errorMsg.toString()));
-                }
-            }
-
-            // Si tout est valide : insertion effective
-            List<Long> insertedIds = itemService.saveAllItems(entities);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                                 .body(InsertResponseDTO.success(insertedIds));
-        } catch (Exception e) {
-            log.error("Erreur lors de l'insertion en base : {}", e.getMessage(), e);
-            errorMsg.append("- Erreur lors de la sauvegarde : ")
-                    .append(XmlUtil.extractFirstErrorMessage(e));
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                 .body(InsertResponseDTO.error(errorMsg.toString()));
+    private ResponseEntity<InsertResponseDTO> toResponse(FeedIngestService.IngestResult result) {
+        if (result.status().isError()) {
+            log.warn("Échec de l'insertion ({}) : {}", result.status().value(), result.body().getDescription());
         }
+        return ResponseEntity.status(result.status()).body(result.body());
     }
 
     /**
@@ -229,14 +212,14 @@ public class InsertController {
      * <p>
      * Le traitement inclut :
      * <ul>
-     *   <li>La lecture du fichier envoyé en `multipart/form-data`</li>
-     *   <li>La validation du flux XML selon le XSD `rss25.xsd`</li>
-     *   <li>L’invocation du endpoint `/insert` pour traitement métier</li>
+     *   <li>La lecture en flux du fichier envoyé en `multipart/form-data`</li>
+     *   <li>La validation du flux XML selon le XSD `rss25.xsd` et l’insertion via {@link FeedIngestService}</li>
      *   <li>La transformation du {@link InsertResponseDTO} en page HTML via XSLT</li>
      * </ul>
      * </p>
      *
      * @param file le fichier XML envoyé depuis le formulaire
+     * @param mode mode d’insertion ({@code atomic} par défaut, ou {@code chunked})
      * @return page HTML générée indiquant le résultat (succès ou erreur) de l’insertion
      */
     @PostMapping(
@@ -244,23 +227,22 @@ public class InsertController {
         consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
         produces = MediaType.TEXT_HTML_VALUE
     )
-    public ResponseEntity<String> insertRssAsHtml(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<String> insertRssAsHtml(@RequestParam("file") MultipartFile file,
+                                                  @RequestParam(required = false) String mode) {
         try {
             log.debug("Fichier reçu via formulaire : nom={}, taille={} octets",
                   file.getOriginalFilename(), file.getSize());
 
-            // Lecture du fichier XML
-            String xmlContent = new String(file.getBytes(), StandardCharsets.UTF_8);
-            log.debug("Lecture du contenu XML réussie ({} caractères)", xmlContent.length());
-
-            // Appel à l'endpoint technique XML (insertRssFeed)
-            ResponseEntity<InsertResponseDTO> response = insertRssFeed(xmlContent);
-            InsertResponseDTO dto = response.getBody();
+            // Lecture en flux du fichier XML et insertion
+            InsertResponseDTO dto;
+            try (InputStream input = file.getInputStream()) {
+                dto = toResponse(feedIngestService.ingest(input, IngestMode.fromParam(mode))).getBody();
+            }
 
             log.debug("Réponse obtenue après insertion XML : statut={}", dto.getStatus());
 
             // Transformation XSLT -> HTML
-            String html = XsltTransformer.marshalAndTransform(dto, XsltFilePath.INSERT.getPath());
+            String html = xsltTransformer.marshalAndTransform(dto, XsltFilePath.INSERT);
             log.debug("Transformation XSLT réussie ({} caractères HTML)", html.length());
 
             return ResponseEntity.ok(html);
@@ -270,7 +252,7 @@ public class InsertController {
             // Génération d'un DTO d’erreur et tentative de transformation
             InsertResponseDTO dto = InsertResponseDTO.error("Erreur lors du traitement du fichier : " + e.getMessage());
             try {
-                String html = XsltTransformer.marshalAndTransform(dto, XsltFilePath.INSERT.getPath());
+                String html = xsltTransformer.marshalAndTransform(dto, XsltFilePath.INSERT);
                 return ResponseEntity.badRequest().body(html);
             } catch (Exception ex) {
                 log.error("Erreur critique lors de la transformation XSLT : {}", ex.getMessage(), ex);
@@ -0,0 +1,76 @@
+package fr.univrouen.rss25SB.controllers;
+
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.service.InsertJobService;
+import fr.univrouen.rss25SB.utils.XmlUtil;
+import jakarta.xml.bind.JAXBException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * Contrôleur REST exposant le suivi des insertions asynchrones
+ * ({@code POST /rss25SB/insert?async=true}).
+ * <ul>
+ *     <li><code>GET /rss25SB/insert/jobs/{id}</code> : état ou résultat d’un traitement</li>
+ *     <li><code>GET /rss25SB/insert/jobs/stats</code> : état de la file et temps mesurés</li>
+ * </ul>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see InsertJobService
+ * @see InsertResponseDTO
+ * @see InsertQueueStatsDTO
+ */
+@RestController
+@Slf4j
+@RequestMapping("/rss25SB")
+@RequiredArgsConstructor
+public class InsertJobController {
+
+    /** File d’insertion asynchrone. */
+    private final InsertJobService insertJobService;
+
+    /**
+     * Endpoint GET retournant l’état d’un traitement d’insertion asynchrone.
+     * <ul>
+     *     <li>202 Accepted : traitement en attente ou en cours ({@code QUEUED} / {@code RUNNING})</li>
+     *     <li>200 OK : traitement terminé, avec le {@link InsertResponseDTO} de l’insertion</li>
+     *     <li>404 Not Found : traitement inconnu ou résultat expiré</li>
+     * </ul>
+     *
+     * @param id identifiant du traitement
+     * @return {@link ResponseEntity} contenant un flux XML {@code <inserted>} ou {@code <error>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     */
+    @GetMapping(value = "/insert/jobs/{id}", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> getJob(@PathVariable String id) throws JAXBException {
+        log.debug("GET /rss25SB/insert/jobs/{} appelé", id);
+
+        Optional<InsertJobService.InsertJob> job = insertJobService.find(id);
+        if (job.isEmpty()) {
+            log.warn("Traitement d'insertion {} introuvable", id);
+            XmlErrorResponseDTO error = new XmlErrorResponseDTO(null, "Traitement d’insertion inconnu ou expiré : " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(XmlUtil.marshal(error));
+        }
+
+        HttpStatus status = job.get().isDone() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(XmlUtil.marshal(job.get().toResponse()));
+    }
+
+    /**
+     * Endpoint GET retournant l’état de la file d’insertion asynchrone au format XML.
+     *
+     * @return {@link ResponseEntity} contenant un flux XML {@code <insertQueueStats>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     */
+    @GetMapping(value = "/insert/jobs/stats", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> getQueueStats() throws JAXBException {
+        log.debug("GET /rss25SB/insert/jobs/stats appelé");
+        return ResponseEntity.ok(XmlUtil.marshal(insertJobService.stats()));
+    }
+}
@@ -1,10 +1,13 @@
 package fr.univrouen.rss25SB.controllers;
 
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.*;
 
 import fr.univrouen.rss25SB.dto.XmlErrorResponseDTO;
-import fr.univrouen.rss25SB.service.ItemService;
+import fr.univrouen.rss25SB.model.ResourceVersion;
+import fr.univrouen.rss25SB.service.ItemRenderService;
+import fr.univrouen.rss25SB.service.RenderedItemCache.*;
 import fr.univrouen.rss25SB.utils.*;
 import fr.univrouen.rss25SB.utils.constants.XsltFilePath;
 
@@ -12,6 +15,9 @@ import jakarta.xml.bind.JAXBException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
 /**
  * Contrôleur REST exposant un endpoint permettant d’afficher le détail complet
  * d’un article RSS au format HTML, selon son identifiant.
@@ -19,11 +25,15 @@ import lombok.extern.slf4j.Slf4j;
  * <p>Les données sont transformées dynamiquement via des feuilles XSLT selon qu’il s’agisse
  * d’un article valide ou d’un message d’erreur.</p>
  *
+ * <p>Les requêtes conditionnelles ({@code If-None-Match}, {@code If-Modified-Since})
+ * sont honorées : si l’article n’a pas changé, une réponse {@code 304} est renvoyée
+ * avant toute conversion ou transformation.</p>
+ *
  * <p><strong>URL de base :</strong> <code>/rss25SB/html/{id}</code></p>
  * <p><strong>Produit :</strong> <code>text/html</code></p>
  *
  * @author Matisse SENECHAL
- * @version 1.1
+ * @version 1.3
  */
 @AllArgsConstructor
 @RestController
@@ -31,39 +41,52 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/rss25SB")
 public class ItemController {
 
-    /** Service métier permettant d'accéder aux articles stockés en base. */
-    private final ItemService itemService;
+    /** Type de contenu des pages HTML retournées. */
+    private static final MediaType HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    /** Service de rendu des articles, adossé au cache des rendus. */
+    private final ItemRenderService itemRenderService;
+
+    /** Transformateur XSLT partagé (feuilles de style précompilées). */
+    private final XsltTransformer xsltTransformer;
 
     /**
      * Endpoint GET permettant d’obtenir un article au format HTML via transformation XSLT.
      * <p>
-     * Si l’article est trouvé, une transformation avec {@link XsltFilePath#ITEM} est appliquée.
+     * Si l’article est trouvé, son rendu avec {@link XsltFilePath#ITEM} est retourné
+     * (depuis le cache des rendus lorsque c’est possible).
      * Sinon, une page d’erreur est générée avec {@link XsltFilePath#ERROR}.
      * </p>
      *
-     * @param id identifiant de l’article à rechercher
-     * @return {@link ResponseEntity} contenant la page HTML correspondante
+     * @param id         identifiant de l’article à rechercher
+     * @param webRequest requête courante, portant les en-têtes conditionnels
+     * @return {@link ResponseEntity} contenant la page HTML correspondante,
+     *         ou {@code null} si une réponse {@code 304 Not Modified} a été émise
      * @throws JAXBException en cas de problème de sérialisation JAXB
      */
     @GetMapping(value = "/html/{id}", produces = MediaType.TEXT_HTML_VALUE)
-    public ResponseEntity<String> getItemByIdAsHTML(@PathVariable Long id) throws JAXBException {
+    public ResponseEntity<byte[]> getItemByIdAsHTML(@PathVariable Long id, WebRequest webRequest) throws JAXBException {
         log.debug("GET /rss25SB/html/{} appelé", id);
 
         try {
-            // Recherche l'article : si introuvable, on prépare un DTO d'erreur
-            Object objectToTransform = itemService.getItemAsXmlById(id)
-                .<Object>map(item -> item)
-                .orElseGet(() -> new XmlErrorResponseDTO(id, "Article " + id + " introuvable. Status = ERROR"));
-
-            // Sélection dynamique de la feuille XSLT à utiliser
-            String xsltPath = (objectToTransform instanceof XmlErrorResponseDTO)
-                ? "/xslt/rss25.error.xslt"
-                : "/xslt/rss25.item.xslt";
+            // Requête conditionnelle : 304 si le client possède déjà cette version
+            Optional<ResourceVersion> version = itemRenderService.version(id, Format.HTML);
+            if (version.isPresent()
+                    && webRequest.checkNotModified(version.get().getEtag(), version.get().getLastModified())) {
+                return null;
+            }
 
-            // Transformation en HTML via XSLT
-            String html = XsltTransformer.marshalAndTransform(objectToTransform, xsltPath);
+            // Rendu de l'article (cache ou calcul) : si introuvable, on transforme un DTO d'erreur
+            byte[] html = itemRenderService.render(id, Format.HTML)
+                .map(RenderedItem::body)
+                .orElse(null);
+            if (html == null) {
+                XmlErrorResponseDTO error = new XmlErrorResponseDTO(id, "Article " + id + " introuvable. Status = ERROR");
+                html = xsltTransformer.marshalAndTransform(error, XsltFilePath.ERROR)
+                    .getBytes(StandardCharsets.UTF_8);
+            }
 
-            return ResponseEntity.ok().contentType(MediaType.TEXT_HTML).body(html);
+            return ResponseEntity.ok().contentType(HTML_UTF8).body(html);
         } catch (Exception e) {
             log.error("Erreur XSLT pour l’article {} : {}", id, e.getMessage(), e);
 
@@ -73,7 +96,8 @@ public class ItemController {
             XmlErrorResponseDTO error = new XmlErrorResponseDTO(id, messageErreur);
 
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                                 .body(XmlUtil.marshal(error));
+                                 .contentType(MediaType.APPLICATION_XML)
+                                 .body(XmlUtil.marshal(error).getBytes(StandardCharsets.UTF_8));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package fr.univrouen.rss25SB.controllers;
+
+import fr.univrouen.rss25SB.dto.PollerStatsDTO;
+import fr.univrouen.rss25SB.service.FeedPollerService;
+import fr.univrouen.rss25SB.utils.XmlUtil;
+import jakarta.xml.bind.JAXBException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Contrôleur REST exposant la collecte planifiée des flux externes.
+ * <ul>
+ *     <li><code>GET /rss25SB/poller/stats</code> : état de chaque source (intervalle, validateurs, résultats)</li>
+ *     <li><code>POST /rss25SB/poller/poll</code> : collecte immédiatement toutes les sources</li>
+ * </ul>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see FeedPollerService
+ * @see PollerStatsDTO
+ */
+@RestController
+@Slf4j
+@RequestMapping("/rss25SB")
+@RequiredArgsConstructor
+public class PollerController {
+
+    /** Service de collecte. */
+    private final FeedPollerService feedPollerService;
+
+    /**
+     * Endpoint GET retournant l’état de la collecte au format XML.
+     *
+     * @return {@link ResponseEntity} contenant un flux XML {@code <pollerStats>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     *
+     * <p><b>Exemple d’appel :</b> {@code GET /rss25SB/poller/stats}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @GetMapping(value = "/poller/stats", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> getPollerStats() throws JAXBException {
+        log.debug("GET /rss25SB/poller/stats appelé");
+        return ResponseEntity.ok(XmlUtil.marshal(feedPollerService.stats()));
+    }
+
+    /**
+     * Endpoint POST collectant immédiatement toutes les sources, y compris si la collecte planifiée
+     * est désactivée. La réponse est renvoyée une fois les collectes terminées.
+     *
+     * @return {@link ResponseEntity} contenant un flux XML {@code <pollerStats>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     *
+     * <p><b>Exemple d’appel :</b> {@code POST /rss25SB/poller/poll}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @PostMapping(value = "/poller/poll", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> poll() throws JAXBException {
+        log.debug("POST /rss25SB/poller/poll appelé");
+        return ResponseEntity.ok(XmlUtil.marshal(feedPollerService.pollNow()));
+    }
+}
@@ -1,17 +1,24 @@
 package fr.univrouen.rss25SB.controllers;
 
+import fr.univrouen.rss25SB.config.ResumeProperties;
 import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.model.*;
 import fr.univrouen.rss25SB.model.xml.Item;
-import fr.univrouen.rss25SB.service.ItemService;
+import fr.univrouen.rss25SB.service.*;
+import fr.univrouen.rss25SB.service.RenderedItemCache.*;
 import fr.univrouen.rss25SB.utils.*;
-import fr.univrouen.rss25SB.utils.constants.XsltFilePath;
+import fr.univrouen.rss25SB.utils.constants.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.xml.bind.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -26,14 +33,22 @@ import java.util.*;
  *
  * <p>Les articles retournés peuvent être :</p>
  * <ul>
- *   <li>Résumés (id, date, guid) au format XML ou HTML</li>
+ *   <li>Résumés (id, date, guid) au format XML ou HTML, paginés par curseur</li>
  *   <li>Complet (type {@link Item}) au format XML</li>
  * </ul>
  *
+ * <p>
+ * Toutes les lectures honorent les requêtes conditionnelles ({@code If-None-Match},
+ * {@code If-Modified-Since}) : les listes sont versionnées par {@link CatalogueVersion},
+ * un article par son identifiant et sa date de mise à jour. Une réponse {@code 304}
+ * est renvoyée avant tout accès au mapper, à JAXB ou au XSLT. Le curseur est vérifié
+ * auparavant : une réponse d’erreur ne porte pas les validateurs de la liste.
+ * </p>
+ *
  * <p><b>URL de base :</b> <code>/rss25SB/resume</code></p>
  *
  * @author Matisse SENECHAL
- * @version 2.0
+ * @version 2.5
  */
 @AllArgsConstructor
 @RestController
@@ -44,67 +59,137 @@ public class ResumeController {
     /** Service métier permettant d'accéder aux articles résumés stockés en base. */
     private final ItemService itemService;
 
+    /** Transformateur XSLT partagé (feuilles de style précompilées). */
+    private final XsltTransformer xsltTransformer;
+
+    /** Service de rendu des articles, adossé au cache des rendus. */
+    private final ItemRenderService itemRenderService;
+
+    /** Paramètres de pagination des listes synthétiques. */
+    private final ResumeProperties resumeProperties;
+
+    /** Version du catalogue, validateur HTTP des listes. */
+    private final CatalogueVersion catalogueVersion;
+
+    /** Mesures des étapes de rendu. */
+    private final PipelineMetrics pipelineMetrics;
+
+    /** Type de contenu des réponses XML écrites directement dans le flux HTTP. */
+    private static final String XML_CONTENT_TYPE = MediaType.APPLICATION_XML_VALUE + ";charset=UTF-8";
+
+    /** Type de contenu des réponses HTML écrites directement dans le flux HTTP. */
+    private static final String HTML_CONTENT_TYPE = MediaType.TEXT_HTML_VALUE + ";charset=UTF-8";
+
     /**
      * Endpoint GET exposant un flux XML contenant la liste synthétique des articles RSS.
+     * <p>
+     * Le XML est sérialisé directement dans le flux de la réponse HTTP,
+     * sans construire de chaîne intermédiaire.
+     * </p>
      *
-     * @return {@link ResponseEntity} contenant une chaîne XML de la liste résumée
+     * @param cursor   curseur de la page suivante (élément {@code <next>} de la page précédente)
+     * @param limit      nombre maximal d’articles dans la page
+     * @param webRequest requête courante, portant les en-têtes conditionnels
+     * @param response   réponse HTTP dans laquelle le XML est écrit
      * @throws JAXBException en cas d’erreur de sérialisation JAXB
+     * @throws IOException si le flux de réponse est indisponible
      *
-     * <p><b>URL :</b> <code>/rss25SB/resume/xml</code></p>
+     * <p><b>URL :</b> <code>/rss25SB/resume/xml?cursor=...&amp;limit=...</code></p>
      * <p><b>Méthode :</b> GET</p>
      * <p><b>Produit :</b> application/xml</p>
      */
     @GetMapping(value = "/xml", produces = MediaType.APPLICATION_XML_VALUE)
-    public ResponseEntity<String> getItemsAsXML() throws JAXBException {
-        log.debug("GET /rss25SB/resume/xml appelé");
-
-        // Sérialisation en XML des résumés d’articles
-        String xml = XmlUtil.marshal(
-            new ItemSummaryListDTO(itemService.getAllItemSummaries())
-        );
+    public void getItemsAsXML(@RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer limit,
+                              WebRequest webRequest,
+                              HttpServletResponse response) throws JAXBException, IOException {
+        log.debug("GET /rss25SB/resume/xml appelé (cursor={}, limit={})", cursor, limit);
+        try {
+            // Curseur vérifié avant les validateurs : l’erreur 400 ne porte ni ETag ni Last-Modified
+            checkCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            log.warn("Pagination invalide : {}", e.getMessage());
+            response.setContentType(XML_CONTENT_TYPE);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            XmlUtil.marshal(new XmlErrorResponseDTO(null, e.getMessage()), response.getOutputStream());
+            return;
+        }
+        if (isNotModified(webRequest)) {
+            return;
+        }
+        response.setContentType(XML_CONTENT_TYPE);
 
-        return ResponseEntity.ok(xml);
+        // Page de résumés d’articles à partir du curseur, sérialisée directement dans la réponse
+        ItemSummaryListDTO dto = itemService.getItemSummaryPage(cursor, resumeProperties.resolveLimit(limit));
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            XmlUtil.marshal(dto, response.getOutputStream());
+            success = true;
+        } finally {
+            pipelineMetrics.recordSince(PipelineStage.MARSHAL, ItemSummaryListDTO.class.getSimpleName(), success, start);
+        }
     }
 
     /**
      * Endpoint GET exposant la liste synthétique des articles RSS au format HTML.
      * <p>
-     * Ce flux est généré dynamiquement à partir de la version XML et transformé via un XSLT.
-     * En cas d’erreur, une page HTML d’erreur est produite à partir d’un {@link XmlErrorResponseDTO}.
+     * Ce flux est généré dynamiquement par transformation XSLT et écrit directement
+     * dans la réponse HTTP. En cas d’erreur (tant que la réponse n’est pas encore
+     * envoyée), une page HTML d’erreur est produite à partir d’un {@link XmlErrorResponseDTO}.
      * </p>
      *
-     * @return {@link ResponseEntity} contenant le HTML rendu ou une erreur transformée
+     * @param cursor   curseur de la page suivante
+     * @param limit      nombre maximal d’articles dans la page
+     * @param webRequest requête courante, portant les en-têtes conditionnels
+     * @param response   réponse HTTP dans laquelle le HTML est écrit
+     * @throws IOException si le flux de réponse est indisponible
      *
-     * <p><b>URL :</b> <code>/rss25SB/resume/html</code></p>
+     * <p><b>URL :</b> <code>/rss25SB/resume/html?cursor=...&amp;limit=...</code></p>
      * <p><b>Méthode :</b> GET</p>
      * <p><b>Produit :</b> text/html</p>
      */
     @GetMapping(value = "/html", produces = MediaType.TEXT_HTML_VALUE)
-    public ResponseEntity<String> getItemsAsHTML() throws JAXBException {
-        log.debug("GET /rss25SB/resume/html appelé");
-
+    public void getItemsAsHTML(@RequestParam(required = false) String cursor,
+                               @RequestParam(required = false) Integer limit,
+                               WebRequest webRequest,
+                               HttpServletResponse response) throws IOException {
+        log.debug("GET /rss25SB/resume/html appelé (cursor={}, limit={})", cursor, limit);
         try {
-            // Récupère la liste synthétique des articles
-            ItemSummaryListDTO dto = new ItemSummaryListDTO(itemService.getAllItemSummaries());
+            // Curseur vérifié avant les validateurs : une page d’erreur ne porte ni ETag ni Last-Modified
+            checkCursor(cursor);
+            if (isNotModified(webRequest)) {
+                return;
+            }
+
+            // Récupère une page de la liste synthétique des articles
+            ItemSummaryListDTO dto = itemService.getItemSummaryPage(cursor, resumeProperties.resolveLimit(limit));
 
-            // Transforme la liste en HTML via XSLT
-            String html = XsltTransformer.marshalAndTransform(dto, XsltFilePath.LIST.getPath());
-            return ResponseEntity.ok(html);
+            // Transforme la liste en HTML via XSLT, directement dans la réponse
+            response.setContentType(HTML_CONTENT_TYPE);
+            xsltTransformer.marshalAndTransform(dto, XsltFilePath.LIST, response.getOutputStream());
         } catch (Exception e) {
             log.error("Erreur XSLT liste résumée : {}", e.getMessage());
+            if (response.isCommitted()) {
+                // Une partie de la page a déjà été envoyée : impossible de la remplacer
+                return;
+            }
+            response.reset();
 
             // Prépare une réponse d’erreur en XML, puis transforme en HTML
             String messageErreur = "Erreur lors de la récupération de la liste résumée";
             XmlErrorResponseDTO error = new XmlErrorResponseDTO(null, messageErreur);
+            response.setContentType(HTML_CONTENT_TYPE);
 
             try {
-                String html = XsltTransformer.marshalAndTransform(error, XsltFilePath.ERROR.getPath());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(html);
+                String html = xsltTransformer.marshalAndTransform(error, XsltFilePath.ERROR);
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                response.getWriter().write(html);
             } catch (Exception ex) {
                 // Erreur critique secondaire (par exemple : problème avec le XSLT d'erreur lui-même)
                 log.error("Erreur critique lors de la transformation XSLT d’erreur : {}", ex.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body("<html><body><p>Erreur interne : " + ex.getMessage() + "</p></body></html>");
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                response.getWriter().write("<html><body><p>Erreur interne : " + ex.getMessage() + "</p></body></html>");
             }
         }
     }
@@ -116,25 +201,32 @@ public class ResumeController {
      * Sinon, un {@link XmlErrorResponseDTO} est retourné avec un statut "ERROR".
      * </p>
      *
-     * @param id identifiant de l’article à rechercher
-     * @return {@link ResponseEntity} contenant l’article ou une erreur au format XML
-     * @throws JAXBException en cas de problème lors de la sérialisation
+     * @param id         identifiant de l’article à rechercher
+     * @param webRequest requête courante, portant les en-têtes conditionnels
+     * @return {@link ResponseEntity} contenant l’article ou une erreur au format XML,
+     *         ou {@code null} si une réponse {@code 304 Not Modified} a été émise
+     * @throws Exception en cas de problème lors de la sérialisation
      *
      * <p><b>URL :</b> <code>/rss25SB/resume/xml/{id}</code></p>
      * <p><b>Méthode :</b> GET</p>
      * <p><b>Produit :</b> application/xml</p>
      */
     @GetMapping(value = "/xml/{id}", produces = MediaType.APPLICATION_XML_VALUE)
-    public ResponseEntity<String> getItemByIdAsXML(@PathVariable Long id) throws JAXBException {
+    public ResponseEntity<byte[]> getItemByIdAsXML(@PathVariable Long id, WebRequest webRequest) throws Exception {
         log.debug("GET /rss25SB/resume/xml/{} appelé", id);
 
-        // Recherche l’article par son identifiant
-        Optional<Item> itemOptional = itemService.getItemAsXmlById(id);
+        // Requête conditionnelle : 304 si le client possède déjà cette version
+        Optional<ResourceVersion> version = itemRenderService.version(id, Format.XML);
+        if (version.isPresent()
+                && webRequest.checkNotModified(version.get().getEtag(), version.get().getLastModified())) {
+            return null;
+        }
 
-        if (itemOptional.isPresent()) {
-            // Article trouvé : sérialisation en XML
-            String xml = XmlUtil.marshal(itemOptional.get());
-            return ResponseEntity.ok(xml);
+        // Rendu XML de l’article (depuis le cache des rendus lorsque c’est possible)
+        Optional<RenderedItem> xml = itemRenderService.render(id, Format.XML);
+
+        if (xml.isPresent()) {
+            return ResponseEntity.ok(xml.get().body());
         } else {
             // Article introuvable : retourne un message d’erreur XML
             String messageErreur = "Erreur lors de la récupération d’un flux rss25SB :\n" +
@@ -143,7 +235,31 @@ public class ResumeController {
 
             XmlErrorResponseDTO error = new XmlErrorResponseDTO(id, messageErreur);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                                 .body(XmlUtil.marshal(error));
+                                 .body(XmlUtil.marshal(error).getBytes(StandardCharsets.UTF_8));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Vérifie que le curseur transmis, s’il est présent, est bien formé.
+     *
+     * @param cursor curseur de la page suivante, ou {@code null} pour la première page
+     * @throws IllegalArgumentException si le curseur est mal formé
+     */
+    private static void checkCursor(String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            SummaryCursor.decode(cursor);
+        }
+    }
+
+    /**
+     * Évalue les en-têtes conditionnels de la requête au regard de la version
+     * courante du catalogue, et positionne {@code ETag} et {@code Last-Modified}.
+     *
+     * @param webRequest requête courante
+     * @return {@code true} si une réponse {@code 304 Not Modified} a été préparée
+     */
+    private boolean isNotModified(WebRequest webRequest) {
+        ResourceVersion version = catalogueVersion.current();
+        return webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+}
@@ -0,0 +1,74 @@
+package fr.univrouen.rss25SB.controllers;
+
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.service.RetentionService;
+import fr.univrouen.rss25SB.utils.XmlUtil;
+import jakarta.xml.bind.JAXBException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * Contrôleur REST exposant la rétention des articles.
+ * <ul>
+ *     <li><code>GET /rss25SB/retention/stats</code> : configuration, lignes purgées et durée des lots</li>
+ *     <li><code>POST /rss25SB/retention/purge</code> : déclenche immédiatement une purge</li>
+ * </ul>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see RetentionService
+ * @see RetentionStatsDTO
+ */
+@RestController
+@Slf4j
+@RequestMapping("/rss25SB")
+@RequiredArgsConstructor
+public class RetentionController {
+
+    /** Service de rétention. */
+    private final RetentionService retentionService;
+
+    /**
+     * Endpoint GET retournant l’état de la rétention au format XML.
+     *
+     * @return {@link ResponseEntity} contenant un flux XML {@code <retentionStats>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     *
+     * <p><b>Exemple d’appel :</b> {@code GET /rss25SB/retention/stats}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @GetMapping(value = "/retention/stats", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> getRetentionStats() throws JAXBException {
+        log.debug("GET /rss25SB/retention/stats appelé");
+        return ResponseEntity.ok(XmlUtil.marshal(retentionService.stats()));
+    }
+
+    /**
+     * Endpoint POST déclenchant une purge immédiate, y compris si la purge planifiée est désactivée.
+     * <ul>
+     *     <li>200 OK : bilan cumulé {@code <bulkDeleted>} de la purge</li>
+     *     <li>409 Conflict : une purge est déjà en cours</li>
+     * </ul>
+     *
+     * @return {@link ResponseEntity} contenant un flux XML {@code <bulkDeleted>} ou {@code <error>}
+     * @throws JAXBException si une erreur survient lors de la sérialisation XML
+     *
+     * <p><b>Exemple d’appel :</b> {@code POST /rss25SB/retention/purge}</p>
+     * <p><b>Type de retour :</b> {@code application/xml}
+     */
+    @PostMapping(value = "/retention/purge", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> purge() throws JAXBException {
+        log.debug("POST /rss25SB/retention/purge appelé");
+        Optional<BulkDeleteResponseDTO> summary = retentionService.purge();
+        if (summary.isEmpty()) {
+            XmlErrorResponseDTO error = new XmlErrorResponseDTO(null, "Une purge est déjà en cours.");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(XmlUtil.marshal(error));
+        }
+        return ResponseEntity.ok(XmlUtil.marshal(summary.get()));
+    }
+}
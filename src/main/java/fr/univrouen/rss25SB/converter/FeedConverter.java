@@ -0,0 +1,123 @@
+package fr.univrouen.rss25SB.converter;
+
+import fr.univrouen.rss25SB.model.xml.*;
+import fr.univrouen.rss25SB.utils.XmlUtil;
+
+import javax.xml.stream.*;
+import java.io.*;
+import java.time.DateTimeException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Point d’extension (SPI) des convertisseurs de flux externes vers le format {@code rss25SB}.
+ * <p>
+ * Toute implémentation déclarée comme bean Spring est découverte automatiquement par
+ * {@link FluxSourceSelector}. Chaque convertisseur annonce des <em>clés de détection</em>
+ * peu coûteuses à évaluer (voir {@link FeedSignature}) : élément racine, espace de noms,
+ * hôte du lien du canal ou générateur. Le sélecteur les indexe au démarrage et choisit
+ * un convertisseur par simple recherche dans une table, à partir des premiers
+ * kilo-octets du document.
+ * </p>
+ *
+ * <p>
+ * Ajouter une nouvelle source revient donc à ajouter une implémentation annotée
+ * {@code @Component}, sans modifier le sélecteur.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see FluxSourceSelector
+ * @see FeedSignature
+ */
+public interface FeedConverter {
+
+    /**
+     * Retourne le nom de la source prise en charge (utilisé dans les journaux).
+     *
+     * @return nom lisible du convertisseur
+     */
+    String getName();
+
+    /**
+     * Retourne les clés de détection de ce convertisseur, construites avec
+     * {@link FeedSignature#rootKey(String, String)}, {@link FeedSignature#namespaceKey(String)},
+     * {@link FeedSignature#hostKey(String)} ou {@link FeedSignature#generatorKey(String)}.
+     *
+     * @return clés identifiant les flux pris en charge
+     */
+    Set<String> getDetectionKeys();
+
+    /**
+     * Parcourt le document en une seule passe et transmet chaque article converti
+     * au consommateur, dans l’ordre du document, dès qu’il est complet.
+     *
+     * @param reader   lecteur StAX positionné au début du document (non fermé par cette méthode)
+     * @param consumer destinataire des articles convertis
+     * @return le nombre d’articles émis
+     * @throws XMLStreamException si le document est mal formé
+     * @throws DateTimeException si une date ne peut être interprétée
+     */
+    int stream(XMLStreamReader reader, Consumer<Item> consumer) throws XMLStreamException;
+
+    /**
+     * Parcourt un document lu depuis un flux d’octets et transmet chaque article converti.
+     * L’encodage est déterminé à partir du prologue XML.
+     *
+     * @param input    flux d’octets du document (non fermé par cette méthode)
+     * @param consumer destinataire des articles convertis
+     * @return le nombre d’articles émis
+     * @throws RuntimeException si une erreur de lecture ou de conversion survient
+     */
+    default int stream(InputStream input, Consumer<Item> consumer) {
+        XMLStreamReader reader = null;
+        try {
+            reader = XmlUtil.createStreamReader(input);
+            return stream(reader, consumer);
+        } catch (XMLStreamException | DateTimeException e) {
+            throw new RuntimeException("Échec de conversion du flux " + getName(), e);
+        } finally {
+            XmlUtil.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Convertit un document complet, lu depuis un flux d’octets, en objet {@link Feed}.
+     *
+     * @param input flux d’octets du document (non fermé par cette méthode)
+     * @return un objet {@link Feed} contenant la liste d’articles convertis
+     * @throws RuntimeException si une erreur de lecture ou de conversion survient
+     */
+    default Feed convert(InputStream input) {
+        List<Item> items = new ArrayList<>();
+        stream(input, items::add);
+
+        Feed feed = new Feed();
+        feed.setItem(items);
+        return feed;
+    }
+
+    /**
+     * Convertit un document complet, fourni sous forme de chaîne, en objet {@link Feed}.
+     *
+     * @param xmlContent contenu XML du document
+     * @return un objet {@link Feed} contenant la liste d’articles convertis
+     * @throws RuntimeException si une erreur de lecture ou de conversion survient
+     */
+    default Feed convert(String xmlContent) {
+        List<Item> items = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XmlUtil.createStreamReader(new StringReader(xmlContent));
+            stream(reader, items::add);
+        } catch (XMLStreamException | DateTimeException e) {
+            throw new RuntimeException("Échec de conversion du flux " + getName(), e);
+        } finally {
+            XmlUtil.closeQuietly(reader);
+        }
+
+        Feed feed = new Feed();
+        feed.setItem(items);
+        return feed;
+    }
+}
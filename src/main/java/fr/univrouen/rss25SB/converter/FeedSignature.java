@@ -0,0 +1,156 @@
+package fr.univrouen.rss25SB.converter;
+
+import lombok.*;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Signature d’un flux XML, extraite de ses premiers kilo-octets par {@link FeedSniffer} :
+ * élément racine (espace de noms et nom local), hôte du lien du canal et générateur.
+ * <p>
+ * Elle fournit les clés de recherche utilisées par {@link FluxSourceSelector},
+ * de la plus spécifique à la plus générale :
+ * </p>
+ * <ol>
+ *     <li>{@code generator:<nom>} : premier mot du générateur, en minuscules</li>
+ *     <li>{@code host:<hôte>} : hôte du lien du canal sans {@code www.}, puis ses domaines parents</li>
+ *     <li>{@code ns:<uri>} : espace de noms de l’élément racine</li>
+ *     <li>{@code root:<nom>} : élément racine, sous la forme {@code {uri}nom} s’il est qualifié</li>
+ * </ol>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see FeedConverter
+ */
+@Getter
+@AllArgsConstructor
+public class FeedSignature {
+
+    /** Espace de noms de l’élément racine (chaîne vide si aucun). */
+    private final String rootNamespace;
+
+    /** Nom local de l’élément racine, ou {@code null} si le document n’a pu être lu. */
+    private final String rootName;
+
+    /** Hôte du lien du canal (ex : {@code www.lemonde.fr}), ou {@code null}. */
+    private final String channelHost;
+
+    /** Texte de l’élément {@code <generator>} du canal, ou {@code null}. */
+    private final String generator;
+
+    /**
+     * Indique si l’élément racine correspond au nom qualifié donné.
+     *
+     * @param namespace espace de noms attendu
+     * @param localName nom local attendu
+     * @return {@code true} si la racine correspond
+     */
+    public boolean isRoot(String namespace, String localName) {
+        return Objects.equals(rootNamespace, namespace) && Objects.equals(rootName, localName);
+    }
+
+    /**
+     * Retourne les clés de recherche de ce flux, de la plus spécifique à la plus générale.
+     *
+     * @return liste ordonnée des clés
+     */
+    public List<String> lookupKeys() {
+        List<String> keys = new ArrayList<>();
+        if (generator != null && !generator.isBlank()) {
+            keys.add(generatorKey(generator));
+        }
+        if (channelHost != null && !channelHost.isBlank()) {
+            // ex : rss.lemonde.fr -> clés host:rss.lemonde.fr puis host:lemonde.fr
+            String host = normalizeHost(channelHost);
+            while (host.indexOf('.') > 0) {
+                keys.add("host:" + host);
+                host = host.substring(host.indexOf('.') + 1);
+            }
+        }
+        if (rootNamespace != null && !rootNamespace.isEmpty()) {
+            keys.add(namespaceKey(rootNamespace));
+        }
+        if (rootName != null) {
+            keys.add(rootKey(rootNamespace, rootName));
+        }
+        return keys;
+    }
+
+    /**
+     * Construit une clé de détection sur l’élément racine.
+     *
+     * @param namespace espace de noms de la racine ({@code null} ou vide si aucun)
+     * @param localName nom local de la racine
+     * @return la clé {@code root:...}
+     */
+    public static String rootKey(String namespace, String localName) {
+        return (namespace == null || namespace.isEmpty())
+            ? "root:" + localName
+            : "root:{" + namespace + "}" + localName;
+    }
+
+    /**
+     * Construit une clé de détection sur l’espace de noms de la racine.
+     *
+     * @param namespace URI de l’espace de noms
+     * @return la clé {@code ns:...}
+     */
+    public static String namespaceKey(String namespace) {
+        return "ns:" + namespace;
+    }
+
+    /**
+     * Construit une clé de détection sur l’hôte du lien du canal.
+     * Un hôte couvre aussi ses sous-domaines.
+     *
+     * @param host nom d’hôte (ex : {@code lemonde.fr})
+     * @return la clé {@code host:...}
+     */
+    public static String hostKey(String host) {
+        return "host:" + normalizeHost(host);
+    }
+
+    /**
+     * Construit une clé de détection sur le générateur du flux.
+     * Seul le premier mot, en minuscules, est retenu (les numéros de version sont ignorés).
+     *
+     * @param generator texte du générateur (ex : {@code WordPress 6.4})
+     * @return la clé {@code generator:...}
+     */
+    public static String generatorKey(String generator) {
+        String trimmed = generator.trim().toLowerCase(Locale.ROOT);
+        int space = trimmed.indexOf(' ');
+        return "generator:" + (space > 0 ? trimmed.substring(0, space) : trimmed);
+    }
+
+    /**
+     * Extrait l’hôte d’une URL, ou {@code null} si elle est invalide.
+     *
+     * @param url URL absolue
+     * @return l’hôte de l’URL
+     */
+    public static String hostOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return URI.create(url.trim()).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Met un nom d’hôte en minuscules et retire le préfixe {@code www.}.
+     */
+    private static String normalizeHost(String host) {
+        String normalized = host.trim().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("www.") ? normalized.substring(4) : normalized;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedSignature" + lookupKeys();
+    }
+}
@@ -0,0 +1,160 @@
+package fr.univrouen.rss25SB.converter;
+
+import fr.univrouen.rss25SB.utils.XmlUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.stream.*;
+import java.io.*;
+
+/**
+ * Analyse rapide (« sniffing ») du début d’un document XML afin d’en extraire la
+ * {@link FeedSignature}, sans lire ni valider le document complet.
+ * <p>
+ * Seuls les {@value #SNIFF_LIMIT} premiers octets sont examinés avec StAX :
+ * l’élément racine, puis, dans l’en-tête du canal (RSS) ou du flux (Atom), le lien
+ * principal et le générateur. L’analyse s’arrête au premier article
+ * ({@code <item>} ou {@code <entry>}) ; un document tronqué par la limite n’est pas une erreur.
+ * </p>
+ *
+ * <p>
+ * Le flux doit supporter {@link InputStream#mark(int)} :
+ * il est replacé à sa position initiale après l’analyse, et peut ensuite être lu
+ * intégralement par le convertisseur choisi.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see FeedSignature
+ */
+@Slf4j
+public final class FeedSniffer {
+
+    /** Nombre maximal d’octets examinés en début de document. */
+    public static final int SNIFF_LIMIT = 8 * 1024;
+
+    /** Espace de noms Atom 1.0. */
+    public static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+
+    /**
+     * Constructeur privé pour empêcher l’instanciation de cette classe utilitaire.
+     */
+    private FeedSniffer() {
+
+    }
+
+    /**
+     * Analyse le début d’un flux d’octets, puis le replace à sa position initiale.
+     *
+     * @param input flux supportant {@link InputStream#mark(int)}
+     * @return la signature du document
+     * @throws IOException si la lecture du flux échoue
+     * @throws IllegalArgumentException si le flux ne supporte pas {@code mark/reset}
+     */
+    public static FeedSignature sniff(InputStream input) throws IOException {
+        if (!input.markSupported()) {
+            throw new IllegalArgumentException("Le flux doit supporter mark/reset (BufferedInputStream)");
+        }
+
+        input.mark(SNIFF_LIMIT);
+        byte[] prefix = input.readNBytes(SNIFF_LIMIT);
+        input.reset();
+
+        XMLStreamReader reader = null;
+        try {
+            reader = XmlUtil.createStreamReader(new ByteArrayInputStream(prefix));
+            return sniff(reader);
+        } catch (XMLStreamException e) {
+            log.debug("Prologue XML illisible : {}", e.getMessage());
+            return new FeedSignature("", null, null, null);
+        } finally {
+            XmlUtil.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Parcourt l’en-tête du document jusqu’au premier article ou jusqu’à la fin du préfixe.
+     *
+     * @param reader lecteur positionné au début du préfixe
+     * @return la signature extraite (partielle si le préfixe est tronqué ou mal formé)
+     */
+    private static FeedSignature sniff(XMLStreamReader reader) {
+        String rootNamespace = "";
+        String rootName = null;
+        String host = null;
+        String generator = null;
+
+        int depth = 0;
+        String parent = null;
+        String capturing = null;
+        StringBuilder text = new StringBuilder();
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String name = reader.getLocalName();
+                    if (depth == 1) {
+                        rootName = name;
+                        rootNamespace = nullToEmpty(reader.getNamespaceURI());
+                    } else if ("item".equals(name) || "entry".equals(name)) {
+                        break;
+                    } else if (isHeaderChild(depth, parent, rootNamespace, reader)) {
+                        if ("generator".equals(name) && generator == null) {
+                            capturing = name;
+                        } else if ("link".equals(name) && host == null) {
+                            // Atom : <link href="..."/> ; RSS : <link>...</link>
+                            String href = reader.getAttributeValue(null, "href");
+                            String rel = reader.getAttributeValue(null, "rel");
+                            if (href != null) {
+                                host = (rel == null || "alternate".equals(rel)) ? FeedSignature.hostOf(href) : null;
+                            } else {
+                                capturing = name;
+                            }
+                        }
+                        text.setLength(0);
+                    }
+                    parent = (depth <= 2) ? name : parent;
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (capturing != null) {
+                        text.append(reader.getText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (capturing != null && capturing.equals(reader.getLocalName())) {
+                        if ("generator".equals(capturing)) {
+                            generator = text.toString().trim();
+                        } else {
+                            host = FeedSignature.hostOf(text.toString());
+                        }
+                        capturing = null;
+                    }
+                    depth--;
+                }
+            }
+        } catch (XMLStreamException e) {
+            // Fin du préfixe atteinte au milieu d'une balise : la signature reste exploitable
+            log.trace("Analyse du préfixe interrompue : {}", e.getMessage());
+        }
+
+        FeedSignature signature = new FeedSignature(rootNamespace, rootName, host, generator);
+        log.debug("Signature du flux : {}", signature);
+        return signature;
+    }
+
+    /**
+     * Indique si l’élément courant appartient à l’en-tête du flux :
+     * enfant de {@code <channel>} (RSS 2.0 / 1.0) ou enfant direct de la racine Atom.
+     */
+    private static boolean isHeaderChild(int depth, String parent, String rootNamespace, XMLStreamReader reader) {
+        if (depth == 3 && "channel".equals(parent)) {
+            return true;
+        }
+        return depth == 2 && ATOM_NS.equals(rootNamespace) && ATOM_NS.equals(reader.getNamespaceURI());
+    }
+
+    /**
+     * Remplace {@code null} par la chaîne vide.
+     */
+    private static String nullToEmpty(String value) {
+        return (value == null) ? "" : value;
+    }
+}
@@ -1,53 +1,69 @@
 package fr.univrouen.rss25SB.converter;
 
-import fr.univrouen.rss25SB.converter.sources.LeMondeFluxConverter;
-import fr.univrouen.rss25SB.model.xml.Feed;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+
 /**
- * Composant chargé d’identifier la source d’un flux RSS externe (non conforme au format {@code rss25SB})
- * et de déléguer sa conversion à un convertisseur spécifique.
+ * Registre des convertisseurs de flux externes (non conformes au format {@code rss25SB}).
+ * Il identifie la source d’un flux et délègue sa conversion au {@link FeedConverter} adapté.
  * <p>
- * Ce sélecteur agit comme un point d’entrée unique pour la détection et la transformation de flux
- * provenant de plateformes tierces telles que Le Monde, AFP, etc.
+ * Tous les beans {@link FeedConverter} sont découverts par Spring et indexés au démarrage
+ * selon leurs clés de détection. Pour un flux donné, seuls les premiers kilo-octets sont
+ * analysés ({@link FeedSniffer}) ; les clés de sa {@link FeedSignature} sont ensuite
+ * recherchées dans l’index, de la plus spécifique (générateur, hôte) à la plus générale
+ * (espace de noms, élément racine). La sélection ne dépend donc ni de la taille du flux,
+ * ni du nombre de convertisseurs. La lecture et la conversion du flux restent à la charge
+ * de l’appelant (voir {@code FeedIngestService}).
  * </p>
  *
  * @author Matisse SENECHAL
- * @version 1.0
- * @see LeMondeFluxConverter
+ * @version 2.2
+ * @see FeedConverter
+ * @see FeedSniffer
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class FluxSourceSelector {
 
+    /** Convertisseurs indexés par clé de détection. */
+    private final Map<String, FeedConverter> convertersByKey = new HashMap<>();
+
     /**
-     * Convertisseur dédié aux flux RSS provenant du site {@code lemonde.fr}.
-     * Utilisé pour transformer automatiquement un flux Le Monde en un flux {@link Feed} conforme.
+     * Construit le registre à partir de tous les convertisseurs déclarés.
+     *
+     * @param converters convertisseurs découverts par Spring
+     * @throws IllegalStateException si deux convertisseurs déclarent la même clé
      */
-    private final LeMondeFluxConverter leMondeFluxConverter;
+    public FluxSourceSelector(List<FeedConverter> converters) {
+        for (FeedConverter converter : converters) {
+            for (String key : converter.getDetectionKeys()) {
+                FeedConverter previous = convertersByKey.putIfAbsent(key, converter);
+                if (previous != null) {
+                    throw new IllegalStateException("Clé de détection « " + key + " » déclarée par "
+                        + previous.getName() + " et " + converter.getName());
+                }
+            }
+        }
+        log.info("{} convertisseur(s) de flux enregistré(s) : {}", converters.size(), convertersByKey.keySet());
+    }
 
     /**
-     * Analyse un flux RSS brut et sélectionne dynamiquement un convertisseur adapté à sa source.
+     * Sélectionne le convertisseur correspondant à une signature de flux.
      *
-     * @param rawXml le contenu brut du flux XML externe à convertir
-     * @return un objet {@link Feed} conforme au format {@code rss25SB}
-     * @throws UnsupportedOperationException si la source du flux est inconnue ou non gérée
+     * @param signature signature extraite du début du flux
+     * @return le convertisseur le plus spécifique, ou {@link Optional#empty()} si aucun ne correspond
      */
-    public Feed convert(String rawXml) {
-        log.debug("FluxSourceSelector.convert() appelé, taille du XML = {} caractères", rawXml.length());
-        if (rawXml.contains("lemonde.fr")) {
-            log.debug("Source détectée : LeMonde.fr -> utilisation de LeMondeFluxConverter");
-            Feed feed = leMondeFluxConverter.convert(rawXml);
-            log.debug("Conversion via LeMondeFluxConverter réussie, {} articles obtenus", feed.getItem().size());
-            return feed;
+    public Optional<FeedConverter> select(FeedSignature signature) {
+        for (String key : signature.lookupKeys()) {
+            FeedConverter converter = convertersByKey.get(key);
+            if (converter != null) {
+                log.debug("Source détectée via « {} » -> {}", key, converter.getName());
+                return Optional.of(converter);
+            }
         }
-
-        String err = "Flux source non reconnu ou non supporté.";
-        log.warn("FluxSourceSelector.convert() : {}", err);
-        throw new UnsupportedOperationException(err);
+        return Optional.empty();
     }
-}
\ No newline at end of file
+}
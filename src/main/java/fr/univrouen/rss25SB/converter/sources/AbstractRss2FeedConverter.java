@@ -0,0 +1,270 @@
+package fr.univrouen.rss25SB.converter.sources;
+
+import fr.univrouen.rss25SB.converter.FeedConverter;
+import fr.univrouen.rss25SB.model.xml.*;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.*;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Base commune des convertisseurs de flux RSS 2.0, reposant sur une lecture StAX en une passe.
+ * <p>
+ * Chaque élément <code>&lt;item&gt;</code> est lu dans un {@link RssItem} (première occurrence
+ * de chaque balise, catégories, auteurs {@code dc:creator}, premier {@code media:content}),
+ * puis converti par {@link #toItem(RssItem, String)} et émis immédiatement.
+ * Seul l’article en cours de lecture est conservé en mémoire.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see LeMondeFluxConverter
+ * @see GenericRss2FeedConverter
+ */
+@Slf4j
+public abstract class AbstractRss2FeedConverter implements FeedConverter {
+
+    /** Espace de noms Media RSS (balises <code>&lt;media:*&gt;</code>). */
+    private static final String MEDIA_NS = "http://search.yahoo.com/mrss/";
+
+    /** Préfixe usuel des balises Media RSS. */
+    private static final String MEDIA_PREFIX = "media";
+
+    /** Espace de noms Dublin Core (balise <code>&lt;dc:creator&gt;</code>). */
+    private static final String DC_NS = "http://purl.org/dc/elements/1.1/";
+
+    /** Type d’image attribué aux visuels {@code media:content}. */
+    protected static final String DEFAULT_IMAGE_TYPE = "image/JPEG";
+
+    /** Longueur (en octets) attribuée à une image dont les dimensions sont inconnues. */
+    private static final int DEFAULT_IMAGE_LENGTH = 50000;
+
+    /**
+     * Convertit un article RSS lu dans le flux en objet {@link Item}.
+     *
+     * @param rssItem      champs extraits de l’élément <code>&lt;item&gt;</code>
+     * @param channelTitle titre du canal, ou {@code null} s’il n’a pas été trouvé
+     * @return l’article converti
+     */
+    protected abstract Item toItem(RssItem rssItem, String channelTitle);
+
+    /**
+     * Retourne le texte alternatif attribué à une image sans {@code media:description}.
+     *
+     * @return texte alternatif par défaut
+     */
+    protected abstract String getDefaultImageAlt();
+
+    @Override
+    public int stream(XMLStreamReader reader, Consumer<Item> consumer) throws XMLStreamException {
+        int count = 0;
+        int depth = 0;
+        String channelTitle = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isRss(reader, "item")) {
+                    // readItem consomme l'élément jusqu'à sa balise fermante
+                    consumer.accept(toItem(readItem(reader), channelTitle));
+                    count++;
+                } else if (depth == 2 && channelTitle == null && isRss(reader, "title")) {
+                    channelTitle = readText(reader);
+                } else {
+                    depth++;
+                }
+            }
+        }
+        log.debug("{} : {} éléments <item> convertis", getName(), count);
+        return count;
+    }
+
+    /**
+     * Lit un élément <code>&lt;item&gt;</code> complet. Comme pour une recherche par nom
+     * de balise, seule la première occurrence de chaque champ simple est retenue.
+     *
+     * @param reader lecteur positionné sur la balise ouvrante <code>&lt;item&gt;</code> ;
+     *               il est laissé sur la balise fermante correspondante
+     * @return les champs extraits
+     * @throws XMLStreamException si le document est mal formé
+     */
+    private RssItem readItem(XMLStreamReader reader) throws XMLStreamException {
+        RssItem rssItem = new RssItem();
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                // Les méthodes read* consomment l'élément jusqu'à sa balise fermante
+                if (isMedia(reader, "content")) {
+                    Image media = readImage(reader);
+                    rssItem.image = (rssItem.image == null) ? media : rssItem.image;
+                } else if (isRss(reader, "category")) {
+                    rssItem.categories.add(readText(reader));
+                } else if ("creator".equals(reader.getLocalName()) && DC_NS.equals(reader.getNamespaceURI())) {
+                    rssItem.creators.add(readText(reader));
+                } else if (isUnprefixed(reader) && !rssItem.fields.containsKey(reader.getLocalName())) {
+                    String name = reader.getLocalName();
+                    rssItem.fields.put(name, readText(reader));
+                } else {
+                    depth++;
+                }
+            }
+        }
+        return rssItem;
+    }
+
+    /**
+     * Extrait les données d’une image à partir d’un élément <code>&lt;media:content&gt;</code>.
+     *
+     * @param reader lecteur positionné sur la balise ouvrante <code>&lt;media:content&gt;</code> ;
+     *               il est laissé sur la balise fermante correspondante
+     * @return un objet {@link Image} construit à partir des attributs et de la description
+     * @throws XMLStreamException si le document est mal formé
+     */
+    private Image readImage(XMLStreamReader reader) throws XMLStreamException {
+        Image image = new Image();
+        image.setHref(Objects.requireNonNullElse(reader.getAttributeValue(null, "url"), ""));
+        image.setType(DEFAULT_IMAGE_TYPE);
+
+        // Estimation de la longueur en octets si width et height présents
+        try {
+            int width = Integer.parseInt(reader.getAttributeValue(null, "width"));
+            int height = Integer.parseInt(reader.getAttributeValue(null, "height"));
+            int estimatedLength = width * height * 3;
+            image.setLength(estimatedLength);
+        } catch (NumberFormatException e) {
+            log.warn("Attributs width/height absents ou invalides. Valeur length par défaut utilisée.");
+            image.setLength(DEFAULT_IMAGE_LENGTH);
+        }
+
+        // Recherche d'une <media:description> parmi les descendants
+        String alt = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                if (alt == null && isMedia(reader, "description")) {
+                    alt = readText(reader);
+                } else {
+                    depth++;
+                }
+            }
+        }
+        image.setAlt(alt != null ? alt : getDefaultImageAlt());
+
+        return image;
+    }
+
+    /**
+     * Interprète une date RSS (RFC 1123), en ignorant les valeurs absentes ou vides.
+     *
+     * @param value texte de la date
+     * @return la date, ou {@code null} si absente
+     * @throws java.time.format.DateTimeParseException si la date est mal formée
+     */
+    protected static OffsetDateTime parseDate(String value) {
+        return (value == null || value.isBlank())
+            ? null
+            : OffsetDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+
+    /**
+     * Lit l’ensemble du contenu textuel (texte et sections CDATA, descendants compris)
+     * de l’élément courant.
+     *
+     * @param reader lecteur positionné sur une balise ouvrante ;
+     *               il est laissé sur la balise fermante correspondante
+     * @return le texte sans espaces de début et de fin
+     * @throws XMLStreamException si le document est mal formé
+     */
+    protected static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                    text.append(reader.getText());
+                default -> {
+                    // commentaires et instructions de traitement ignorés
+                }
+            }
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * Indique si l’élément courant est une balise RSS (sans préfixe) du nom donné.
+     */
+    private static boolean isRss(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName()) && isUnprefixed(reader);
+    }
+
+    /**
+     * Indique si le nom qualifié de l’élément courant ne porte pas de préfixe.
+     */
+    private static boolean isUnprefixed(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.equals(XMLConstants.DEFAULT_NS_PREFIX);
+    }
+
+    /**
+     * Indique si l’élément courant est une balise Media RSS du nom donné.
+     */
+    private static boolean isMedia(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName())
+            && (MEDIA_NS.equals(reader.getNamespaceURI()) || MEDIA_PREFIX.equals(reader.getPrefix()));
+    }
+
+    /**
+     * Champs extraits d’un élément <code>&lt;item&gt;</code> RSS 2.0.
+     */
+    protected static final class RssItem {
+
+        /** Texte de la première occurrence de chaque balise RSS simple, indexé par nom. */
+        private final Map<String, String> fields = new HashMap<>();
+
+        /** Textes des balises <code>&lt;category&gt;</code>, dans l’ordre du document. */
+        private final List<String> categories = new ArrayList<>();
+
+        /** Textes des balises <code>&lt;dc:creator&gt;</code>, dans l’ordre du document. */
+        private final List<String> creators = new ArrayList<>();
+
+        /** Image issue du premier <code>&lt;media:content&gt;</code>, ou {@code null}. */
+        private Image image;
+
+        /**
+         * @param name nom local d’une balise RSS sans préfixe (ex : {@code title})
+         * @return le texte de sa première occurrence, ou {@code null}
+         */
+        public String field(String name) {
+            return fields.get(name);
+        }
+
+        /** @return les catégories de l’article */
+        public List<String> categories() {
+            return categories;
+        }
+
+        /** @return les auteurs Dublin Core de l’article */
+        public List<String> creators() {
+            return creators;
+        }
+
+        /** @return l’image de l’article, ou {@code null} */
+        public Image image() {
+            return image;
+        }
+    }
+}
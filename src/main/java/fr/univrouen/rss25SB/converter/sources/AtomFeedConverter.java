@@ -0,0 +1,242 @@
+package fr.univrouen.rss25SB.converter.sources;
+
+import fr.univrouen.rss25SB.converter.*;
+import fr.univrouen.rss25SB.model.xml.*;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.*;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Convertisseur des flux Atom 1.0 (espace de noms {@code http://www.w3.org/2005/Atom})
+ * vers le format rss25SB, par lecture StAX en une passe.
+ *
+ * <p>Correspondances appliquées à chaque <code>&lt;entry&gt;</code> :</p>
+ * <ul>
+ *     <li>{@code guid} : <code>&lt;id&gt;</code> ; {@code title} : <code>&lt;title&gt;</code></li>
+ *     <li>{@code published} / {@code updated} : dates RFC 3339 correspondantes</li>
+ *     <li>{@code content} : <code>&lt;content&gt;</code>, ou à défaut <code>&lt;summary&gt;</code></li>
+ *     <li>{@code category} : attribut {@code term} de chaque <code>&lt;category&gt;</code></li>
+ *     <li>{@code author} / {@code contributor} : éléments homonymes ; à défaut, auteurs du flux
+ *         puis titre du flux</li>
+ *     <li>{@code image} : premier <code>&lt;link rel="enclosure"&gt;</code> de type {@code image/*}</li>
+ * </ul>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class AtomFeedConverter implements FeedConverter {
+
+    /** Catégorie attribuée aux articles qui n’en déclarent aucune. */
+    private static final String DEFAULT_CATEGORY = "Actualités";
+
+    /** Auteur attribué lorsque ni l’article ni le flux n’en fournissent. */
+    private static final String DEFAULT_AUTHOR = "Rédaction";
+
+    @Override
+    public String getName() {
+        return "Atom 1.0";
+    }
+
+    @Override
+    public Set<String> getDetectionKeys() {
+        return Set.of(FeedSignature.namespaceKey(FeedSniffer.ATOM_NS));
+    }
+
+    @Override
+    public int stream(XMLStreamReader reader, Consumer<Item> consumer) throws XMLStreamException {
+        int count = 0;
+        int depth = 0;
+        String feedTitle = null;
+        List<Author> feedAuthors = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                // Les méthodes read* consomment l'élément jusqu'à sa balise fermante
+                if (isAtom(reader, "entry")) {
+                    Item item = readEntry(reader);
+                    if (item.getAuthorOrContributor().isEmpty()) {
+                        item.getAuthorOrContributor().addAll(feedAuthors.isEmpty()
+                            ? List.of(person(new Author(), Objects.requireNonNullElse(feedTitle, DEFAULT_AUTHOR), null, null))
+                            : feedAuthors);
+                    }
+                    consumer.accept(item);
+                    count++;
+                } else if (depth == 1 && feedTitle == null && isAtom(reader, "title")) {
+                    feedTitle = AbstractRss2FeedConverter.readText(reader);
+                } else if (depth == 1 && isAtom(reader, "author")) {
+                    feedAuthors.add(readPerson(reader, new Author()));
+                } else {
+                    depth++;
+                }
+            }
+        }
+        log.debug("{} : {} éléments <entry> convertis", getName(), count);
+        return count;
+    }
+
+    /**
+     * Lit un élément <code>&lt;entry&gt;</code> complet et le convertit en {@link Item}.
+     *
+     * @param reader lecteur positionné sur la balise ouvrante ; laissé sur la balise fermante
+     * @return l’article converti (sans auteur si l’entrée n’en déclare aucun)
+     * @throws XMLStreamException si le document est mal formé
+     */
+    private Item readEntry(XMLStreamReader reader) throws XMLStreamException {
+        Item item = new Item();
+        Content content = null;
+        Content summary = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth > 1 || !FeedSniffer.ATOM_NS.equals(reader.getNamespaceURI())) {
+                    depth++;
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "id" -> item.setGuid(AbstractRss2FeedConverter.readText(reader));
+                    case "title" -> item.setTitle(AbstractRss2FeedConverter.readText(reader));
+                    case "published" -> item.setPublished(parseDate(AbstractRss2FeedConverter.readText(reader)));
+                    case "updated" -> item.setUpdated(parseDate(AbstractRss2FeedConverter.readText(reader)));
+                    case "content" -> content = readContent(reader);
+                    case "summary" -> summary = readContent(reader);
+                    case "category" -> {
+                        String term = reader.getAttributeValue(null, "term");
+                        if (term != null && !term.isBlank()) {
+                            Category category = new Category();
+                            category.setTerm(term);
+                            item.getCategory().add(category);
+                        }
+                        depth++;
+                    }
+                    case "link" -> {
+                        if (item.getImage() == null) {
+                            item.setImage(toImage(reader, item));
+                        }
+                        depth++;
+                    }
+                    case "author" -> item.getAuthorOrContributor().add(readPerson(reader, new Author()));
+                    case "contributor" -> item.getAuthorOrContributor().add(readPerson(reader, new Contributor()));
+                    default -> depth++;
+                }
+            }
+        }
+
+        item.setContent(content != null ? content : summary);
+        if (item.getCategory().isEmpty()) {
+            Category category = new Category();
+            category.setTerm(DEFAULT_CATEGORY);
+            item.getCategory().add(category);
+        }
+
+        log.debug("Entrée convertie : title='{}', guid='{}'", item.getTitle(), item.getGuid());
+        return item;
+    }
+
+    /**
+     * Lit un élément <code>&lt;content&gt;</code> ou <code>&lt;summary&gt;</code>.
+     * Les types {@code html} et {@code xhtml} sont rendus en {@code html}, les autres en {@code text}.
+     */
+    private static Content readContent(XMLStreamReader reader) throws XMLStreamException {
+        String type = reader.getAttributeValue(null, "type");
+        String src = reader.getAttributeValue(null, "src");
+        String text = AbstractRss2FeedConverter.readText(reader);
+
+        Content content = new Content();
+        content.setType("html".equals(type) || "xhtml".equals(type) ? "html" : "text");
+        content.setSrc(src != null ? src : text);
+        return content;
+    }
+
+    /**
+     * Construit l’image d’un lien {@code rel="enclosure"} de type {@code image/*}.
+     *
+     * @return l’image, ou {@code null} si le lien n’est pas une image jointe
+     */
+    private static Image toImage(XMLStreamReader reader, Item item) {
+        String type = reader.getAttributeValue(null, "type");
+        if (!"enclosure".equals(reader.getAttributeValue(null, "rel"))
+                || type == null || !type.startsWith("image/")) {
+            return null;
+        }
+
+        Image image = new Image();
+        image.setHref(reader.getAttributeValue(null, "href"));
+        image.setType("image/" + type.substring("image/".length()).toUpperCase(Locale.ROOT));
+        image.setAlt(Objects.requireNonNullElse(reader.getAttributeValue(null, "title"),
+            Objects.requireNonNullElse(item.getTitle(), "")));
+        try {
+            image.setLength(Integer.valueOf(reader.getAttributeValue(null, "length")));
+        } catch (NumberFormatException e) {
+            log.debug("Longueur d'image absente ou invalide");
+        }
+        return image;
+    }
+
+    /**
+     * Lit une personne Atom ({@code name}, {@code email}, {@code uri}) dans un auteur ou un contributeur.
+     */
+    private static <T> T readPerson(XMLStreamReader reader, T person) throws XMLStreamException {
+        String name = null;
+        String email = null;
+        String uri = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "name" -> name = AbstractRss2FeedConverter.readText(reader);
+                    case "email" -> email = AbstractRss2FeedConverter.readText(reader);
+                    case "uri" -> uri = AbstractRss2FeedConverter.readText(reader);
+                    default -> depth++;
+                }
+            }
+        }
+        return person(person, Objects.requireNonNullElse(name, DEFAULT_AUTHOR), email, uri);
+    }
+
+    /**
+     * Renseigne un auteur ou un contributeur.
+     */
+    private static <T> T person(T person, String name, String email, String uri) {
+        if (person instanceof Author author) {
+            author.setName(name);
+            author.setEmail(email);
+            author.setUri(uri);
+        } else if (person instanceof Contributor contributor) {
+            contributor.setName(name);
+            contributor.setEmail(email);
+            contributor.setUri(uri);
+        }
+        return person;
+    }
+
+    /**
+     * Interprète une date Atom (RFC 3339), en ignorant les valeurs vides.
+     */
+    private static OffsetDateTime parseDate(String value) {
+        return (value == null || value.isBlank()) ? null : OffsetDateTime.parse(value);
+    }
+
+    /**
+     * Indique si l’élément courant est une balise Atom du nom donné.
+     */
+    private static boolean isAtom(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName()) && FeedSniffer.ATOM_NS.equals(reader.getNamespaceURI());
+    }
+}
@@ -0,0 +1,136 @@
+package fr.univrouen.rss25SB.converter.sources;
+
+import fr.univrouen.rss25SB.converter.FeedSignature;
+import fr.univrouen.rss25SB.model.xml.*;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.*;
+
+/**
+ * Convertisseur générique pour tout flux RSS 2.0 (racine <code>&lt;rss&gt;</code>)
+ * ne disposant pas d’un convertisseur dédié (France Info, blogs, agrégateurs...).
+ *
+ * <p>Correspondances appliquées à chaque <code>&lt;item&gt;</code> :</p>
+ * <ul>
+ *     <li>{@code guid} : <code>&lt;guid&gt;</code>, ou à défaut <code>&lt;link&gt;</code></li>
+ *     <li>{@code published} : <code>&lt;pubDate&gt;</code> (RFC 1123)</li>
+ *     <li>{@code content} : <code>&lt;description&gt;</code></li>
+ *     <li>{@code category} : chaque <code>&lt;category&gt;</code>, ou « Actualités » si aucune</li>
+ *     <li>{@code author} : <code>&lt;author&gt;</code> (forme {@code email (Nom)}), chaque
+ *         <code>&lt;dc:creator&gt;</code>, ou à défaut le titre du canal</li>
+ *     <li>{@code image} : premier <code>&lt;media:content&gt;</code></li>
+ * </ul>
+ *
+ * <p>
+ * Il s’agit du convertisseur de repli : sa seule clé de détection est l’élément racine,
+ * consultée après les clés plus spécifiques (générateur, hôte, espace de noms).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class GenericRss2FeedConverter extends AbstractRss2FeedConverter {
+
+    /** Texte alternatif utilisé par défaut pour l’image. */
+    private static final String DEFAULT_IMAGE_ALT = "Illustration";
+
+    /** Catégorie attribuée aux articles qui n’en déclarent aucune. */
+    private static final String DEFAULT_CATEGORY = "Actualités";
+
+    /** Auteur attribué lorsque ni l’article ni le canal n’en fournissent. */
+    private static final String DEFAULT_AUTHOR = "Rédaction";
+
+    /** Forme RSS 2.0 de l’auteur : {@code email (Nom)}. */
+    private static final Pattern RSS_AUTHOR = Pattern.compile("^\\s*(\\S+@\\S+)\\s*(?:\\((.*)\\))?\\s*$");
+
+    @Override
+    public String getName() {
+        return "RSS 2.0 générique";
+    }
+
+    @Override
+    public Set<String> getDetectionKeys() {
+        return Set.of(FeedSignature.rootKey(null, "rss"));
+    }
+
+    @Override
+    protected String getDefaultImageAlt() {
+        return DEFAULT_IMAGE_ALT;
+    }
+
+    @Override
+    protected Item toItem(RssItem rssItem, String channelTitle) {
+        Item item = new Item();
+
+        item.setTitle(rssItem.field("title"));
+        String guid = rssItem.field("guid");
+        item.setGuid((guid != null && !guid.isBlank()) ? guid : rssItem.field("link"));
+        item.setPublished(parseDate(rssItem.field("pubDate")));
+        if (item.getPublished() == null) {
+            log.warn("Aucune date <pubDate> trouvée pour l’article {}", item.getGuid());
+        }
+
+        Content content = new Content();
+        content.setType("text");
+        content.setSrc(rssItem.field("description"));
+        item.setContent(content);
+
+        if (rssItem.image() != null) {
+            item.setImage(rssItem.image());
+        }
+
+        // Catégories déclarées, ou catégorie par défaut
+        List<String> terms = rssItem.categories().isEmpty() ? List.of(DEFAULT_CATEGORY) : rssItem.categories();
+        for (String term : terms) {
+            Category category = new Category();
+            category.setTerm(term);
+            item.getCategory().add(category);
+        }
+
+        // Auteurs : <author>, puis <dc:creator>, puis titre du canal
+        String rssAuthor = rssItem.field("author");
+        if (rssAuthor != null && !rssAuthor.isBlank()) {
+            item.getAuthorOrContributor().add(parseRssAuthor(rssAuthor));
+        }
+        for (String creator : rssItem.creators()) {
+            item.getAuthorOrContributor().add(author(creator, null));
+        }
+        if (item.getAuthorOrContributor().isEmpty()) {
+            item.getAuthorOrContributor().add(author(channelTitle != null ? channelTitle : DEFAULT_AUTHOR, null));
+        }
+
+        log.debug("Item converti : title='{}', guid='{}'", item.getTitle(), item.getGuid());
+        return item;
+    }
+
+    /**
+     * Interprète un auteur RSS 2.0 ({@code jean@exemple.fr (Jean Dupont)}).
+     * Une valeur qui n’est pas une adresse email est utilisée comme nom.
+     *
+     * @param value texte de la balise <code>&lt;author&gt;</code>
+     * @return l’auteur correspondant
+     */
+    private static Author parseRssAuthor(String value) {
+        Matcher matcher = RSS_AUTHOR.matcher(value);
+        if (!matcher.matches()) {
+            return author(value, null);
+        }
+        String name = matcher.group(2);
+        return author((name != null && !name.isBlank()) ? name.trim() : matcher.group(1), matcher.group(1));
+    }
+
+    /**
+     * Construit un auteur.
+     */
+    private static Author author(String name, String email) {
+        Author author = new Author();
+        author.setName(name);
+        author.setEmail(email);
+        return author;
+    }
+}
@@ -1,36 +1,35 @@
 package fr.univrouen.rss25SB.converter.sources;
 
+import fr.univrouen.rss25SB.converter.FeedSignature;
 import fr.univrouen.rss25SB.model.xml.*;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.*;
 
-import javax.xml.parsers.*;
-import java.io.StringReader;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import org.xml.sax.InputSource;
 
 /**
  * Convertisseur spécifique pour transformer un flux RSS 2.0 émis par le site LeMonde.fr
  * en un objet {@link Feed} conforme au format personnalisé rss25SB.
  *
  * <p>
- * Ce convertisseur analyse le XML brut, extrait les balises pertinentes de chaque élément
- * <code>&lt;item&gt;</code> du flux RSS (titre, description, date, guid, image...), puis
- * les mappe dans le modèle de données XML utilisé dans le projet.
+ * Ce convertisseur lit le XML en flux (voir {@link AbstractRss2FeedConverter}), extrait les
+ * balises pertinentes de chaque élément <code>&lt;item&gt;</code> du flux RSS (titre, description,
+ * date, guid, image...), puis les mappe dans le modèle de données XML utilisé dans le projet.
+ * </p>
+ *
+ * <p>
+ * Il est sélectionné pour tout flux dont le lien du canal pointe vers {@code lemonde.fr}
+ * (ou l’un de ses sous-domaines).
+ * </p>
  *
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 3.0
  */
 @Component
 @Slf4j
-public class LeMondeFluxConverter {
-
-    /** Type d’image par défaut utilisé si absent dans le flux RSS */
-    private static final String DEFAULT_IMAGE_TYPE = "image/JPEG";
+public class LeMondeFluxConverter extends AbstractRss2FeedConverter {
 
     /** Texte alternatif utilisé par défaut pour l’image */
     private static final String DEFAULT_IMAGE_ALT = "Image Le Monde";
@@ -38,73 +37,48 @@ public class LeMondeFluxConverter {
     /** Type de contenu associé à la description d’un article */
     private static final String DEFAULT_CONTENT_TYPE = "text";
 
-    /**
-     * Convertit un flux RSS 2.0 complet (sous forme XML brut) en objet {@link Feed}.
-     *
-     * @param xmlContent chaîne XML du flux RSS d'origine (provenant de LeMonde.fr)
-     * @return un objet {@link Feed} contenant la liste d’articles extraits et convertis
-     *
-     * @throws RuntimeException si une erreur de parsing ou de conversion survient
-     */
-    public Feed convert(String xmlContent) {
-        log.debug("LeMondeFluxConverter.convert() appelé, taille du XML = {} caractères", xmlContent.length());
-        try {
-            // Préparation du parseur DOM
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new InputSource(new StringReader(xmlContent)));
-
-            // Extraction des éléments <item>
-            NodeList itemNodes = doc.getElementsByTagName("item");
-            log.debug("{} éléments <item> trouvés", itemNodes.getLength());
-
-            // Conversion de chaque <item> en objet rss25SB
-            List<Item> items = new ArrayList<>();
-            for (int i = 0; i < itemNodes.getLength(); i++) {
-                items.add(convertItem((Element) itemNodes.item(i)));
-            }
-
-            // Assemblage final dans un objet Feed
-            Feed feed = new Feed();
-            feed.setItem(items);
-            log.debug("Conversion terminée, {} articles générés", items.size());
-            return feed;
-
-        } catch (Exception e) {
-            log.error("Échec de conversion du flux Le Monde : {}", e.getMessage(), e);
-            throw new RuntimeException("Échec de conversion du flux RSS Le Monde", e);
-        }
+    @Override
+    public String getName() {
+        return "Le Monde";
+    }
+
+    @Override
+    public Set<String> getDetectionKeys() {
+        return Set.of(FeedSignature.hostKey("lemonde.fr"));
+    }
+
+    @Override
+    protected String getDefaultImageAlt() {
+        return DEFAULT_IMAGE_ALT;
     }
 
     /**
-     * Convertit un élément <code>&lt;item&gt;</code> XML en objet {@link Item}.
+     * Convertit un élément <code>&lt;item&gt;</code> Le Monde en objet {@link Item}.
+     * La catégorie et l’auteur sont fixes : le flux Le Monde ne les renseigne pas.
      *
-     * @param itemElement élément DOM représentant un article RSS
-     * @return l’objet {@link Item} converti à partir du XML
+     * @param rssItem      champs extraits de l’élément RSS
+     * @param channelTitle titre du canal (non utilisé)
+     * @return l’objet {@link Item} converti
      */
-    private Item convertItem(Element itemElement) {
+    @Override
+    protected Item toItem(RssItem rssItem, String channelTitle) {
         Item item = new Item();
 
-        item.setTitle(getTextContent(itemElement, "title"));
-        item.setGuid(getTextContent(itemElement, "guid"));
+        item.setTitle(rssItem.field("title"));
+        item.setGuid(rssItem.field("guid"));
 
         // Extraction de la date (choix entre <updated> ou <pubDate>)
-        String updatedStr = getTextContent(itemElement, "updated");
-        String pubDateStr = getTextContent(itemElement, "pubDate");
+        OffsetDateTime pubDate = parseDate(rssItem.field("pubDate"));
+        OffsetDateTime updatedDate = parseDate(rssItem.field("updated"));
 
-        OffsetDateTime pubDate = null;
-        OffsetDateTime updatedDate = null;
-
-        if (pubDateStr != null && !pubDateStr.isBlank()) {
-            pubDate = OffsetDateTime.parse(pubDateStr, DateTimeFormatter.RFC_1123_DATE_TIME);
+        if (pubDate != null) {
             item.setPublished(pubDate);
-            log.debug("Date <pubDate> trouvée : {}", pubDateStr);
+            log.debug("Date <pubDate> trouvée : {}", pubDate);
         }
 
-        if (updatedStr != null && !updatedStr.isBlank()) {
-            updatedDate = OffsetDateTime.parse(updatedStr, DateTimeFormatter.RFC_1123_DATE_TIME);
+        if (updatedDate != null) {
             item.setUpdated(updatedDate);
-            log.debug("Date <updated> trouvée : {}", updatedStr);
+            log.debug("Date <updated> trouvée : {}", updatedDate);
         }
 
         // Si aucune des deux n’est présente, log et ignorer
@@ -115,13 +89,12 @@ public class LeMondeFluxConverter {
         // Construction du contenu
         Content content = new Content();
         content.setType(DEFAULT_CONTENT_TYPE);
-        content.setSrc(getTextContent(itemElement, "description"));
+        content.setSrc(rssItem.field("description"));
         item.setContent(content);
 
         // Image (si disponible)
-        Image image = extractImage(itemElement);
-        if (image != null) {
-            item.setImage(image);
+        if (rssItem.image() != null) {
+            item.setImage(rssItem.image());
         }
 
         // Catégorie par défaut
@@ -139,64 +112,4 @@ public class LeMondeFluxConverter {
         log.debug("Item converti : title='{}', guid='{}'", item.getTitle(), item.getGuid());
         return item;
     }
-
-    /**
-     * Extrait les données d’une image à partir d’un élément <code>&lt;media:content&gt;</code>,
-     * en supposant qu’un seul bloc media est présent.
-     *
-     * @param itemElement élément <code>&lt;item&gt;</code> DOM contenant potentiellement une image
-     * @return un objet {@link Image} si une image est présente, sinon {@code null}
-     */
-    private Image extractImage(Element itemElement) {
-        NodeList mediaNodes = itemElement.getElementsByTagName("media:content");
-        if (mediaNodes.getLength() == 0) {
-            return null;
-        }
-
-        Element media = (Element) mediaNodes.item(0);
-        Image image = new Image();
-        image.setHref(media.getAttribute("url"));
-        image.setType(DEFAULT_IMAGE_TYPE);
-        image.setAlt(getTextContent(media, "media:description", DEFAULT_IMAGE_ALT));
-
-        // Estimation de la longueur en octets si width et height présents
-        try {
-            int width = Integer.parseInt(media.getAttribute("width"));
-            int height = Integer.parseInt(media.getAttribute("height"));
-            int estimatedLength = width * height * 3;
-            image.setLength(estimatedLength);
-        } catch (NumberFormatException e) {
-            log.warn("Attributs width/height absents ou invalides. Valeur length par défaut utilisée.");
-            image.setLength(50000); // Valeur arbitraire par défaut
-        }
-
-        return image;
-    }
-
-    /**
-     * Récupère le contenu textuel d’une balise spécifique dans un élément DOM.
-     *
-     * @param parent élément DOM parent
-     * @param tagName nom de la balise à rechercher
-     * @return contenu textuel trouvé, ou {@code null} si absent
-     */
-    private String getTextContent(Element parent, String tagName) {
-        return getTextContent(parent, tagName, null);
-    }
-
-    /**
-     * Récupère le contenu textuel d’une balise spécifique dans un élément DOM,
-     * avec une valeur par défaut si la balise est absente.
-     *
-     * @param parent élément DOM parent
-     * @param tagName nom de la balise à rechercher
-     * @param defaultValue valeur de repli si la balise est absente
-     * @return contenu textuel ou valeur par défaut
-     */
-    private String getTextContent(Element parent, String tagName, String defaultValue) {
-        NodeList nodes = parent.getElementsByTagName(tagName);
-        return (nodes.getLength() > 0)
-            ? nodes.item(0).getTextContent().trim()
-            : defaultValue;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package fr.univrouen.rss25SB.dto;
+
+import fr.univrouen.rss25SB.utils.constants.ResponseStatusConstants;
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+/**
+ * DTO représentant le bilan d’une suppression groupée d’articles.
+ * <p>Structure attendue :</p>
+ * <pre>{@code
+ * <bulkDeleted>
+ *     <criterion>published < 2025-01-01T00:00Z</criterion>
+ *     <items>120</items>
+ *     <categories>180</categories>
+ *     <authors>120</authors>
+ *     <contributors>15</contributors>
+ *     <status>DELETED</status>
+ * </bulkDeleted>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@NoArgsConstructor
+@XmlRootElement(name = "bulkDeleted")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BulkDeleteResponseDTO {
+
+    /** Critère de sélection des articles supprimés. */
+    @XmlElement(required = true)
+    private String criterion;
+
+    /** Nombre d’articles supprimés. */
+    private int items;
+
+    /** Nombre de catégories supprimées. */
+    private int categories;
+
+    /** Nombre d’auteurs supprimés. */
+    private int authors;
+
+    /** Nombre de contributeurs supprimés. */
+    private int contributors;
+
+    /** Statut de suppression (fixe : "DELETED"). */
+    @XmlElement(required = true)
+    private String status = ResponseStatusConstants.DELETED;
+
+    /**
+     * Constructeur avec critère, les compteurs étant initialisés à zéro.
+     *
+     * @param criterion critère de sélection des articles
+     */
+    public BulkDeleteResponseDTO(String criterion) {
+        this.criterion = criterion;
+    }
+
+    /**
+     * Ajoute au bilan les compteurs d’une autre suppression.
+     *
+     * @param other bilan à cumuler
+     */
+    public void add(BulkDeleteResponseDTO other) {
+        items += other.items;
+        categories += other.categories;
+        authors += other.authors;
+        contributors += other.contributors;
+    }
+}
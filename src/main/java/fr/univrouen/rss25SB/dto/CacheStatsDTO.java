@@ -0,0 +1,55 @@
+package fr.univrouen.rss25SB.dto;
+
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+/**
+ * DTO représentant les statistiques du cache des rendus d’articles.
+ * <p>Structure XML :</p>
+ * <pre>{@code
+ * <cacheStats>
+ *     <hitCount>120</hitCount>
+ *     <missCount>8</missCount>
+ *     <hitRate>0.9375</hitRate>
+ *     <evictionCount>0</evictionCount>
+ *     <evictionWeight>0</evictionWeight>
+ *     <entries>8</entries>
+ *     <weightBytes>40960</weightBytes>
+ *     <maxWeightBytes>67108864</maxWeightBytes>
+ * </cacheStats>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@XmlRootElement(name = "cacheStats")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CacheStatsDTO {
+
+    /** Nombre de lectures servies par le cache. */
+    private long hitCount;
+
+    /** Nombre de lectures non servies par le cache. */
+    private long missCount;
+
+    /** Proportion de lectures servies par le cache (entre 0 et 1). */
+    private double hitRate;
+
+    /** Nombre d’entrées évincées faute de place. */
+    private long evictionCount;
+
+    /** Poids cumulé (en octets) des entrées évincées. */
+    private long evictionWeight;
+
+    /** Nombre approximatif d’entrées présentes. */
+    private long entries;
+
+    /** Poids courant (en octets) des entrées présentes. */
+    private long weightBytes;
+
+    /** Capacité maximale du cache, en octets. */
+    private long maxWeightBytes;
+}
@@ -0,0 +1,45 @@
+package fr.univrouen.rss25SB.dto;
+
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+/**
+ * DTO décrivant un lot validé lors d’une insertion en mode {@code chunked}.
+ * <p>
+ * Structure XML produite :
+ * </p>
+ * <pre>{@code
+ * <chunk>
+ *     <index>1</index>
+ *     <received>500</received>
+ *     <inserted>480</inserted>
+ *     <skipped>20</skipped>
+ *     <durationMs>212</durationMs>
+ * </chunk>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see InsertResponseDTO
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ChunkReportDTO {
+
+    /** Numéro du lot dans le flux (à partir de 1). */
+    private int index;
+
+    /** Nombre d’articles distincts reçus dans le lot. */
+    private int received;
+
+    /** Nombre d’articles insérés. */
+    private int inserted;
+
+    /** Nombre d’articles ignorés car déjà présents en base. */
+    private int skipped;
+
+    /** Durée de traitement du lot (vérification, conversion, écriture et validation), en millisecondes. */
+    private long durationMs;
+}
@@ -0,0 +1,67 @@
+package fr.univrouen.rss25SB.dto;
+
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+/**
+ * DTO représentant l’état de la file d’insertion asynchrone.
+ * <p>Structure XML :</p>
+ * <pre>{@code
+ * <insertQueueStats>
+ *     <queueDepth>3</queueDepth>
+ *     <queueCapacity>100</queueCapacity>
+ *     <activeWorkers>2</activeWorkers>
+ *     <workers>2</workers>
+ *     <submitted>42</submitted>
+ *     <rejected>0</rejected>
+ *     <completed>37</completed>
+ *     <avgWaitMs>120.5</avgWaitMs>
+ *     <maxWaitMs>910</maxWaitMs>
+ *     <avgProcessingMs>340.2</avgProcessingMs>
+ *     <maxProcessingMs>2210</maxProcessingMs>
+ * </insertQueueStats>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@XmlRootElement(name = "insertQueueStats")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class InsertQueueStatsDTO {
+
+    /** Nombre de flux en attente dans la file. */
+    private int queueDepth;
+
+    /** Capacité maximale de la file. */
+    private int queueCapacity;
+
+    /** Nombre de traitements en cours. */
+    private int activeWorkers;
+
+    /** Nombre de traitements exécutables en parallèle. */
+    private int workers;
+
+    /** Nombre de flux acceptés dans la file. */
+    private long submitted;
+
+    /** Nombre de flux refusés, file pleine. */
+    private long rejected;
+
+    /** Nombre de traitements terminés (succès ou échec). */
+    private long completed;
+
+    /** Temps d’attente moyen dans la file, en millisecondes. */
+    private double avgWaitMs;
+
+    /** Temps d’attente maximal dans la file, en millisecondes. */
+    private long maxWaitMs;
+
+    /** Durée moyenne de traitement, en millisecondes. */
+    private double avgProcessingMs;
+
+    /** Durée maximale de traitement, en millisecondes. */
+    private long maxProcessingMs;
+}
@@ -15,6 +15,8 @@ import lombok.*;
  * <ul>
  *     <li>Une liste optionnelle d’identifiants d’articles insérés</li>
  *     <li>Un statut indiquant le succès ou l’échec de l’insertion</li>
+ *     <li>En mode {@code chunked}, le compte rendu de chaque lot validé</li>
+ *     <li>En mode asynchrone, l’identifiant du traitement à interroger</li>
  * </ul>
  *
  * <p>Structure XML attendue :</p>
@@ -25,11 +27,14 @@ import lombok.*;
  *         <id>2</id>
  *     </ids>
  *     <status>INSERTED</status>
+ *     <chunks>
+ *         <chunk>...</chunk>
+ *     </chunks>
  * </inserted>
  * }</pre>
  *
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.2
  */
 @AllArgsConstructor
 @Getter @Setter @NoArgsConstructor
@@ -56,6 +61,21 @@ public class InsertResponseDTO {
     @XmlElement(name = "description")
     private String description;
 
+    /**
+     * Compte rendu des lots validés (mode {@code chunked} uniquement).
+     * Enveloppé dans un élément XML {@code <chunks>} ; absent en mode atomique.
+     */
+    @XmlElementWrapper(name = "chunks")
+    @XmlElement(name = "chunk")
+    private List<ChunkReportDTO> chunk;
+
+    /**
+     * Identifiant du traitement asynchrone (insertion avec {@code ?async=true}),
+     * à interroger via {@code GET /rss25SB/insert/jobs/{job}}.
+     */
+    @XmlElement(name = "job")
+    private String job;
+
     /**
      * Fabrique une réponse de succès contenant la liste des identifiants insérés.
      *
@@ -69,6 +89,20 @@ public class InsertResponseDTO {
         return dto;
     }
 
+    /**
+     * Fabrique une réponse décrivant un traitement asynchrone non encore terminé.
+     *
+     * @param job    identifiant du traitement
+     * @param status statut du traitement ({@code QUEUED} ou {@code RUNNING})
+     * @return un objet {@link InsertResponseDTO} sans identifiant d’article
+     */
+    public static InsertResponseDTO pending(String job, String status) {
+        InsertResponseDTO dto = new InsertResponseDTO();
+        dto.setStatus(status);
+        dto.setJob(job);
+        return dto;
+    }
+
     /**
      * Fabrique une réponse d’échec d’insertion.
      *
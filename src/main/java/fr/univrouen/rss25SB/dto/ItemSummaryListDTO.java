@@ -15,13 +15,14 @@ import java.util.List;
  * <items>
  *     <item>...</item>
  *     <item>...</item>
+ *     <next>...</next>
  * </items>
  * }
  * </pre>
  * </p>
  *
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.1
  * @see ItemSummaryDTO
  */
 @NoArgsConstructor
@@ -39,4 +40,20 @@ public class ItemSummaryListDTO {
      */
     @XmlElement(name = "item")
     private List<ItemSummaryDTO> items;
+
+    /**
+     * Curseur opaque de la page suivante, à renvoyer dans le paramètre {@code cursor}.
+     * Absent lorsque la page courante est la dernière.
+     */
+    @XmlElement(name = "next")
+    private String next;
+
+    /**
+     * Constructeur pour une liste sans page suivante.
+     *
+     * @param items liste des articles au format résumé
+     */
+    public ItemSummaryListDTO(List<ItemSummaryDTO> items) {
+        this.items = items;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package fr.univrouen.rss25SB.dto;
+
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+/**
+ * DTO décrivant l’état de collecte d’une source externe.
+ * <p>
+ * Structure XML produite :
+ * </p>
+ * <pre>{@code
+ * <source>
+ *     <name>lemonde-une</name>
+ *     <url>https://www.lemonde.fr/rss/une.xml</url>
+ *     <intervalSeconds>450</intervalSeconds>
+ *     <lastPoll>2025-06-01T10:15:00Z</lastPoll>
+ *     <nextPoll>2025-06-01T10:22:30Z</nextPoll>
+ *     <lastStatus>304</lastStatus>
+ *     <lastOutcome>not_modified</lastOutcome>
+ *     <fetches>24</fetches>
+ *     <changed>6</changed>
+ *     <unchanged>2</unchanged>
+ *     <notModified>15</notModified>
+ *     <errors>1</errors>
+ *     <itemsInserted>87</itemsInserted>
+ *     <avgFetchMs>142.5</avgFetchMs>
+ * </source>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see PollerStatsDTO
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PollerSourceStatsDTO {
+
+    /** Nom de la source. */
+    private String name;
+
+    /** URL du flux. */
+    private String url;
+
+    /** Intervalle de collecte courant, en secondes. */
+    private long intervalSeconds;
+
+    /** Date de la dernière collecte (RFC 3339), absente si aucune collecte. */
+    private String lastPoll;
+
+    /** Date de la prochaine collecte (RFC 3339). */
+    private String nextPoll;
+
+    /** Dernier statut HTTP reçu de la source, 0 si aucune réponse. */
+    private int lastStatus;
+
+    /** Résultat de la dernière collecte : changed, unchanged, not_modified ou error. */
+    private String lastOutcome;
+
+    /** Nombre de collectes. */
+    private long fetches;
+
+    /** Nombre de collectes ayant inséré au moins un article. */
+    private long changed;
+
+    /** Nombre de flux reçus sans nouvel article. */
+    private long unchanged;
+
+    /** Nombre de réponses {@code 304 Not Modified}. */
+    private long notModified;
+
+    /** Nombre de collectes en échec. */
+    private long errors;
+
+    /** Nombre total d’articles insérés. */
+    private long itemsInserted;
+
+    /** Durée moyenne d’une collecte (téléchargement et insertion), en millisecondes. */
+    private double avgFetchMs;
+
+    /** Message de la dernière erreur, absent si aucune. */
+    private String lastError;
+}
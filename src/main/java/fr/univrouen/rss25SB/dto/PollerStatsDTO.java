@@ -0,0 +1,46 @@
+package fr.univrouen.rss25SB.dto;
+
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO représentant l’état de la collecte planifiée des flux externes.
+ * <p>Structure XML :</p>
+ * <pre>{@code
+ * <pollerStats>
+ *     <enabled>true</enabled>
+ *     <maxConcurrent>2</maxConcurrent>
+ *     <activeFetches>1</activeFetches>
+ *     <sources>
+ *         <source>…</source>
+ *     </sources>
+ * </pollerStats>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see PollerSourceStatsDTO
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@XmlRootElement(name = "pollerStats")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PollerStatsDTO {
+
+    /** Collecte planifiée active. */
+    private boolean enabled;
+
+    /** Nombre maximal de sources collectées simultanément. */
+    private int maxConcurrent;
+
+    /** Nombre de collectes en cours. */
+    private int activeFetches;
+
+    /** État de chaque source. */
+    @XmlElementWrapper(name = "sources")
+    @XmlElement(name = "source")
+    private List<PollerSourceStatsDTO> source;
+}
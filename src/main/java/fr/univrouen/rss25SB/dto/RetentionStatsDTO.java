@@ -0,0 +1,71 @@
+package fr.univrouen.rss25SB.dto;
+
+import jakarta.xml.bind.annotation.*;
+import lombok.*;
+
+/**
+ * DTO représentant l’état de la rétention des articles.
+ * <p>Structure XML :</p>
+ * <pre>{@code
+ * <retentionStats>
+ *     <enabled>true</enabled>
+ *     <maxAgeDays>90</maxAgeDays>
+ *     <batchSize>500</batchSize>
+ *     <running>false</running>
+ *     <runs>12</runs>
+ *     <batches>40</batches>
+ *     <itemsPurged>18230</itemsPurged>
+ *     <childRowsPurged>39112</childRowsPurged>
+ *     <lastRun>2025-06-01T03:30:00Z</lastRun>
+ *     <lastRunItems>1520</lastRunItems>
+ *     <avgBatchMs>85.4</avgBatchMs>
+ *     <maxBatchMs>310</maxBatchMs>
+ * </retentionStats>
+ * }</pre>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@XmlRootElement(name = "retentionStats")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class RetentionStatsDTO {
+
+    /** Purge planifiée active. */
+    private boolean enabled;
+
+    /** Âge maximal d’un article, en jours. */
+    private int maxAgeDays;
+
+    /** Nombre maximal d’articles supprimés par transaction. */
+    private int batchSize;
+
+    /** Purge en cours d’exécution. */
+    private boolean running;
+
+    /** Nombre de purges exécutées. */
+    private long runs;
+
+    /** Nombre de lots (transactions) exécutés. */
+    private long batches;
+
+    /** Nombre total d’articles supprimés. */
+    private long itemsPurged;
+
+    /** Nombre total de catégories, auteurs et contributeurs supprimés. */
+    private long childRowsPurged;
+
+    /** Date de fin de la dernière purge (RFC 3339), absente si aucune purge. */
+    private String lastRun;
+
+    /** Nombre d’articles supprimés lors de la dernière purge. */
+    private long lastRunItems;
+
+    /** Durée moyenne d’un lot, en millisecondes. */
+    private double avgBatchMs;
+
+    /** Durée maximale d’un lot, en millisecondes. */
+    private long maxBatchMs;
+}
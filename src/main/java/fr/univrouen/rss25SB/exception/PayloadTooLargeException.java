@@ -0,0 +1,27 @@
+package fr.univrouen.rss25SB.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception levée lorsqu’un flux soumis dépasse la taille maximale autorisée
+ * ({@code rss25sb.insert.max-payload-bytes}).
+ * <p>
+ * Elle hérite de {@link IOException} afin d’interrompre naturellement les analyseurs
+ * XML (SAX, StAX) qui lisent le flux ; elle peut donc parvenir à l’appelant enveloppée
+ * dans une autre exception.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see fr.univrouen.rss25SB.utils.BoundedInputStream
+ */
+public class PayloadTooLargeException extends IOException {
+
+    /**
+     * Construit l’exception.
+     *
+     * @param maxBytes taille maximale autorisée, en octets
+     */
+    public PayloadTooLargeException(long maxBytes) {
+        super("Flux trop volumineux : la taille maximale autorisée est de " + maxBytes + " octets");
+    }
+}
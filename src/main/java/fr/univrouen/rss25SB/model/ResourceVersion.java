@@ -0,0 +1,49 @@
+package fr.univrouen.rss25SB.model;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Validateurs HTTP d’une ressource en lecture : un {@code ETag} fort et une date
+ * {@code Last-Modified}, utilisés pour répondre {@code 304 Not Modified} aux
+ * requêtes conditionnelles ({@code If-None-Match} / {@code If-Modified-Since}).
+ *
+ * @author Matisse SENECHAL
+ * @version 1.2
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+
+    /** Valeur de l’{@code ETag} fort (sans guillemets). */
+    private final String etag;
+
+    /** Date de dernière modification, en millisecondes depuis l’époque Unix. */
+    private final long lastModified;
+
+    /**
+     * Construit les validateurs d’un article à partir de la version du rendu, de son
+     * identifiant et de sa date de mise à jour (ou, à défaut, de publication).
+     * <p>
+     * Le rendu d’un article ne dépend pas que de ses données : la sérialisation et les
+     * feuilles XSLT font partie de l’application. La version du rendu (instant de
+     * démarrage ou de recompilation XSLT, voir {@code CatalogueVersion}) figure donc dans
+     * l’{@code ETag}, et {@code Last-Modified} vaut la plus récente des deux dates (article,
+     * rendu) : un client qui n’envoie que {@code If-Modified-Since} ne revalide pas non plus
+     * une page produite par une version précédente de l’application.
+     * </p>
+     *
+     * @param render    instant de la version du rendu, en millisecondes depuis l’époque Unix
+     * @param id        identifiant de l’article
+     * @param published date de publication
+     * @param updated   date de mise à jour (peut être {@code null})
+     * @return les validateurs de l’article
+     */
+    public static ResourceVersion ofItem(long render, Long id, OffsetDateTime published, OffsetDateTime updated) {
+        OffsetDateTime modified = (updated != null) ? updated : published;
+        long millis = (modified != null) ? modified.toInstant().toEpochMilli() : 0L;
+        String etag = "item-" + Long.toString(render, 36) + "-" + id + "-" + Long.toString(millis, 36);
+        return new ResourceVersion(etag, Math.max(millis, render));
+    }
+}
@@ -0,0 +1,58 @@
+package fr.univrouen.rss25SB.model;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination par clé (« keyset ») sur le couple {@code (published, id)}.
+ * <p>
+ * Il désigne le dernier article d’une page : la page suivante commence au premier
+ * article strictement plus ancien selon l’ordre {@code published DESC, id DESC}.
+ * Sa forme textuelle est opaque pour le client (Base64 URL-safe).
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class SummaryCursor {
+
+    /** Date de publication du dernier article de la page. */
+    private final OffsetDateTime published;
+
+    /** Identifiant du dernier article de la page. */
+    private final Long id;
+
+    /**
+     * Encode le curseur sous une forme opaque transmissible dans une URL.
+     *
+     * @return le curseur encodé
+     */
+    public String encode() {
+        String raw = published.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur transmis par le client.
+     *
+     * @param value curseur encodé
+     * @return le curseur correspondant
+     * @throws IllegalArgumentException si le curseur est mal formé
+     */
+    public static SummaryCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            OffsetDateTime published = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new SummaryCursor(published, id);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide : " + value, e);
+        }
+    }
+}
@@ -26,9 +26,10 @@ import lombok.*;
 @Getter @Setter @NoArgsConstructor
 public class AuthorEntity {
 
-    /** Identifiant unique de l’auteur (clé primaire auto-générée). */
+    /** Identifiant unique de l’auteur (clé primaire issue de la séquence {@code author_seq}). */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @SequenceGenerator(name = "author_seq", sequenceName = "author_seq", allocationSize = 50)
     private Long id;
 
     /** Nom complet de l’auteur. Ce champ est obligatoire. */
@@ -26,9 +26,10 @@ import lombok.*;
 @Getter @Setter @NoArgsConstructor
 public class CategoryEntity {
 
-    /** Identifiant unique de la catégorie (clé primaire auto-générée). */
+    /** Identifiant unique de la catégorie (clé primaire issue de la séquence {@code category_seq}). */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", allocationSize = 50)
     private Long id;
 
     /** Terme ou mot-clé décrivant la catégorie. Ce champ est obligatoire. */
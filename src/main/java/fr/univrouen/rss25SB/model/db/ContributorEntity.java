@@ -29,9 +29,10 @@ import lombok.*;
 @Getter @Setter @NoArgsConstructor
 public class ContributorEntity {
 
-    /** Identifiant unique du contributeur (clé primaire auto-générée). */
+    /** Identifiant unique du contributeur (clé primaire issue de la séquence {@code contributor_seq}). */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contributor_seq")
+    @SequenceGenerator(name = "contributor_seq", sequenceName = "contributor_seq", allocationSize = 50)
     private Long id;
 
     /** Nom complet du contributeur. Ce champ est obligatoire. */
@@ -3,6 +3,8 @@ package fr.univrouen.rss25SB.model.db;
 import java.time.OffsetDateTime;
 import java.util.*;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,9 +17,17 @@ import lombok.*;
  * </p>
  * 
  * <p>Cette entité est mappée sur la table {@code item}.</p>
+ *
+ * <p>Les catégories, auteurs et contributeurs sont chargés paresseusement par lots
+ * ({@link BatchSize}) : l’accès à une collection initialise celle de tous les articles
+ * présents dans le contexte de persistance (jusqu’à 100), en une seule requête par
+ * type de collection. La lecture d’un article coûte ainsi 4 requêtes, et celle de
+ * N articles {@code 1 + 3 × ⌈N / 100⌉} requêtes au lieu de {@code 1 + 3N}. L’export, qui
+ * parcourt les articles en flux et vide le contexte de persistance, ne profite pas de ces lots :
+ * il charge lui-même les collections bloc par bloc (voir {@code ExportService}).</p>
  * 
  * @author Matisse SENECHAL
- * @version 1.1
+ * @version 1.4
  */
 @Entity
 @Getter @Setter @NoArgsConstructor
@@ -25,11 +35,15 @@ import lombok.*;
 public class ItemEntity {
 
     /**
-     * Identifiant unique de l’article.
-     * Généré automatiquement (clé primaire).
+     * Identifiant unique de l’article (clé primaire).
+     * <p>
+     * Issu de la séquence {@code item_seq} avec un pas de 50 (optimiseur « pooled ») :
+     * Hibernate réserve les identifiants par blocs, ce qui permet le regroupement
+     * des INSERT en lots JDBC, impossible avec {@code GenerationType.IDENTITY}.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
 
     /** Titre de l’article. Ce champ est obligatoire. */
@@ -75,9 +89,12 @@ public class ItemEntity {
     /**
      * Liste des catégories associées à l’article.
      * Chaque catégorie est persistée via relation {@code @OneToMany}.
+     * La clé étrangère {@code item_id} étant non nulle, elle est renseignée
+     * directement dans l’INSERT de la catégorie (sans UPDATE complémentaire).
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "item_id")
+    @BatchSize(size = 100)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
     private List<CategoryEntity> categories = new ArrayList<>();
 
     /**
@@ -85,7 +102,8 @@ public class ItemEntity {
      * Représentés via une relation {@code @OneToMany}.
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "item_id")
+    @BatchSize(size = 100)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
     private List<AuthorEntity> authors = new ArrayList<>();
 
     /**
@@ -93,7 +111,8 @@ public class ItemEntity {
      * Représentés via une relation {@code @OneToMany}.
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "item_id")
+    @BatchSize(size = 100)
+    @JoinColumn(name = "item_id", nullable = false, updatable = false)
     private List<ContributorEntity> contributors = new ArrayList<>();
 
     /**
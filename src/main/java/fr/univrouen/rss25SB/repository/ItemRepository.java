@@ -2,7 +2,17 @@ package fr.univrouen.rss25SB.repository;
 
 import fr.univrouen.rss25SB.model.db.ItemEntity;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Interface de persistance pour l’entité {@link ItemEntity}.
@@ -17,21 +27,195 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *     <li>récupérer tous les articles via {@code findAll()}</li>
  *     <li>trouver un article par son identifiant via {@code findById(Long)}</li>
  *     <li>supprimer ou enregistrer un article</li>
- *     <li>vérifier l'existence d'un article via son identifiant global {@code guid}</li>
+ *     <li>retrouver en une requête les {@code guid} déjà présents parmi un ensemble</li>
+ *     <li>lire les seules dates d’un article, pour ses validateurs HTTP</li>
+ *     <li>parcourir les résumés d’articles par pagination sur clé {@code (published, id)}</li>
+ *     <li>parcourir l’intégralité des articles en flux, via un curseur côté serveur</li>
+ *     <li>sélectionner des articles par identifiants, date de publication ou catégorie,
+ *         puis les supprimer avec leurs lignes filles par requêtes ensemblistes</li>
  * </ul>
  *
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.9
  * @see ItemEntity
  * @see org.springframework.data.jpa.repository.JpaRepository
  */
 public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
 
     /**
-     * Vérifie si un article existe en base à partir de son identifiant global {@code guid}.
+     * Retourne, parmi les {@code guid} fournis, ceux qui sont déjà présents en base.
+     * <p>
+     * La collection est transmise en une seule clause {@code IN} : l’appelant doit
+     * la découper pour respecter la limite de paramètres liés du pilote JDBC.
+     *
+     * @param guids identifiants globaux à rechercher
+     * @return la liste des {@code guid} déjà enregistrés
+     */
+    @Query("SELECT i.guid FROM ItemEntity i WHERE i.guid IN :guids")
+    List<String> findExistingGuids(@Param("guids") Collection<String> guids);
+
+    /**
+     * Retourne l’identifiant et les dates de publication et de mise à jour d’un article,
+     * sans charger son contenu ni ses collections.
+     *
+     * @param id identifiant de l’article
+     * @return la projection correspondante, ou {@link Optional#empty()} si l’article n’existe pas
+     */
+    @Query("SELECT i.id AS id, i.published AS published, i.updated AS updated FROM ItemEntity i WHERE i.id = :id")
+    Optional<ItemVersionView> findVersionById(@Param("id") Long id);
+
+    /**
+     * Retourne la première page de résumés d’articles, du plus récent au plus ancien.
+     *
+     * @param limit nombre maximal de résumés retournés
+     * @return les résumés triés par {@code published DESC, id DESC}
+     */
+    @Query("SELECT i.id AS id, i.title AS title, i.guid AS guid, i.published AS published "
+         + "FROM ItemEntity i ORDER BY i.published DESC, i.id DESC")
+    List<ItemSummaryView> findSummaryPage(Limit limit);
+
+    /**
+     * Retourne la page de résumés suivant l’article {@code (published, id)},
+     * selon l’ordre {@code published DESC, id DESC}.
+     * <p>
+     * La comparaison de tuples devient une condition d’index sur {@code (published DESC, id DESC)} :
+     * le parcours démarre directement au curseur, quelle que soit la profondeur de la page.
+     * </p>
+     *
+     * @param published date de publication du dernier article de la page précédente
+     * @param id        identifiant du dernier article de la page précédente
+     * @param limit     nombre maximal de résumés retournés
+     * @return les résumés strictement postérieurs au curseur dans l’ordre de tri
+     */
+    @Query("SELECT i.id AS id, i.title AS title, i.guid AS guid, i.published AS published "
+         + "FROM ItemEntity i "
+         + "WHERE (i.published, i.id) < (:published, :id) "
+         + "ORDER BY i.published DESC, i.id DESC")
+    List<ItemSummaryView> findSummaryPageAfter(@Param("published") OffsetDateTime published,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    /**
+     * Parcourt tous les articles par ordre d’identifiant, sous forme de flux.
+     * <p>
+     * Les lignes sont lues par paquets de 500 via un curseur côté serveur
+     * (PostgreSQL exige pour cela une transaction ouverte) et les entités sont
+     * chargées en lecture seule. Le flux doit être fermé par l’appelant.
+     *
+     * @return un flux paresseux de toutes les entités {@link ItemEntity}
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM ItemEntity i ORDER BY i.id")
+    Stream<ItemEntity> streamAllOrderById();
+
+    /**
+     * Charge en une requête les catégories des articles fournis.
+     * <p>
+     * Les articles déjà présents dans le contexte de persistance (par exemple lus via
+     * {@link #streamAllOrderById()}) voient leur collection initialisée ; les trois méthodes
+     * {@code fetch*ByIds} permettent ainsi de charger les collections d’un bloc d’articles en
+     * trois requêtes, au lieu de trois requêtes par article.
+     * </p>
+     *
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return les articles, avec leurs catégories
+     */
+    @Query("SELECT i FROM ItemEntity i LEFT JOIN FETCH i.categories WHERE i.id IN :ids")
+    List<ItemEntity> fetchCategoriesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Charge en une requête les auteurs des articles fournis.
+     *
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return les articles, avec leurs auteurs
+     * @see #fetchCategoriesByIds(Collection)
+     */
+    @Query("SELECT i FROM ItemEntity i LEFT JOIN FETCH i.authors WHERE i.id IN :ids")
+    List<ItemEntity> fetchAuthorsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Charge en une requête les contributeurs des articles fournis.
+     *
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return les articles, avec leurs contributeurs
+     * @see #fetchCategoriesByIds(Collection)
+     */
+    @Query("SELECT i FROM ItemEntity i LEFT JOIN FETCH i.contributors WHERE i.id IN :ids")
+    List<ItemEntity> fetchContributorsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retourne, parmi les identifiants fournis, ceux des articles existants.
+     *
+     * @param ids identifiants à rechercher (une seule clause {@code IN})
+     * @return les identifiants existants
+     */
+    @Query("SELECT i.id FROM ItemEntity i WHERE i.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retourne les identifiants des plus anciens articles publiés strictement avant une date,
+     * dans la limite d’une page. Utilisé par la rétention et la suppression par date pour purger par lots.
+     *
+     * @param before date limite (exclue)
+     * @param limit  taille du lot
+     * @return les identifiants correspondants, du plus ancien au plus récent
+     */
+    @Query("SELECT i.id FROM ItemEntity i WHERE i.published < :before ORDER BY i.published, i.id")
+    List<Long> findOldestIdsPublishedBefore(@Param("before") OffsetDateTime before, Limit limit);
+
+    /**
+     * Retourne les identifiants des articles possédant une catégorie donnée,
+     * dans la limite d’une page. Utilisé pour supprimer ces articles par lots.
+     *
+     * @param term  terme exact de la catégorie
+     * @param limit taille du lot
+     * @return les identifiants correspondants, par ordre croissant
+     */
+    @Query("SELECT DISTINCT i.id FROM ItemEntity i JOIN i.categories c WHERE c.term = :term ORDER BY i.id")
+    List<Long> findIdsByCategoryTerm(@Param("term") String term, Limit limit);
+
+    /**
+     * Supprime en une requête les catégories des articles fournis.
+     *
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return le nombre de lignes supprimées
+     */
+    @Modifying
+    @Query(value = "DELETE FROM category WHERE item_id IN (:ids)", nativeQuery = true)
+    int deleteCategoriesByItemIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Supprime en une requête les auteurs des articles fournis.
+     *
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return le nombre de lignes supprimées
+     */
+    @Modifying
+    @Query(value = "DELETE FROM author WHERE item_id IN (:ids)", nativeQuery = true)
+    int deleteAuthorsByItemIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Supprime en une requête les contributeurs des articles fournis.
+     *
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return le nombre de lignes supprimées
+     */
+    @Modifying
+    @Query(value = "DELETE FROM contributor WHERE item_id IN (:ids)", nativeQuery = true)
+    int deleteContributorsByItemIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Supprime en une requête les articles fournis. Leurs lignes filles doivent
+     * avoir été supprimées au préalable.
      *
-     * @param guid l’identifiant unique de l’article (Global Unique Identifier)
-     * @return {@code true} si un article avec ce {@code guid} est déjà présent, sinon {@code false}
+     * @param ids identifiants des articles (une seule clause {@code IN})
+     * @return le nombre de lignes supprimées
      */
-    boolean existsByGuid(String guid);
-}
\ No newline at end of file
+    @Modifying
+    @Query(value = "DELETE FROM item WHERE id IN (:ids)", nativeQuery = true)
+    int deleteItemsByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,29 @@
+package fr.univrouen.rss25SB.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Projection Spring Data ne sélectionnant que les colonnes nécessaires
+ * à un résumé d’article : identifiant, titre, GUID et date de publication.
+ * <p>
+ * Contrairement à {@code findAll()}, les colonnes du contenu et de l’image
+ * ainsi que les collections associées ne sont jamais chargées.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see ItemRepository
+ */
+public interface ItemSummaryView {
+
+    /** @return identifiant de l’article */
+    Long getId();
+
+    /** @return titre de l’article */
+    String getTitle();
+
+    /** @return GUID de l’article */
+    String getGuid();
+
+    /** @return date de publication de l’article */
+    OffsetDateTime getPublished();
+}
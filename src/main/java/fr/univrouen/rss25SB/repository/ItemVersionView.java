@@ -0,0 +1,24 @@
+package fr.univrouen.rss25SB.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Projection Spring Data ne sélectionnant que les colonnes nécessaires au calcul
+ * des validateurs HTTP d’un article ({@code ETag}, {@code Last-Modified}).
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see ItemRepository
+ * @see fr.univrouen.rss25SB.model.ResourceVersion
+ */
+public interface ItemVersionView {
+
+    /** @return identifiant de l’article */
+    Long getId();
+
+    /** @return date de publication de l’article */
+    OffsetDateTime getPublished();
+
+    /** @return date de mise à jour de l’article (peut être {@code null}) */
+    OffsetDateTime getUpdated();
+}
@@ -0,0 +1,113 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.model.ResourceVersion;
+import fr.univrouen.rss25SB.utils.StylesheetReloadedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur de version du catalogue d’articles, servant de validateur HTTP
+ * ({@code ETag}, {@code Last-Modified}) aux vues en liste et à l’export.
+ * <p>
+ * La version est incrémentée à chaque insertion ou suppression. Lorsqu’une
+ * transaction est en cours, l’incrément n’a lieu qu’après sa validation : un
+ * client ne peut donc pas associer la nouvelle version à des données encore
+ * invisibles. L’{@code ETag} inclut l’instant de démarrage de l’application,
+ * afin qu’un redémarrage (compteur remis à zéro, configuration modifiée)
+ * invalide les versions déjà distribuées. Ce même instant sert de version du
+ * rendu dans l’{@code ETag} et le {@code Last-Modified} de chaque article ({@link #ofItem}) : les pages
+ * produites par une version précédente de l’application (feuilles XSLT,
+ * sérialisation) ne sont pas revalidées après un redéploiement. La version du
+ * rendu change aussi à chaque recompilation à chaud d’une feuille XSLT
+ * ({@link StylesheetReloadedEvent}), tout comme celle du catalogue.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.3
+ * @see ResourceVersion
+ */
+@Slf4j
+@Component
+public class CatalogueVersion {
+
+    /** Instant de démarrage de l’application (millisecondes). */
+    private final long startedAt = System.currentTimeMillis();
+
+    /** Instant de démarrage de l’application, en base 36. */
+    private final String epoch = Long.toString(startedAt, 36);
+
+    /** Version du rendu des articles : instant du démarrage ou de la dernière recompilation XSLT (millisecondes). */
+    private volatile long renderVersion = startedAt;
+
+    /** Numéro de version courant. */
+    private final AtomicLong counter = new AtomicLong();
+
+    /** Date de la dernière modification du catalogue (millisecondes). */
+    private volatile long lastModified = System.currentTimeMillis();
+
+    /**
+     * Retourne les validateurs HTTP de l’état courant du catalogue.
+     *
+     * @return les validateurs du catalogue
+     */
+    public ResourceVersion current() {
+        long modified = lastModified;
+        return new ResourceVersion("catalogue-" + epoch + "-" + counter.get(), modified);
+    }
+
+    /**
+     * Retourne les validateurs HTTP d’un article, liés à la version courante du rendu.
+     *
+     * @param id        identifiant de l’article
+     * @param published date de publication
+     * @param updated   date de mise à jour (peut être {@code null})
+     * @return les validateurs de l’article
+     */
+    public ResourceVersion ofItem(Long id, OffsetDateTime published, OffsetDateTime updated) {
+        return ResourceVersion.ofItem(renderVersion, id, published, updated);
+    }
+
+    /**
+     * Change la version du rendu et celle du catalogue après la recompilation à chaud
+     * d’une feuille XSLT, pour que les clients ne revalident pas les pages produites par l’ancienne.
+     *
+     * @param event feuille recompilée
+     */
+    @EventListener
+    public void onStylesheetReloaded(StylesheetReloadedEvent event) {
+        renderVersion = System.currentTimeMillis();
+        increment();
+    }
+
+    /**
+     * Signale une modification du catalogue. Si une transaction est active,
+     * l’incrément est différé jusqu’à sa validation (et abandonné en cas d’annulation).
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    /**
+     * Incrémente la version et met à jour la date de modification.
+     */
+    private void increment() {
+        lastModified = System.currentTimeMillis();
+        long version = counter.incrementAndGet();
+        log.debug("Catalogue modifié : version {}", version);
+    }
+}
@@ -0,0 +1,167 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.model.db.ItemEntity;
+import fr.univrouen.rss25SB.model.xml.Item;
+import fr.univrouen.rss25SB.repository.ItemRepository;
+import fr.univrouen.rss25SB.utils.*;
+import jakarta.persistence.EntityManager;
+import jakarta.xml.bind.*;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.xml.stream.*;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Service d’export de l’intégralité du catalogue d’articles en un unique document
+ * {@code <feed>} au format {@code http://univ.fr/rss25}, destiné à l’archivage.
+ * <p>
+ * L’export est entièrement en flux : les entités sont lues via un curseur côté serveur
+ * ({@link ItemRepository#streamAllOrderById()}) et traitées par blocs de {@value #BLOCK_SIZE}.
+ * Les catégories, auteurs et contributeurs d’un bloc sont chargés en une requête par collection
+ * ({@code WHERE item_id IN (…)}), puis chaque article est converti par
+ * {@link ItemMapper#toXml(ItemEntity)} et sérialisé en mode fragment JAXB dans un
+ * {@link XMLStreamWriter} branché sur le flux de sortie. L’export de N articles coûte ainsi
+ * {@code 1 + 3 × ⌈N / 500⌉} requêtes, et non {@code 1 + 3N}. Le contexte de persistance est vidé
+ * après chaque bloc : la mémoire consommée reste constante quelle que soit la taille de la table.
+ * </p>
+ *
+ * <p>Le document produit reprend la structure du XSD, mais n’est pas limité à
+ * 10 articles comme l’impose celui-ci pour les flux soumis.</p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see ItemRepository
+ * @see ItemMapper
+ */
+@Slf4j
+@AllArgsConstructor
+@Service
+public class ExportService {
+
+    /** Espace de noms des flux rss25SB. */
+    private static final String RSS25_NS = "http://univ.fr/rss25";
+
+    /** Nombre d’articles par bloc : collections chargées ensemble, puis contexte de persistance vidé. */
+    private static final int BLOCK_SIZE = 500;
+
+    /** Fabrique StAX partagée (thread-safe une fois configurée). */
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    /** Repository JPA donnant accès au flux d’articles. */
+    private final ItemRepository itemRepository;
+
+    /** Gestionnaire d’entités, vidé périodiquement pendant l’export. */
+    private final EntityManager entityManager;
+
+    /**
+     * Écrit l’ensemble des articles dans un document {@code <feed>} unique.
+     *
+     * @param output  flux de destination (ex : réponse HTTP) ; il n’est pas fermé par cette méthode
+     * @param selfUrl URL de l’export, utilisée pour le lien {@code rel="self"}
+     * @return le nombre d’articles exportés
+     * @throws XMLStreamException si l’écriture XML échoue
+     * @throws JAXBException si la sérialisation d’un article échoue
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream output, String selfUrl) throws XMLStreamException, JAXBException {
+        log.debug("Début de l'export XML complet du catalogue");
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(output, "UTF-8");
+
+        // Sérialiseur dédié en mode fragment : pas de prologue XML avant chaque <item>
+        Marshaller marshaller = XmlContextRegistry.getContext(Item.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+        long count = 0;
+        try (Stream<ItemEntity> entities = itemRepository.streamAllOrderById()) {
+            writeFeedHeader(writer, selfUrl);
+
+            Iterator<ItemEntity> iterator = entities.iterator();
+            List<ItemEntity> block = new ArrayList<>(BLOCK_SIZE);
+            while (iterator.hasNext()) {
+                block.add(iterator.next());
+                if (block.size() == BLOCK_SIZE || !iterator.hasNext()) {
+                    count += writeBlock(block, marshaller, writer);
+                    log.debug("{} articles exportés", count);
+                }
+            }
+
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+
+        log.info("Export XML terminé : {} articles", count);
+        return count;
+    }
+
+    /**
+     * Charge les collections d’un bloc d’articles (une requête par collection), écrit ses articles
+     * puis libère les entités pour garder une empreinte mémoire constante.
+     *
+     * @param block      articles lus par le curseur, vidé par cette méthode
+     * @param marshaller sérialiseur JAXB en mode fragment
+     * @param writer     écrivain StAX
+     * @return le nombre d’articles écrits
+     * @throws XMLStreamException si l’écriture XML échoue
+     * @throws JAXBException si la sérialisation d’un article échoue
+     */
+    private int writeBlock(List<ItemEntity> block, Marshaller marshaller, XMLStreamWriter writer)
+            throws XMLStreamException, JAXBException {
+        List<Long> ids = block.stream().map(ItemEntity::getId).toList();
+        itemRepository.fetchCategoriesByIds(ids);
+        itemRepository.fetchAuthorsByIds(ids);
+        itemRepository.fetchContributorsByIds(ids);
+
+        for (ItemEntity entity : block) {
+            marshaller.marshal(ItemMapper.toXml(entity), writer);
+        }
+        int written = block.size();
+        block.clear();
+        writer.flush();
+        entityManager.clear();
+        return written;
+    }
+
+    /**
+     * Écrit le prologue XML et les métadonnées obligatoires du {@code <feed>}.
+     *
+     * @param writer  écrivain StAX
+     * @param selfUrl URL du lien {@code rel="self"}
+     * @throws XMLStreamException si l’écriture échoue
+     */
+    private void writeFeedHeader(XMLStreamWriter writer, String selfUrl) throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.setDefaultNamespace(RSS25_NS);
+        writer.writeStartElement(RSS25_NS, "feed");
+        writer.writeDefaultNamespace(RSS25_NS);
+        writer.writeAttribute("lang", "fr");
+        writer.writeAttribute("version", "25");
+
+        writeTextElement(writer, "title", "Export rss25SB");
+        writeTextElement(writer, "pubDate", DateTimeUtil.formatToRfc3339(OffsetDateTime.now()));
+        writeTextElement(writer, "copyright", "Université de Rouen");
+
+        writer.writeEmptyElement(RSS25_NS, "link");
+        writer.writeAttribute("rel", "self");
+        writer.writeAttribute("type", "application/xml");
+        writer.writeAttribute("href", selfUrl);
+    }
+
+    /**
+     * Écrit un élément simple contenant uniquement du texte.
+     */
+    private void writeTextElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(RSS25_NS, name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+}
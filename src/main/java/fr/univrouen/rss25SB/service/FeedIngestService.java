@@ -0,0 +1,614 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.config.InsertProperties;
+import fr.univrouen.rss25SB.converter.*;
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.exception.PayloadTooLargeException;
+import fr.univrouen.rss25SB.model.db.ItemEntity;
+import fr.univrouen.rss25SB.model.xml.Item;
+import fr.univrouen.rss25SB.utils.*;
+import fr.univrouen.rss25SB.utils.constants.*;
+import jakarta.persistence.EntityManager;
+import jakarta.xml.bind.JAXBException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xml.sax.SAXException;
+
+import java.io.*;
+import java.nio.file.*;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Service d’ingestion en flux des documents soumis à {@code POST /rss25SB/insert}.
+ * <p>
+ * Le corps de la requête n’est jamais chargé en mémoire : il est lu une seule fois, au travers
+ * d’un {@link BoundedInputStream} qui interrompt la lecture dès que la taille maximale
+ * ({@code rss25sb.insert.max-payload-bytes}) est dépassée. Après analyse des premiers
+ * kilo-octets ({@link FeedSniffer}) :
+ * </p>
+ * <ul>
+ *     <li>un flux {@code rss25SB} natif est validé contre le XSD et découpé article par article
+ *         ({@link StreamingFeedReader}) ;</li>
+ *     <li>un flux externe est converti au fil de la lecture par le {@link FeedConverter} adapté.</li>
+ * </ul>
+ * <p>
+ * Les articles sont regroupés par lots de {@code rss25sb.insert.batch-size} et convertis en entités
+ * au fil de la lecture ; chaque lot est écrit dès qu’il est complet : vérification groupée des GUID
+ * existants, insertion puis vidage du contexte de persistance. Seul le lot courant est conservé en
+ * mémoire, quelle que soit la taille du flux.
+ * Par défaut ({@link IngestMode#ATOMIC}), le corps est d’abord recopié dans un fichier temporaire
+ * ({@code rss25sb.insert.async.spool-dir}), hors transaction, afin qu’un client lent ne retienne pas
+ * de connexion du pool ; le fichier est ensuite lu et tous les lots sont écrits dans une seule
+ * transaction : une erreur, même tardive, annule toute l’insertion. En mode
+ * {@link IngestMode#CHUNKED}, le corps est lu directement et chaque lot de
+ * {@code rss25sb.insert.chunk-size} articles est validé dans sa propre transaction.
+ * </p>
+ *
+ * <p>
+ * Chaque étape est mesurée ({@link PipelineMetrics}) : lecture ({@code parse}) ou conversion
+ * ({@code convert}), hors temps d’écriture des lots, puis, pour chaque lot, élimination des
+ * doublons ({@code dedupe}), conversion en entités ({@code map}) et écriture ({@code persist}).
+ * Le nombre d’articles et la taille de chaque flux sont enregistrés.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.6
+ * @see StreamingFeedReader
+ * @see FluxSourceSelector
+ * @see ItemService#saveAllItems(List)
+ */
+@Slf4j
+@Service
+public class FeedIngestService {
+
+    /** Valeur de l’étiquette {@code source} d’un flux rss25SB natif. */
+    private static final String NATIVE_SOURCE = "rss25SB";
+
+    /** Valeur de l’étiquette {@code source} d’un flux dont la source n’a pas été reconnue. */
+    private static final String UNKNOWN_SOURCE = "unknown";
+
+    /** Code SQLSTATE d’une violation de contrainte d’unicité. */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /** En-tête commun à tous les messages d’erreur d’insertion. */
+    private static final String ERROR_HEADER = "Erreur lors de la soumission d’un flux XML :\n";
+
+    /** Service métier d’accès aux articles. */
+    private final ItemService itemService;
+
+    /** Registre des convertisseurs de flux externes. */
+    private final FluxSourceSelector fluxSourceSelector;
+
+    /** Propriétés d’insertion (taille maximale, taille des lots). */
+    private final InsertProperties insertProperties;
+
+    /** Gestionnaire d’entités, vidé après chaque lot. */
+    private final EntityManager entityManager;
+
+    /** Transaction englobant toute l’ingestion d’un flux. */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Mesures des étapes d’ingestion. */
+    private final PipelineMetrics pipelineMetrics;
+
+    /** Répertoire des copies temporaires des flux soumis en mode {@code atomic}. */
+    private final Path spoolDir;
+
+    /**
+     * Construit le service.
+     *
+     * @param itemService        service métier d’accès aux articles
+     * @param fluxSourceSelector registre des convertisseurs de flux externes
+     * @param insertProperties   propriétés d’insertion
+     * @param entityManager      gestionnaire d’entités
+     * @param transactionManager gestionnaire de transactions
+     * @param pipelineMetrics    mesures des étapes d’ingestion
+     */
+    public FeedIngestService(ItemService itemService,
+                             FluxSourceSelector fluxSourceSelector,
+                             InsertProperties insertProperties,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             PipelineMetrics pipelineMetrics) {
+        this.itemService = itemService;
+        this.fluxSourceSelector = fluxSourceSelector;
+        this.insertProperties = insertProperties;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pipelineMetrics = pipelineMetrics;
+        String dir = insertProperties.getAsync().getSpoolDir();
+        this.spoolDir = dir == null || dir.isBlank() ? Path.of(System.getProperty("java.io.tmpdir")) : Path.of(dir);
+    }
+
+    /**
+     * Résultat d’une ingestion : statut HTTP et corps de réponse à renvoyer.
+     *
+     * @param status statut HTTP
+     * @param body   réponse XML
+     */
+    public record IngestResult(HttpStatus status, InsertResponseDTO body) {
+    }
+
+    /**
+     * Retourne la taille maximale autorisée d’un flux, en octets.
+     *
+     * @return taille maximale
+     */
+    public long getMaxPayloadBytes() {
+        return insertProperties.getMaxPayloadBytes();
+    }
+
+    /**
+     * Lit, valide ou convertit, puis insère les articles d’un flux. Le statut renvoyé vaut :
+     * <ul>
+     *     <li>201 Created : articles insérés avec succès</li>
+     *     <li>204 No Content : aucun article inséré (doublons)</li>
+     *     <li>400 Bad Request : flux invalide, non reconnu ou article non convertible</li>
+     *     <li>409 Conflict : un article de même GUID a été inséré par une requête concurrente
+     *         entre l’élimination des doublons et l’écriture ; le lot est annulé et le flux peut être renvoyé</li>
+     *     <li>413 Payload Too Large : flux plus volumineux que la taille maximale</li>
+     *     <li>500 Internal Server Error : erreur inattendue lors de la sauvegarde</li>
+     * </ul>
+     * <p>
+     * En mode {@link IngestMode#ATOMIC}, le corps est recopié dans un fichier temporaire avant
+     * l’ouverture de la transaction, puis relu et écrit lot par lot dans cette transaction.
+     * En mode {@link IngestMode#CHUNKED}, chaque lot de {@code rss25sb.insert.chunk-size} articles
+     * est validé dans sa propre transaction et décrit dans la réponse ({@code <chunks>}). En cas
+     * d’erreur, les lots déjà validés restent enregistrés et leurs identifiants sont renvoyés
+     * avec le message d’erreur.
+     * </p>
+     *
+     * @param body corps de la requête (non fermé par cette méthode)
+     * @param mode mode d’insertion
+     * @return le statut et la réponse à renvoyer
+     * @see #ingest(InputStream, IngestMode, String)
+     */
+    public IngestResult ingest(InputStream body, IngestMode mode) {
+        return ingest(body, mode, PipelineMetrics.currentEndpoint());
+    }
+
+    /**
+     * Variante de {@link #ingest(InputStream, IngestMode)} pour un traitement exécuté hors du
+     * thread de la requête HTTP (file asynchrone) : la route d’origine est fournie par l’appelant.
+     *
+     * @param body     corps de la requête (non fermé par cette méthode)
+     * @param mode     mode d’insertion
+     * @param endpoint motif de la route d’origine, pour l’étiquette {@code endpoint} des mesures
+     * @return le statut et la réponse à renvoyer
+     */
+    public IngestResult ingest(InputStream body, IngestMode mode, String endpoint) {
+        StringBuilder messageErreur = new StringBuilder(ERROR_HEADER);
+        BoundedInputStream bounded = new BoundedInputStream(body, insertProperties.getMaxPayloadBytes());
+        BatchWriter writer = new BatchWriter(mode, endpoint);
+        Path spooled = null;
+
+        try {
+            if (mode == IngestMode.CHUNKED) {
+                // Chaque lot est validé dans sa propre transaction (voir BatchWriter#flush)
+                read(new BufferedInputStream(bounded), bounded, writer, messageErreur);
+            } else {
+                // Le corps est recopié sur disque hors transaction : un client lent ne retient aucune
+                // connexion. Le fichier local est ensuite lu et écrit lot par lot dans une seule transaction
+                spooled = spool(bounded);
+                Path file = spooled;
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+                        read(input, bounded, writer, messageErreur);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            if (writer.insertedIds.isEmpty()) {
+                messageErreur.append("- Aucun article inséré : tous déjà présents.");
+                log.info("Aucun nouvel article inséré");
+                return failure(HttpStatus.NO_CONTENT, messageErreur, writer);
+            }
+            log.info("{} articles insérés depuis le flux soumis (mode {})", writer.insertedIds.size(), mode);
+            InsertResponseDTO response = InsertResponseDTO.success(writer.insertedIds);
+            response.setChunk(writer.chunks);
+            return new IngestResult(HttpStatus.CREATED, response);
+        } catch (Rejection e) {
+            messageErreur.append(e.getMessage());
+            return failure(e.status, messageErreur, writer);
+        } catch (PayloadTooLargeException e) {
+            log.warn("Flux rejeté : {}", e.getMessage());
+            messageErreur.append("- ").append(e.getMessage());
+            return error(HttpStatus.PAYLOAD_TOO_LARGE, messageErreur);
+        } catch (Exception e) {
+            if (isUniqueViolation(e)) {
+                log.warn("Insertion concurrente d’un même GUID : {}", XmlUtil.extractFirstErrorMessage(e));
+                messageErreur.append("- Un article de même GUID vient d’être inséré par une autre requête. ")
+                    .append(mode == IngestMode.CHUNKED ? "Lot courant annulé" : "Aucune insertion effectuée")
+                    .append(", renvoyer le flux pour insérer les articles restants.");
+                return failure(HttpStatus.CONFLICT, messageErreur, writer);
+            }
+            log.error("Erreur lors de l'insertion en base : {}", e.getMessage(), e);
+            messageErreur.append("- Erreur lors de la sauvegarde : ").append(XmlUtil.extractFirstErrorMessage(e));
+            return failure(HttpStatus.INTERNAL_SERVER_ERROR, messageErreur, writer);
+        } finally {
+            pipelineMetrics.recordFeed(endpoint, writer.source, writer.received, bounded.getCount());
+            deleteSpooled(spooled);
+        }
+    }
+
+    /**
+     * Lit l’en-tête du flux, choisit le convertisseur puis transmet tous les articles à l’écrivain.
+     *
+     * @param input         flux positionné au début du document (supportant {@code mark/reset})
+     * @param bounded       flux limité sous-jacent, consulté en cas d’erreur de lecture
+     * @param writer        destinataire des articles
+     * @param messageErreur message d’erreur en cours de construction
+     * @throws IOException si la lecture de l’en-tête échoue
+     */
+    private void read(InputStream input, BoundedInputStream bounded, BatchWriter writer, StringBuilder messageErreur)
+            throws IOException {
+        FeedSignature signature = FeedSniffer.sniff(input);
+        boolean nativeFeed = signature.getRootName() == null
+            || signature.isRoot(Constants.RSS25_NAMESPACE, Constants.RSS25_ROOT);
+
+        FeedConverter converter = null;
+        if (!nativeFeed) {
+            log.debug("Flux externe détecté ({}) : conversion automatique", signature);
+            messageErreur.append("- Flux externe détecté. Tentative de conversion automatique...\n");
+            converter = fluxSourceSelector.select(signature).orElse(null);
+            if (converter == null) {
+                writer.source = UNKNOWN_SOURCE;
+                log.warn("Aucune stratégie de conversion disponible ({})", signature);
+                throw new Rejection(HttpStatus.BAD_REQUEST, "- Flux non reconnu : Flux source non reconnu ou non supporté.");
+            }
+        }
+
+        writer.source = converter == null ? NATIVE_SOURCE : converter.getName();
+        read(input, bounded, converter, writer);
+        writer.flush();
+    }
+
+    /**
+     * Recopie le corps de la requête dans un fichier temporaire (mode {@code atomic}).
+     *
+     * @param bounded corps limité à la taille maximale
+     * @return le fichier temporaire, à supprimer par l’appelant
+     * @throws IOException si la recopie échoue ou si le flux dépasse la taille maximale
+     */
+    private Path spool(BoundedInputStream bounded) throws IOException {
+        Path spooled = Files.createTempFile(spoolDir, "rss25sb-ingest-", ".xml");
+        try {
+            Files.copy(bounded, spooled, StandardCopyOption.REPLACE_EXISTING);
+            return spooled;
+        } catch (IOException | RuntimeException e) {
+            deleteSpooled(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Supprime un fichier temporaire de flux, s’il existe.
+     *
+     * @param spooled fichier à supprimer, ou {@code null}
+     */
+    private static void deleteSpooled(Path spooled) {
+        if (spooled == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Suppression du fichier temporaire {} impossible : {}", spooled, e.getMessage());
+        }
+    }
+
+    /**
+     * Construit un résultat d’échec. En mode {@link IngestMode#CHUNKED}, les lots déjà validés
+     * ne sont pas annulés : leurs identifiants et leur compte rendu sont joints à la réponse.
+     *
+     * @param status  statut HTTP
+     * @param message message d’erreur
+     * @param writer  écrivain ayant traité le flux
+     * @return le résultat à renvoyer
+     */
+    private static IngestResult failure(HttpStatus status, StringBuilder message, BatchWriter writer) {
+        if (writer.mode != IngestMode.CHUNKED) {
+            return error(status, message);
+        }
+        if (status.isError() && !writer.insertedIds.isEmpty()) {
+            message.append("\n- ").append(writer.insertedIds.size())
+                   .append(" article(s) inséré(s) par les lots validés avant l’erreur.");
+        }
+        IngestResult result = error(status, message);
+        result.body().setId(writer.insertedIds.isEmpty() ? null : writer.insertedIds);
+        result.body().setChunk(writer.chunks);
+        return result;
+    }
+
+    /**
+     * Lit le flux et transmet ses articles à l’écrivain, en mesurant la durée de lecture
+     * (étape {@code parse} ou {@code convert}) hors temps passé à écrire les lots.
+     *
+     * @param input     flux positionné au début du document
+     * @param bounded   flux limité sous-jacent, consulté en cas d’erreur de lecture
+     * @param converter convertisseur à utiliser, ou {@code null} pour un flux natif
+     * @param writer    destinataire des articles
+     */
+    private void read(InputStream input, BoundedInputStream bounded, FeedConverter converter, BatchWriter writer) {
+        long start = System.nanoTime();
+        long writeNanosBefore = writer.writeNanos;
+        boolean success = false;
+        try {
+            read(input, bounded, converter, (Consumer<Item>) writer);
+            success = true;
+        } finally {
+            long elapsed = System.nanoTime() - start - (writer.writeNanos - writeNanosBefore);
+            pipelineMetrics.record(converter == null ? PipelineStage.PARSE : PipelineStage.CONVERT,
+                writer.endpoint, writer.source, success, elapsed);
+        }
+    }
+
+    /**
+     * Lit le flux et transmet ses articles au consommateur, en traduisant les erreurs
+     * de validation ou de conversion en rejet {@code 400}.
+     *
+     * @param input     flux positionné au début du document
+     * @param bounded   flux limité sous-jacent, consulté en cas d’erreur de lecture
+     * @param converter convertisseur à utiliser, ou {@code null} pour un flux natif
+     * @param consumer  destinataire des articles
+     */
+    private void read(InputStream input, BoundedInputStream bounded, FeedConverter converter, Consumer<Item> consumer) {
+        if (converter == null) {
+            try {
+                log.debug("Flux rss25SB : lecture en flux avec validation XSD depuis {}", Constants.XSD_PATH);
+                StreamingFeedReader.stream(input, consumer);
+            } catch (SAXException | JAXBException | IOException e) {
+                rejectIfTooLarge(bounded);
+                log.warn("Le flux n'est pas conforme au XSD rss25SB : {}", e.getMessage());
+                throw new Rejection(HttpStatus.BAD_REQUEST,
+                    "- Flux non valide au format rss25SB : " + XmlUtil.extractFirstErrorMessage(e));
+            }
+            return;
+        }
+
+        try {
+            int count = converter.stream(input, consumer);
+            log.info("Conversion via {} réussie, {} articles obtenus", converter.getName(), count);
+        } catch (Rejection e) {
+            throw e;
+        } catch (RuntimeException e) {
+            rejectIfTooLarge(bounded);
+            log.error("Erreur critique pendant la conversion : {}", e.getMessage());
+            throw new Rejection(HttpStatus.BAD_REQUEST,
+                "- Échec de conversion : " + XmlUtil.extractFirstErrorMessage(e));
+        }
+    }
+
+    /**
+     * Indique si une erreur d’écriture provient d’une contrainte d’unicité (GUID inséré entre-temps).
+     *
+     * @param e erreur levée pendant l’insertion
+     * @return {@code true} si l’une des causes est une violation d’unicité SQL
+     */
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lève un rejet {@code 413} si l’erreur de lecture provient du dépassement de la taille maximale.
+     *
+     * @param bounded flux limité dont la lecture a échoué
+     */
+    private static void rejectIfTooLarge(BoundedInputStream bounded) {
+        PayloadTooLargeException tooLarge = bounded.getOverflow();
+        if (tooLarge != null) {
+            log.warn("Flux rejeté : {}", tooLarge.getMessage());
+            throw new Rejection(HttpStatus.PAYLOAD_TOO_LARGE, "- " + tooLarge.getMessage());
+        }
+    }
+
+    /**
+     * Accumule les articles lus, les convertit par lots en entités et écrit chaque lot dès qu’il est
+     * complet. En mode {@link IngestMode#CHUNKED}, chaque lot est écrit et validé dans sa propre
+     * transaction, puis décrit par un {@link ChunkReportDTO}. En mode {@link IngestMode#ATOMIC},
+     * chaque lot est écrit dans la transaction de l’appelant, qui englobe toute la lecture : seul
+     * le lot courant est conservé en mémoire.
+     */
+    private final class BatchWriter implements Consumer<Item> {
+
+        /** Mode d’insertion. */
+        private final IngestMode mode;
+
+        /** Motif de la route d’origine (étiquette {@code endpoint}). */
+        private final String endpoint;
+
+        /** Source du flux (étiquette {@code source}). */
+        private String source = NATIVE_SOURCE;
+
+        /** Nombre d’articles par lot. */
+        private final int size;
+
+        /** Nombre d’articles lus dans le flux, doublons compris. */
+        private int received;
+
+        /** Temps cumulé passé à préparer ou écrire les lots, en nanosecondes. */
+        private long writeNanos;
+
+        /** GUID déjà rencontrés dans le flux (le premier article est conservé). */
+        private final Set<String> seenGuids = new HashSet<>();
+
+        /** Articles en attente de préparation. */
+        private final List<Item> pending = new ArrayList<>();
+
+        /** Identifiants des articles insérés. */
+        private final List<Long> insertedIds = new ArrayList<>();
+
+        /** Compte rendu des lots validés (mode {@code chunked}), {@code null} sinon. */
+        private final List<ChunkReportDTO> chunks;
+
+        BatchWriter(IngestMode mode, String endpoint) {
+            this.mode = mode;
+            this.endpoint = endpoint;
+            boolean chunked = mode == IngestMode.CHUNKED;
+            this.size = chunked ? insertProperties.getChunkSize() : insertProperties.getBatchSize();
+            this.chunks = chunked ? new ArrayList<>() : null;
+        }
+
+        @Override
+        public void accept(Item item) {
+            received++;
+            if (!seenGuids.add(item.getGuid())) {
+                return;
+            }
+            pending.add(item);
+            if (pending.size() >= size) {
+                flush();
+            }
+        }
+
+        /**
+         * Convertit et écrit le lot courant ; en mode {@code chunked}, dans une transaction dédiée.
+         */
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                flushBatch(start);
+            } finally {
+                writeNanos += System.nanoTime() - start;
+            }
+        }
+
+        /**
+         * Convertit le lot courant et l’écrit. En mode {@code atomic}, l’écriture a lieu dans la
+         * transaction de l’appelant ; en mode {@code chunked}, le lot est validé dans sa propre
+         * transaction et décrit par un compte rendu.
+         *
+         * @param start instant de début du lot ({@link System#nanoTime()})
+         */
+        private void flushBatch(long start) {
+            int batchReceived = pending.size();
+            List<ItemEntity> batch = prepare();
+            if (mode != IngestMode.CHUNKED) {
+                insertedIds.addAll(write(batch));
+                return;
+            }
+
+            List<Long> ids = transactionTemplate.execute(status -> write(batch));
+            insertedIds.addAll(ids); // uniquement une fois le lot validé
+            int inserted = ids.size();
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+            ChunkReportDTO report = new ChunkReportDTO(chunks.size() + 1, batchReceived, inserted, batchReceived - inserted, durationMs);
+            chunks.add(report);
+            log.info("Lot {} validé : {} reçus, {} insérés, {} ignorés en {} ms ({} au total)",
+                report.getIndex(), batchReceived, inserted, report.getSkipped(), durationMs, insertedIds.size());
+        }
+
+        /**
+         * Convertit le lot courant en entités, sans accès à la base.
+         *
+         * @return les entités du lot
+         */
+        private List<ItemEntity> prepare() {
+            long start = System.nanoTime();
+            List<ItemEntity> entities = new ArrayList<>(pending.size());
+            for (Item item : pending) {
+                try {
+                    entities.add(ItemMapper.toEntity(item));
+                } catch (Exception e) {
+                    record(PipelineStage.MAP, false, start);
+                    log.warn("Article invalide détecté avant insertion : {}", e.getMessage());
+                    throw new Rejection(HttpStatus.BAD_REQUEST,
+                        "- Un ou plusieurs articles sont invalides. "
+                            + (mode == IngestMode.CHUNKED ? "Lot courant annulé." : "Aucune insertion effectuée.") + "\n"
+                            + "Article GUID=" + item.getGuid() + " : " + e.getMessage());
+                }
+            }
+            record(PipelineStage.MAP, true, start);
+            pending.clear();
+            return entities;
+        }
+
+        /**
+         * Écrit un lot préparé : élimination des GUID existants, insertion groupée
+         * puis libération du contexte de persistance.
+         *
+         * @param batch entités du lot
+         * @return les identifiants des articles insérés
+         */
+        private List<Long> write(List<ItemEntity> batch) {
+            long start = System.nanoTime();
+            Set<String> existingGuids;
+            try {
+                existingGuids = itemService.findExistingGuids(batch.stream().map(ItemEntity::getGuid).toList());
+            } catch (RuntimeException e) {
+                record(PipelineStage.DEDUPE, false, start);
+                throw e;
+            }
+            record(PipelineStage.DEDUPE, true, start);
+
+            List<ItemEntity> entities = existingGuids.isEmpty()
+                ? batch
+                : batch.stream().filter(entity -> !existingGuids.contains(entity.getGuid())).toList();
+            if (entities.isEmpty()) {
+                return List.of();
+            }
+            start = System.nanoTime();
+            boolean success = false;
+            List<Long> ids;
+            try {
+                ids = itemService.saveAllItems(entities);
+                entityManager.flush();
+                entityManager.clear();
+                success = true;
+            } finally {
+                record(PipelineStage.PERSIST, success, start);
+            }
+            log.debug("Lot de {} articles écrit", ids.size());
+            return ids;
+        }
+
+        /**
+         * Enregistre la durée d’une étape d’écriture du lot courant.
+         *
+         * @param stage   étape mesurée
+         * @param success {@code true} si l’étape s’est terminée normalement
+         * @param start   instant de début ({@link System#nanoTime()})
+         */
+        private void record(PipelineStage stage, boolean success, long start) {
+            pipelineMetrics.record(stage, endpoint, source, success, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Construit un résultat d’erreur.
+     */
+    private static IngestResult error(HttpStatus status, StringBuilder message) {
+        return new IngestResult(status, InsertResponseDTO.error(message.toString()));
+    }
+
+    /**
+     * Rejet d’un flux, porteur du statut HTTP et du message à renvoyer.
+     * Levé dans la transaction, il provoque son annulation.
+     */
+    private static final class Rejection extends RuntimeException {
+
+        private final HttpStatus status;
+
+        Rejection(HttpStatus status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.config.PollerProperties;
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.exception.PayloadTooLargeException;
+import fr.univrouen.rss25SB.utils.*;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.*;
+import java.time.*;
+import java.time.format.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Service de collecte planifiée des flux externes déclarés dans {@code rss25sb.poller.sources}.
+ * <p>
+ * Toutes les {@code rss25sb.poller.tick-ms} millisecondes, les sources dont l’échéance est passée
+ * sont téléchargées en parallèle, au plus {@code rss25sb.poller.max-concurrent} à la fois (ce qui
+ * borne aussi le nombre de connexions à la base occupées par la collecte). Chaque requête est
+ * conditionnelle ({@code If-None-Match} / {@code If-Modified-Since}, à partir de l’{@code ETag} et
+ * du {@code Last-Modified} de la dernière réponse traitée) et accepte la compression gzip : un flux
+ * inchangé ne coûte qu’une réponse {@code 304}. Le corps d’un flux modifié est d’abord reçu en
+ * entier dans un tampon borné ({@code rss25sb.insert.max-payload-bytes}, après décompression) et
+ * dans un délai limité ({@code body-timeout-ms}) : une source lente ou bloquée n’occupe ainsi
+ * aucune connexion à la base. Il est ensuite transmis au {@link FeedIngestService}, qui le valide
+ * ou le convertit puis insère ses nouveaux articles, exactement comme un flux soumis à
+ * {@code POST /rss25SB/insert}.
+ * </p>
+ *
+ * <p>
+ * L’intervalle de collecte de chaque source s’adapte à sa fréquence de mise à jour, entre
+ * {@code min-interval-seconds} et {@code max-interval-seconds} :
+ * </p>
+ * <ul>
+ *     <li>nouveaux articles insérés : l’intervalle est divisé par deux ;</li>
+ *     <li>flux non modifié ({@code 304}) ou sans nouvel article : l’intervalle est multiplié par 1,5 ;</li>
+ *     <li>échec : l’intervalle est doublé, et un en-tête {@code Retry-After} est respecté.</li>
+ * </ul>
+ * <p>
+ * Les validateurs ({@code ETag}, {@code Last-Modified}) ne sont mémorisés qu’après une insertion
+ * réussie : un flux rejeté ou annulé est de nouveau téléchargé en entier à la collecte suivante.
+ * </p>
+ *
+ * <p>
+ * Avec le profil {@code virtual} ({@code spring.threads.virtual.enabled=true}), les collectes
+ * s’exécutent sur des threads virtuels. Les résultats sont mesurés par source ({@link #stats()})
+ * et publiés dans Micrometer ({@code rss25sb.poller.*}).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see FeedIngestService
+ * @see PollerProperties
+ */
+@Slf4j
+@Service
+public class FeedPollerService implements MeterBinder {
+
+    /** Valeur de l’étiquette {@code endpoint} des mesures d’ingestion des flux collectés. */
+    public static final String ENDPOINT = "poller";
+
+    /** Agent utilisateur annoncé aux sources. */
+    private static final String USER_AGENT = "rss25SB-poller/1.0";
+
+    /** Service d’ingestion des flux collectés. */
+    private final FeedIngestService feedIngestService;
+
+    /** Propriétés de collecte. */
+    private final PollerProperties pollerProperties;
+
+    /** Client HTTP partagé par toutes les collectes. */
+    private final HttpClient httpClient;
+
+    /** Exécuteur des collectes, borné à {@code max-concurrent} threads. */
+    private final ThreadPoolExecutor executor;
+
+    /** État des sources, dans l’ordre de déclaration. */
+    private final List<SourceState> sources = new ArrayList<>();
+
+    /**
+     * Résultat d’une collecte.
+     */
+    private enum Outcome {
+        CHANGED("changed"),
+        UNCHANGED("unchanged"),
+        NOT_MODIFIED("not_modified"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Construit le service de collecte.
+     *
+     * @param feedIngestService service d’ingestion
+     * @param pollerProperties  propriétés {@code rss25sb.poller}
+     * @param environment       environnement Spring ({@code spring.threads.virtual.enabled})
+     * @throws IllegalStateException si une source a une URL invalide ou un nom déjà utilisé
+     */
+    public FeedPollerService(FeedIngestService feedIngestService, PollerProperties pollerProperties,
+                             Environment environment) {
+        this.feedIngestService = feedIngestService;
+        this.pollerProperties = pollerProperties;
+
+        Set<String> names = new HashSet<>();
+        for (PollerProperties.Source source : pollerProperties.getSources()) {
+            SourceState state = new SourceState(source, pollerProperties.getInitialIntervalSeconds());
+            if (!names.add(state.name)) {
+                throw new IllegalStateException("Source de collecte « " + state.name + " » déclarée deux fois");
+            }
+            sources.add(state);
+        }
+
+        int workers = Math.max(1, pollerProperties.getMaxConcurrent());
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), pollerThreadFactory(environment));
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(pollerProperties.getConnectTimeoutMs()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+        log.info("Collecte des flux externes : {} source(s), {} collecte(s) simultanée(s), intervalle {}-{} s{}",
+            sources.size(), workers, pollerProperties.getMinIntervalSeconds(), pollerProperties.getMaxIntervalSeconds(),
+            pollerProperties.isEnabled() ? "" : " (désactivée)");
+    }
+
+    /**
+     * Retourne la fabrique des threads de collecte : threads virtuels si
+     * {@code spring.threads.virtual.enabled} est actif (Java 21+), threads classiques sinon.
+     *
+     * @param environment environnement Spring
+     * @return la fabrique de threads
+     */
+    private static ThreadFactory pollerThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("feed-poller-").getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory("feed-poller-");
+    }
+
+    /**
+     * Collecte planifiée : lance la collecte des sources arrivées à échéance,
+     * ignorée si la collecte est désactivée.
+     */
+    @Scheduled(fixedDelayString = "${rss25sb.poller.tick-ms:10000}")
+    public void scheduledPoll() {
+        if (!pollerProperties.isEnabled() || sources.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (SourceState source : sources) {
+            if (!source.nextPoll.isAfter(now)) {
+                submit(source);
+            }
+        }
+    }
+
+    /**
+     * Collecte immédiatement toutes les sources, y compris si la collecte planifiée est désactivée,
+     * et attend la fin des collectes lancées. Une source déjà en cours de collecte est ignorée.
+     *
+     * @return l’état de la collecte une fois les collectes terminées
+     */
+    public PollerStatsDTO pollNow() {
+        CompletableFuture<?>[] started = sources.stream()
+            .map(this::submit)
+            .filter(Objects::nonNull)
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(started).join();
+        return stats();
+    }
+
+    /**
+     * Place la collecte d’une source dans l’exécuteur, sauf si elle est déjà en cours.
+     *
+     * @param source source à collecter
+     * @return la collecte lancée, ou {@code null} si la source est déjà en cours de collecte
+     */
+    private CompletableFuture<Void> submit(SourceState source) {
+        if (!source.inFlight.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    poll(source);
+                } finally {
+                    source.inFlight.set(false);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            source.inFlight.set(false);
+            return null;
+        }
+    }
+
+    /**
+     * Collecte une source et met à jour son état et son intervalle.
+     *
+     * @param source source à collecter
+     */
+    private void poll(SourceState source) {
+        long start = System.nanoTime();
+        Fetch fetch = fetch(source);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long delaySeconds = source.record(fetch, elapsedMs, pollerProperties);
+
+        switch (fetch.outcome()) {
+            case CHANGED -> log.info("Source {} : {} article(s) inséré(s) en {} ms, prochaine collecte dans {} s",
+                source.name, fetch.inserted(), elapsedMs, delaySeconds);
+            case ERROR -> log.warn("Source {} : échec de la collecte ({}), prochaine collecte dans {} s",
+                source.name, fetch.error(), delaySeconds);
+            default -> log.debug("Source {} : aucun nouvel article ({}), prochaine collecte dans {} s",
+                source.name, fetch.status(), delaySeconds);
+        }
+    }
+
+    /**
+     * Télécharge une source avec une requête conditionnelle et transmet un flux modifié au service d’ingestion.
+     *
+     * @param source source à collecter
+     * @return le résultat de la collecte
+     */
+    private Fetch fetch(SourceState source) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(source.uri)
+            .timeout(Duration.ofMillis(pollerProperties.getRequestTimeoutMs()))
+            .header("User-Agent", USER_AGENT)
+            .header("Accept-Encoding", "gzip")
+            .GET();
+        if (source.etag != null) {
+            request.header("If-None-Match", source.etag);
+        }
+        if (source.lastModified != null) {
+            request.header("If-Modified-Since", source.lastModified);
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            return Fetch.error(0, "requête impossible : " + e, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Fetch.error(0, "collecte interrompue", 0);
+        }
+
+        int status = response.statusCode();
+        try (InputStream body = response.body()) {
+            if (status == HttpStatus.NOT_MODIFIED.value()) {
+                return new Fetch(Outcome.NOT_MODIFIED, status, 0, null, 0);
+            }
+            if (status != HttpStatus.OK.value()) {
+                return Fetch.error(status, "statut HTTP " + status, retryAfterSeconds(response));
+            }
+
+            byte[] feed = readBody(response, body);
+            FeedIngestService.IngestResult result = feedIngestService.ingest(
+                new ByteArrayInputStream(feed), pollerProperties.getMode(), ENDPOINT);
+            List<Long> ids = result.body().getId();
+            int inserted = ids == null ? 0 : ids.size();
+            if (result.status() == HttpStatus.CREATED || result.status() == HttpStatus.NO_CONTENT) {
+                source.etag = response.headers().firstValue("ETag").orElse(null);
+                source.lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+                Outcome outcome = result.status() == HttpStatus.CREATED ? Outcome.CHANGED : Outcome.UNCHANGED;
+                return new Fetch(outcome, status, inserted, null, 0);
+            }
+            String description = result.body().getDescription();
+            return new Fetch(Outcome.ERROR, status, inserted, "insertion refusée (" + result.status().value() + ") "
+                + (description == null ? "" : description.replace('\n', ' ')), 0);
+        } catch (PayloadTooLargeException e) {
+            return Fetch.error(status, e.getMessage(), 0);
+        } catch (IOException e) {
+            return Fetch.error(status, "lecture impossible : " + e, 0);
+        }
+    }
+
+    /**
+     * Reçoit en entier le corps d’une réponse, décompressé, avant toute insertion.
+     * <p>
+     * La taille est bornée par {@code rss25sb.insert.max-payload-bytes} ; au-delà de
+     * {@code rss25sb.poller.body-timeout-ms}, le flux est fermé et la lecture échoue, ce qui
+     * interrompt une source lente ou bloquée ({@code request-timeout-ms} ne borne que
+     * l’attente des en-têtes).
+     * </p>
+     *
+     * @param response réponse de la source
+     * @param body     corps brut de la réponse
+     * @return le corps décompressé
+     * @throws PayloadTooLargeException si le corps dépasse la taille maximale
+     * @throws IOException              si la lecture échoue ou n’est pas terminée dans le délai imparti
+     */
+    private byte[] readBody(HttpResponse<?> response, InputStream body) throws IOException {
+        long timeoutMs = pollerProperties.getBodyTimeoutMs();
+        AtomicBoolean expired = new AtomicBoolean();
+        CompletableFuture<Void> deadline = CompletableFuture.runAsync(() -> {
+            expired.set(true);
+            try {
+                body.close(); // débloque la lecture en cours
+            } catch (IOException ignored) {
+                // la lecture échoue de toute façon
+            }
+        }, CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS));
+
+        byte[] feed;
+        try {
+            feed = new BoundedInputStream(decode(response, body), feedIngestService.getMaxPayloadBytes()).readAllBytes();
+        } catch (PayloadTooLargeException e) {
+            throw e;
+        } catch (IOException e) {
+            if (expired.get()) {
+                throw new IOException("corps non reçu en " + timeoutMs + " ms", e);
+            }
+            throw e;
+        } finally {
+            deadline.cancel(false);
+        }
+        if (expired.get()) {
+            throw new IOException("corps non reçu en " + timeoutMs + " ms");
+        }
+        return feed;
+    }
+
+    /**
+     * Décompresse le corps d’une réponse gzip.
+     *
+     * @param response réponse de la source
+     * @param body     corps brut de la réponse
+     * @return le corps décompressé, ou le corps brut s’il n’est pas compressé
+     * @throws IOException si l’en-tête gzip est invalide
+     */
+    private static InputStream decode(HttpResponse<?> response, InputStream body) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip")) {
+            return new GZIPInputStream(body, 8192);
+        }
+        return body;
+    }
+
+    /**
+     * Lit l’en-tête {@code Retry-After} (nombre de secondes ou date HTTP).
+     *
+     * @param response réponse de la source
+     * @return le délai demandé, en secondes, ou 0 si l’en-tête est absent ou illisible
+     */
+    private static long retryAfterSeconds(HttpResponse<?> response) {
+        Optional<String> value = response.headers().firstValue("Retry-After");
+        if (value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.get().trim()));
+        } catch (NumberFormatException e) {
+            try {
+                OffsetDateTime date = OffsetDateTime.parse(value.get().trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(OffsetDateTime.now(), date).toSeconds());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Retourne l’état de la collecte.
+     *
+     * @return la configuration et l’état de chaque source
+     */
+    public PollerStatsDTO stats() {
+        List<PollerSourceStatsDTO> states = sources.stream().map(SourceState::stats).toList();
+        return new PollerStatsDTO(pollerProperties.isEnabled(), executor.getMaximumPoolSize(),
+            executor.getActiveCount(), states);
+    }
+
+    /**
+     * Publie, par source, le nombre de collectes par résultat, les articles insérés,
+     * la durée des collectes et l’intervalle courant dans Micrometer.
+     *
+     * @param registry registre Micrometer de l’application
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (SourceState source : sources) {
+            for (Outcome outcome : Outcome.values()) {
+                FunctionCounter.builder("rss25sb.poller.fetches", source.outcomes[outcome.ordinal()], LongAdder::sum)
+                    .description("Collectes des flux externes")
+                    .tag("source", source.name)
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+            }
+            FunctionCounter.builder("rss25sb.poller.items", source.itemsInserted, LongAdder::sum)
+                .description("Articles insérés par la collecte")
+                .tag("source", source.name)
+                .register(registry);
+            FunctionTimer.builder("rss25sb.poller.fetch", source,
+                    s -> s.fetches.sum(), s -> s.totalFetchMs.sum(), TimeUnit.MILLISECONDS)
+                .description("Durée des collectes (téléchargement et insertion)")
+                .tag("source", source.name)
+                .register(registry);
+            TimeGauge.builder("rss25sb.poller.interval", source, TimeUnit.SECONDS, s -> s.intervalSeconds)
+                .description("Intervalle de collecte courant")
+                .tag("source", source.name)
+                .register(registry);
+        }
+    }
+
+    /**
+     * Arrête les collectes en cours à l’arrêt de l’application.
+     *
+     * @throws InterruptedException si l’attente est interrompue
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Arrêt de la collecte : des téléchargements sont toujours en cours");
+        }
+    }
+
+    /**
+     * Résultat d’une collecte.
+     *
+     * @param outcome           résultat
+     * @param status            statut HTTP reçu, 0 si aucune réponse
+     * @param inserted          nombre d’articles insérés
+     * @param error             message d’erreur, {@code null} en cas de succès
+     * @param retryAfterSeconds délai demandé par la source ({@code Retry-After}), en secondes
+     */
+    private record Fetch(Outcome outcome, int status, int inserted, String error, long retryAfterSeconds) {
+
+        static Fetch error(int status, String error, long retryAfterSeconds) {
+            return new Fetch(Outcome.ERROR, status, 0, error, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * État d’une source. Une seule collecte par source s’exécute à la fois ({@link #inFlight}) ;
+     * les champs lus par {@link #stats()} sont volatils.
+     */
+    private static final class SourceState {
+
+        private final String name;
+        private final URI uri;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+
+        /** Validateurs de la dernière réponse traitée. */
+        private volatile String etag;
+        private volatile String lastModified;
+
+        private volatile long intervalSeconds;
+        private volatile OffsetDateTime lastPoll;
+        private volatile OffsetDateTime nextPoll = OffsetDateTime.now(ZoneOffset.UTC);
+        private volatile int lastStatus;
+        private volatile Outcome lastOutcome;
+        private volatile String lastError;
+
+        private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+        private final LongAdder fetches = new LongAdder();
+        private final LongAdder itemsInserted = new LongAdder();
+        private final LongAdder totalFetchMs = new LongAdder();
+
+        SourceState(PollerProperties.Source source, long initialIntervalSeconds) {
+            if (source.getUrl() == null || source.getUrl().isBlank()) {
+                throw new IllegalStateException("Source de collecte « " + source.getName() + " » sans URL");
+            }
+            try {
+                this.uri = URI.create(source.getUrl().trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("URL de collecte invalide : " + source.getUrl(), e);
+            }
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalStateException("URL de collecte non HTTP : " + source.getUrl());
+            }
+            this.name = source.getName() == null || source.getName().isBlank() ? uri.getHost() : source.getName();
+            this.intervalSeconds = initialIntervalSeconds;
+            Arrays.setAll(outcomes, i -> new LongAdder());
+        }
+
+        /**
+         * Enregistre le résultat d’une collecte et calcule l’échéance suivante.
+         *
+         * @param fetch      résultat de la collecte
+         * @param elapsedMs  durée de la collecte, en millisecondes
+         * @param properties propriétés de collecte (bornes de l’intervalle)
+         * @return le délai avant la collecte suivante, en secondes
+         */
+        long record(Fetch fetch, long elapsedMs, PollerProperties properties) {
+            fetches.increment();
+            outcomes[fetch.outcome().ordinal()].increment();
+            itemsInserted.add(fetch.inserted());
+            totalFetchMs.add(elapsedMs);
+
+            long next = switch (fetch.outcome()) {
+                case CHANGED -> intervalSeconds / 2;
+                case UNCHANGED, NOT_MODIFIED -> intervalSeconds + intervalSeconds / 2;
+                case ERROR -> intervalSeconds * 2;
+            };
+            intervalSeconds = Math.min(properties.getMaxIntervalSeconds(), Math.max(properties.getMinIntervalSeconds(), next));
+
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+            lastPoll = now;
+            long delaySeconds = Math.max(intervalSeconds, fetch.retryAfterSeconds());
+            nextPoll = now.plusSeconds(delaySeconds);
+            lastStatus = fetch.status();
+            lastOutcome = fetch.outcome();
+            if (fetch.error() != null) {
+                lastError = fetch.error();
+            }
+            return delaySeconds;
+        }
+
+        PollerSourceStatsDTO stats() {
+            long done = fetches.sum();
+            OffsetDateTime last = lastPoll;
+            Outcome outcome = lastOutcome;
+            return new PollerSourceStatsDTO(
+                name,
+                uri.toString(),
+                intervalSeconds,
+                last == null ? null : DateTimeUtil.formatToRfc3339(last),
+                DateTimeUtil.formatToRfc3339(nextPoll),
+                lastStatus,
+                outcome == null ? null : outcome.tag,
+                done,
+                outcomes[Outcome.CHANGED.ordinal()].sum(),
+                outcomes[Outcome.UNCHANGED.ordinal()].sum(),
+                outcomes[Outcome.NOT_MODIFIED.ordinal()].sum(),
+                outcomes[Outcome.ERROR.ordinal()].sum(),
+                itemsInserted.sum(),
+                done == 0 ? 0 : (double) totalFetchMs.sum() / done,
+                lastError
+            );
+        }
+    }
+}
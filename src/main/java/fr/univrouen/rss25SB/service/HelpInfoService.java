@@ -15,7 +15,7 @@ import java.util.*;
  * </p>
  * 
  * @author Matisse SENECHAL
- * @version 1.2
+ * @version 1.7
  */
 @Slf4j
 @Service
@@ -40,11 +40,14 @@ public class HelpInfoService {
 
         operations.add(new OperationInfo(
             "/rss25SB/resume/xml", "GET",
-            "Retourne la liste des articles disponibles sous forme synthétique (id, date, guid) au format XML."));
+            "Retourne la liste des articles disponibles sous forme synthétique (id, date, guid) au format XML, "
+            + "du plus récent au plus ancien. Paramètres optionnels : limit (taille de page) et cursor "
+            + "(valeur de l’élément <next> de la page précédente)."));
 
         operations.add(new OperationInfo(
             "/rss25SB/resume/html", "GET",
-            "Retourne la liste synthétique des articles sous forme HTML (via transformation XSLT)."));
+            "Retourne la liste synthétique des articles sous forme HTML (via transformation XSLT). "
+            + "Accepte les mêmes paramètres limit et cursor."));
 
         operations.add(new OperationInfo(
             "/rss25SB/resume/xml/{id}", "GET",
@@ -54,10 +57,28 @@ public class HelpInfoService {
             "/rss25SB/html/{id}", "GET",
             "Affiche un article complet en HTML via transformation XSLT à partir du XML identifié."));
 
+        operations.add(new OperationInfo(
+            "/rss25SB/cache/stats", "GET",
+            "Retourne au format XML les statistiques du cache des rendus d’articles (succès, échecs, évictions, taille)."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/export/xml", "GET",
+            "Exporte l’intégralité des articles en un unique document <feed> rss25SB, écrit en flux (archivage)."));
+
         operations.add(new OperationInfo(
             "/rss25SB/insert", "POST",
             "Insère un flux XML conforme au XSD rss25SB. Le flux doit être envoyé en format XML (Content-Type: application/xml). "
-            + "Retourne un statut XML indiquant le succès ou l’échec."));
+            + "Retourne un statut XML indiquant le succès ou l’échec. "
+            + "Paramètres optionnels : mode=chunked (insertion par lots validés indépendamment), "
+            + "async=true (mise en file, réponse 202 avec l’identifiant du traitement, 503 si la file est pleine)."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/insert/jobs/{id}", "GET",
+            "Retourne l’état d’une insertion asynchrone (QUEUED, RUNNING), puis son résultat XML une fois terminée."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/insert/jobs/stats", "GET",
+            "Retourne au format XML l’état de la file d’insertion asynchrone (profondeur, refus, temps d’attente et de traitement)."));
 
         operations.add(new OperationInfo("/rss25SB/insert", "GET", "Affiche un formulaire HTML pour téléverser un fichier XML local (multipart/form-data)."));
 
@@ -69,6 +90,33 @@ public class HelpInfoService {
             "Supprime l’article identifié par l’id fourni. "
             + "Retourne un flux XML indiquant le statut de suppression (DELETED ou ERROR)."));
 
+        operations.add(new OperationInfo(
+            "/rss25SB/delete?ids=1,2|before=2025-01-01|category=terme", "DELETE",
+            "Supprime en une transaction tous les articles correspondant à un critère unique (identifiants, "
+            + "publication antérieure à une date, ou catégorie). Retourne le nombre de lignes supprimées par table."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/retention/stats", "GET",
+            "Retourne au format XML l’état de la rétention : configuration, purges exécutées, lignes supprimées, durée des lots."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/retention/purge", "POST",
+            "Supprime immédiatement, par lots, les articles publiés avant la limite de rétention (409 si une purge est en cours)."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/poller/stats", "GET",
+            "Retourne au format XML l’état de la collecte des flux externes : intervalle courant, dernière et prochaine "
+            + "collecte, réponses 304, articles insérés et dernière erreur de chaque source."));
+
+        operations.add(new OperationInfo(
+            "/rss25SB/poller/poll", "POST",
+            "Collecte immédiatement toutes les sources externes configurées et renvoie leur état une fois les collectes terminées."));
+
+        operations.add(new OperationInfo(
+            "/actuator/prometheus", "GET",
+            "Retourne les métriques de l’application au format Prometheus : durée de chaque étape d’ingestion "
+            + "et de rendu, taille des flux, cache des rendus, file d’insertion, rétention et collecte des flux externes."));
+
         log.debug("Liste des opérations construite ({} éléments)", operations.size());
         return operations;
     }
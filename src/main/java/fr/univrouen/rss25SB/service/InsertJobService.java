@@ -0,0 +1,354 @@
+package fr.univrouen.rss25SB.service;
+
+import com.github.benmanes.caffeine.cache.*;
+
+import fr.univrouen.rss25SB.config.InsertProperties;
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.utils.*;
+import fr.univrouen.rss25SB.utils.constants.*;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * File d’insertion asynchrone des flux soumis avec {@code POST /rss25SB/insert?async=true}.
+ * <p>
+ * Le corps de la requête est recopié dans un fichier temporaire (dans la limite de
+ * {@code rss25sb.insert.max-payload-bytes}), puis un traitement est placé dans une file bornée
+ * ({@code rss25sb.insert.async.queue-capacity}) que consomment
+ * {@code rss25sb.insert.async.workers} threads dédiés. Le thread de la requête HTTP est ainsi
+ * libéré dès la recopie terminée. Lorsque la file est pleine, la soumission est refusée
+ * immédiatement ({@link RejectedExecutionException}), avant même la recopie du corps, plutôt que
+ * mise en attente : c’est au client de réessayer plus tard. Le refus de l’exécuteur reste le
+ * dernier recours lorsque la file se remplit pendant la recopie.
+ * </p>
+ *
+ * <p>
+ * Les traitements sont conservés {@code rss25sb.insert.async.job-ttl-minutes} minutes après leur
+ * fin, le temps que le client récupère le résultat. Le temps d’attente dans la file et la durée de
+ * traitement sont mesurés ({@link #stats()}).
+ * </p>
+ *
+ * <p>
+ * Avec le profil {@code virtual} ({@code spring.threads.virtual.enabled=true}), les threads de
+ * la file sont des threads virtuels.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.4
+ * @see FeedIngestService
+ */
+@Slf4j
+@Service
+public class InsertJobService implements MeterBinder {
+
+    /** Nombre maximal de traitements conservés en mémoire. */
+    private static final int MAX_RETAINED_JOBS = 10_000;
+
+    /** Service d’ingestion exécuté par les threads de la file. */
+    private final FeedIngestService feedIngestService;
+
+    /** Propriétés d’insertion. */
+    private final InsertProperties insertProperties;
+
+    /** Exécuteur à file bornée. */
+    private final ThreadPoolExecutor executor;
+
+    /** Traitements connus, indexés par identifiant. */
+    private final Cache<String, InsertJob> jobs;
+
+    /** Répertoire des flux en attente. */
+    private final Path spoolDir;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalWaitMs = new LongAdder();
+    private final LongAdder totalProcessingMs = new LongAdder();
+    private final LongAccumulator maxWaitMs = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator maxProcessingMs = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Construit la file d’insertion.
+     *
+     * @param feedIngestService service d’ingestion
+     * @param insertProperties  propriétés {@code rss25sb.insert}
+     * @param environment       environnement Spring ({@code spring.threads.virtual.enabled})
+     */
+    public InsertJobService(FeedIngestService feedIngestService, InsertProperties insertProperties,
+                            Environment environment) {
+        this.feedIngestService = feedIngestService;
+        this.insertProperties = insertProperties;
+
+        InsertProperties.Async async = insertProperties.getAsync();
+        this.executor = new ThreadPoolExecutor(
+            async.getWorkers(), async.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(async.getQueueCapacity()),
+            workerThreadFactory(environment),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = Caffeine.newBuilder()
+            .maximumSize(MAX_RETAINED_JOBS)
+            .expireAfterWrite(Duration.ofMinutes(async.getJobTtlMinutes()))
+            .build();
+        this.spoolDir = async.getSpoolDir() == null || async.getSpoolDir().isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"))
+            : Path.of(async.getSpoolDir());
+
+        log.info("File d'insertion asynchrone : {} worker(s), capacité {}", async.getWorkers(), async.getQueueCapacity());
+    }
+
+    /**
+     * Retourne la fabrique des threads de la file : threads virtuels si
+     * {@code spring.threads.virtual.enabled} est actif (Java 21+), threads classiques sinon.
+     * Dans les deux cas, le nombre de traitements simultanés reste borné par
+     * {@code rss25sb.insert.async.workers}, afin de ne pas épuiser le pool de connexions.
+     *
+     * @param environment environnement Spring
+     * @return la fabrique de threads
+     */
+    private static ThreadFactory workerThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("File d'insertion asynchrone exécutée sur des threads virtuels");
+            return new VirtualThreadTaskExecutor("insert-worker-").getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory("insert-worker-");
+    }
+
+    /**
+     * État d’un traitement asynchrone.
+     */
+    @Getter
+    public static final class InsertJob {
+
+        /** Identifiant du traitement. */
+        private final String id;
+
+        /** Mode d’insertion demandé. */
+        private final IngestMode mode;
+
+        /** Motif de la route de soumission, repris dans les mesures de l’ingestion. */
+        private final String endpoint = PipelineMetrics.currentEndpoint();
+
+        /** Instant de soumission (horloge monotone, en nanosecondes). */
+        private final long submittedAt = System.nanoTime();
+
+        /** Statut courant : {@code QUEUED}, {@code RUNNING}, puis celui du résultat. */
+        private volatile String status = ResponseStatusConstants.QUEUED;
+
+        /** Résultat de l’ingestion, {@code null} tant que le traitement n’est pas terminé. */
+        private volatile FeedIngestService.IngestResult result;
+
+        InsertJob(String id, IngestMode mode) {
+            this.id = id;
+            this.mode = mode;
+        }
+
+        /**
+         * Indique si le traitement est terminé.
+         *
+         * @return {@code true} si un résultat est disponible
+         */
+        public boolean isDone() {
+            return result != null;
+        }
+
+        /**
+         * Retourne la réponse à renvoyer au client : le résultat de l’insertion si le
+         * traitement est terminé, sinon son statut courant.
+         *
+         * @return la réponse XML
+         */
+        public InsertResponseDTO toResponse() {
+            FeedIngestService.IngestResult done = result;
+            if (done == null) {
+                return InsertResponseDTO.pending(id, status);
+            }
+            InsertResponseDTO dto = done.body();
+            dto.setJob(id);
+            return dto;
+        }
+    }
+
+    /**
+     * Recopie le flux soumis dans un fichier temporaire puis place son insertion dans la file.
+     * Si la file est déjà pleine, le flux est refusé sans être lu.
+     *
+     * @param body corps de la requête (non fermé par cette méthode)
+     * @param mode mode d’insertion
+     * @return le traitement créé, à l’état {@code QUEUED}
+     * @throws fr.univrouen.rss25SB.exception.PayloadTooLargeException si le flux dépasse la taille maximale
+     * @throws IOException si la recopie du flux échoue
+     * @throws RejectedExecutionException si la file est pleine
+     */
+    public InsertJob submit(InputStream body, IngestMode mode) throws IOException {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw reject();
+        }
+        Path spooled = Files.createTempFile(spoolDir, "rss25sb-insert-", ".xml");
+        long size;
+        try {
+            size = Files.copy(new BoundedInputStream(body, insertProperties.getMaxPayloadBytes()),
+                spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        InsertJob job = new InsertJob(UUID.randomUUID().toString(), mode);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            Files.deleteIfExists(spooled);
+            throw reject();
+        }
+        submitted.increment();
+        log.debug("Traitement {} placé dans la file ({} octets, {} en attente)",
+            job.getId(), size, executor.getQueue().size());
+        return job;
+    }
+
+    /**
+     * Comptabilise le refus d’un flux, la file étant pleine.
+     *
+     * @return l’exception à lever
+     */
+    private RejectedExecutionException reject() {
+        rejected.increment();
+        log.warn("File d'insertion pleine ({} en attente) : flux refusé", executor.getQueue().size());
+        return new RejectedExecutionException("File d'insertion pleine");
+    }
+
+    /**
+     * Retourne un traitement connu.
+     *
+     * @param id identifiant du traitement
+     * @return le traitement, ou {@link Optional#empty()} s’il est inconnu ou expiré
+     */
+    public Optional<InsertJob> find(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    /**
+     * Retourne l’état courant de la file et les mesures de temps d’attente et de traitement.
+     *
+     * @return les statistiques de la file
+     */
+    public InsertQueueStatsDTO stats() {
+        long done = completed.sum();
+        return new InsertQueueStatsDTO(
+            executor.getQueue().size(),
+            insertProperties.getAsync().getQueueCapacity(),
+            executor.getActiveCount(),
+            executor.getMaximumPoolSize(),
+            submitted.sum(),
+            rejected.sum(),
+            done,
+            done == 0 ? 0 : (double) totalWaitMs.sum() / done,
+            maxWaitMs.get(),
+            done == 0 ? 0 : (double) totalProcessingMs.sum() / done,
+            maxProcessingMs.get()
+        );
+    }
+
+    /**
+     * Publie l’état de la file dans Micrometer : profondeur, traitements actifs, soumissions,
+     * refus, ainsi que les temps d’attente et de traitement.
+     *
+     * @param registry registre Micrometer de l’application
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rss25sb.insert.queue.depth", executor, e -> e.getQueue().size())
+            .description("Flux en attente dans la file d’insertion")
+            .register(registry);
+        Gauge.builder("rss25sb.insert.queue.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Traitements d’insertion en cours")
+            .register(registry);
+        FunctionCounter.builder("rss25sb.insert.queue.submitted", submitted, LongAdder::sum)
+            .description("Flux acceptés dans la file d’insertion")
+            .register(registry);
+        FunctionCounter.builder("rss25sb.insert.queue.rejected", rejected, LongAdder::sum)
+            .description("Flux refusés, file d’insertion pleine")
+            .register(registry);
+        FunctionTimer.builder("rss25sb.insert.queue.wait", this,
+                s -> s.completed.sum(), s -> s.totalWaitMs.sum(), TimeUnit.MILLISECONDS)
+            .description("Temps d’attente dans la file d’insertion")
+            .register(registry);
+        FunctionTimer.builder("rss25sb.insert.queue.processing", this,
+                s -> s.completed.sum(), s -> s.totalProcessingMs.sum(), TimeUnit.MILLISECONDS)
+            .description("Durée des traitements d’insertion asynchrones")
+            .register(registry);
+    }
+
+    /**
+     * Exécute l’insertion d’un flux en attente, puis supprime son fichier temporaire.
+     *
+     * @param job     traitement
+     * @param spooled fichier contenant le flux
+     */
+    private void run(InsertJob job, Path spooled) {
+        long startedAt = System.nanoTime();
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(startedAt - job.submittedAt);
+        job.status = ResponseStatusConstants.RUNNING;
+
+        FeedIngestService.IngestResult result;
+        try (InputStream input = Files.newInputStream(spooled)) {
+            result = feedIngestService.ingest(input, job.mode, job.endpoint);
+        } catch (Exception e) {
+            log.error("Traitement {} interrompu : {}", job.getId(), e.getMessage(), e);
+            result = new FeedIngestService.IngestResult(HttpStatus.INTERNAL_SERVER_ERROR,
+                InsertResponseDTO.error("Erreur lors du traitement asynchrone : " + e.getMessage()));
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                log.warn("Suppression du fichier temporaire {} impossible : {}", spooled, e.getMessage());
+            }
+        }
+
+        long processingMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        job.status = result.body().getStatus();
+        job.result = result;
+        jobs.put(job.getId(), job); // la durée de conservation court à partir de la fin du traitement
+
+        completed.increment();
+        totalWaitMs.add(waitMs);
+        maxWaitMs.accumulate(waitMs);
+        totalProcessingMs.add(processingMs);
+        maxProcessingMs.accumulate(processingMs);
+        log.info("Traitement {} terminé ({}) : attente {} ms, traitement {} ms",
+            job.getId(), result.status().value(), waitMs, processingMs);
+    }
+
+    /**
+     * Arrête la file à l’extinction de l’application, en laissant aux traitements en cours
+     * le temps de se terminer.
+     *
+     * @throws InterruptedException si l’attente est interrompue
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Arrêt forcé de la file d'insertion : {} flux abandonné(s)", executor.shutdownNow().size());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.model.ResourceVersion;
+import fr.univrouen.rss25SB.model.xml.Item;
+import fr.univrouen.rss25SB.service.RenderedItemCache.*;
+import fr.univrouen.rss25SB.utils.*;
+import fr.univrouen.rss25SB.utils.constants.*;
+import jakarta.xml.bind.JAXBException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+
+/**
+ * Service produisant le rendu final (HTML ou XML) d’un article, en s’appuyant
+ * sur le {@link RenderedItemCache}.
+ * <p>
+ * En cas de succès du cache, aucune lecture en base, conversion, sérialisation JAXB
+ * ni transformation XSLT n’est effectuée. En cas d’échec, le rendu est calculé
+ * une seule fois puis conservé.
+ * </p>
+ *
+ * <p>
+ * Les validateurs HTTP d’un article ({@link #version(Long, Format)}) sont lus
+ * depuis le cache, ou à défaut par une projection ne contenant que ses dates :
+ * une requête conditionnelle peut ainsi être satisfaite sans conversion,
+ * sérialisation JAXB ni transformation XSLT.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.3
+ * @see RenderedItemCache
+ */
+@Slf4j
+@AllArgsConstructor
+@Service
+public class ItemRenderService {
+
+    /** Service métier donnant accès aux articles. */
+    private final ItemService itemService;
+
+    /** Transformateur XSLT partagé. */
+    private final XsltTransformer xsltTransformer;
+
+    /** Cache des rendus finaux. */
+    private final RenderedItemCache renderedItemCache;
+
+    /** Version du catalogue, fournissant la version du rendu des articles. */
+    private final CatalogueVersion catalogueVersion;
+
+    /** Mesures des étapes de rendu. */
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * Retourne les validateurs HTTP ({@code ETag}, {@code Last-Modified}) d’un article.
+     *
+     * @param id     identifiant de l’article
+     * @param format format du rendu demandé
+     * @return les validateurs, ou {@link Optional#empty()} si l’article n’existe pas
+     */
+    public Optional<ResourceVersion> version(Long id, Format format) {
+        RenderedItem cached = renderedItemCache.get(id, format);
+        if (cached != null) {
+            return Optional.of(cached.version());
+        }
+        return itemService.getItemVersion(id);
+    }
+
+    /**
+     * Retourne le rendu d’un article dans le format demandé.
+     *
+     * @param id     identifiant de l’article
+     * @param format format du rendu ({@code HTML} via {@link XsltFilePath#ITEM}, ou {@code XML})
+     * @return le rendu (octets UTF-8) et ses validateurs, ou {@link Optional#empty()} si l’article n’existe pas
+     * @throws Exception en cas d’erreur de sérialisation JAXB ou de transformation XSLT
+     */
+    public Optional<RenderedItem> render(Long id, Format format) throws Exception {
+        RenderedItem cached = renderedItemCache.get(id, format);
+        if (cached != null) {
+            log.debug("Rendu {} de l'article {} servi depuis le cache", format, id);
+            return Optional.of(cached);
+        }
+
+        Optional<Item> item = itemService.getItemAsXmlById(id);
+        if (item.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (format == Format.HTML) {
+            xsltTransformer.marshalAndTransform(item.get(), XsltFilePath.ITEM, output);
+        } else {
+            marshal(item.get(), output);
+        }
+
+        ResourceVersion version = catalogueVersion.ofItem(id, item.get().getPublished(), item.get().getUpdated());
+        RenderedItem rendered = new RenderedItem(output.toByteArray(), version);
+        renderedItemCache.put(id, format, rendered);
+        log.debug("Rendu {} de l'article {} calculé ({} octets)", format, id, rendered.body().length);
+        return Optional.of(rendered);
+    }
+
+    /**
+     * Sérialise un article en XML, en mesurant la durée de la sérialisation (étape {@code marshal}).
+     *
+     * @param item   article à sérialiser
+     * @param output flux de destination
+     * @throws JAXBException en cas d’erreur de sérialisation
+     */
+    private void marshal(Item item, ByteArrayOutputStream output) throws JAXBException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            XmlUtil.marshal(item, output);
+            success = true;
+        } finally {
+            pipelineMetrics.recordSince(PipelineStage.MARSHAL, Item.class.getSimpleName(), success, start);
+        }
+    }
+}
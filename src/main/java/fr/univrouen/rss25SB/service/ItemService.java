@@ -1,17 +1,21 @@
 package fr.univrouen.rss25SB.service;
 
-import fr.univrouen.rss25SB.dto.ItemSummaryDTO;
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.model.*;
 import fr.univrouen.rss25SB.model.db.ItemEntity;
 import fr.univrouen.rss25SB.model.xml.Item;
-import fr.univrouen.rss25SB.repository.ItemRepository;
+import fr.univrouen.rss25SB.repository.*;
 import fr.univrouen.rss25SB.utils.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -24,18 +28,19 @@ import java.util.stream.Collectors;
  *
  * <p>Les responsabilités couvertes incluent :</p>
  * <ul>
- *     <li>Chargement des articles sous forme résumée ou complète</li>
+ *     <li>Chargement des articles sous forme résumée (paginée) ou complète</li>
  *     <li>Insertion transactionnelle de nouveaux articles</li>
  *     <li>Conversion entre entités base de données et objets JAXB XML</li>
- *     <li>Suppression sécurisée d’articles</li>
- *     <li>Validation d’existence via GUID</li>
+ *     <li>Suppression sécurisée d’articles, unitaire ou groupée (requêtes ensemblistes)</li>
+ *     <li>Validation d’existence groupée via GUID</li>
+ *     <li>Calcul des validateurs HTTP d’un article et suivi de la version du catalogue</li>
  * </ul>
  *
  * <p>Ce service garantit également le respect de la structure du modèle RSS25SB
  * via la conversion centralisée et l’application des règles métiers.</p>
  *
  * @author Matisse SENECHAL
- * @version 3.0
+ * @version 3.8
  * @see ItemRepository
  * @see ItemEntity
  * @see Item
@@ -46,43 +51,82 @@ import java.util.stream.Collectors;
 @Service
 public class ItemService {
 
+    /** Nombre maximal de {@code guid} transmis dans une même clause {@code IN}. */
+    private static final int GUID_LOOKUP_CHUNK_SIZE = 1000;
+
+    /** Nombre maximal d’identifiants d’articles transmis dans une même requête de suppression. */
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
     /** Repository JPA permettant l’accès aux entités {@code ItemEntity} en base de données. */
     private final ItemRepository itemRepository;
 
+    /** Cache des rendus d’articles, invalidé lors d’une suppression. */
+    private final RenderedItemCache renderedItemCache;
+
+    /** Version du catalogue, incrémentée à chaque insertion ou suppression. */
+    private final CatalogueVersion catalogueVersion;
+
     /**
-     * Récupère tous les articles stockés en base, puis les convertit
-     * en objets {@link ItemSummaryDTO}, contenant uniquement :
+     * Récupère une page de résumés d’articles, du plus récent au plus ancien,
+     * par pagination sur clé {@code (published, id)}. Chaque résumé contient uniquement :
      * <ul>
      *     <li>ID</li>
      *     <li>Title</li>
      *     <li>GUID</li>
      *     <li>Date (formatée RFC3339)</li>
      * </ul>
+     * Seules ces colonnes sont lues en base (projection {@link ItemSummaryView}).
      *
-     * @return liste d’articles sous forme résumée
+     * @param cursor curseur renvoyé par la page précédente, ou {@code null} pour la première page
+     * @param limit  nombre maximal de résumés dans la page
+     * @return la page de résumés, accompagnée du curseur de la page suivante s’il en existe une
+     * @throws IllegalArgumentException si le curseur est mal formé
      */
-    public List<ItemSummaryDTO> getAllItemSummaries() {
-        log.debug("Chargement de tous les résumés d'articles depuis la base");
-
-        List<ItemSummaryDTO> summaries = itemRepository.findAll().stream()
-            .map(entity -> new ItemSummaryDTO(
-                entity.getId(),
-                entity.getTitle(),
-                entity.getGuid(),
-                DateTimeUtil.formatToRfc3339(entity.getPublished())
+    public ItemSummaryListDTO getItemSummaryPage(String cursor, int limit) {
+        log.debug("Chargement d'une page de résumés (cursor={}, limit={})", cursor, limit);
+
+        // Une ligne supplémentaire est lue pour savoir s'il existe une page suivante
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<ItemSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = itemRepository.findSummaryPage(fetchLimit);
+        } else {
+            SummaryCursor after = SummaryCursor.decode(cursor);
+            rows = itemRepository.findSummaryPageAfter(after.getPublished(), after.getId(), fetchLimit);
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<ItemSummaryView> page = hasNext ? rows.subList(0, limit) : rows;
+
+        List<ItemSummaryDTO> summaries = page.stream()
+            .map(view -> new ItemSummaryDTO(
+                view.getId(),
+                view.getTitle(),
+                view.getGuid(),
+                DateTimeUtil.formatToRfc3339(view.getPublished())
             ))
             .collect(Collectors.toList());
 
-        log.info("{} résumés d'articles récupérés", summaries.size());
-        return summaries;
+        String next = null;
+        if (hasNext) {
+            ItemSummaryView last = page.get(page.size() - 1);
+            next = new SummaryCursor(last.getPublished(), last.getId()).encode();
+        }
+
+        log.info("{} résumés d'articles récupérés (page suivante : {})", summaries.size(), hasNext);
+        return new ItemSummaryListDTO(summaries, next);
     }
 
     /**
      * Recherche un article complet en base et le convertit au format XML JAXB.
+     * <p>
+     * La conversion a lieu dans la transaction de lecture : les collections paresseuses
+     * sont chargées par lots, sans dépendre d’une session ouverte dans la vue.
      *
      * @param id identifiant de l’article
      * @return {@link Optional} contenant l’objet {@link Item} si trouvé, vide sinon
      */
+    @Transactional(readOnly = true)
     public Optional<Item> getItemAsXmlById(Long id) {
         log.debug("Recherche de l'article XML avec l'ID {}", id);
         Optional<Item> item = itemRepository.findById(id)
@@ -98,72 +142,214 @@ public class ItemService {
     }
 
     /**
-     * Récupère une entité brute {@link ItemEntity} depuis la base.
-     * 
+     * Calcule les validateurs HTTP ({@code ETag}, {@code Last-Modified}) d’un article
+     * à partir de ses seules dates, sans charger son contenu.
+     *
      * @param id identifiant de l’article
-     * @return {@link Optional} avec l’entité si trouvée
+     * @return les validateurs, ou {@link Optional#empty()} si l’article n’existe pas
      */
-    public Optional<ItemEntity> getItemById(Long id) {
-        log.debug("Recherche de l'article Entity avec l'ID {}", id);
-        Optional<ItemEntity> entity = itemRepository.findById(id);
+    public Optional<ResourceVersion> getItemVersion(Long id) {
+        return itemRepository.findVersionById(id)
+            .map(view -> catalogueVersion.ofItem(view.getId(), view.getPublished(), view.getUpdated()));
+    }
 
-        if (entity.isPresent()) {
-            log.info("Article {} trouvé en base", id);
-        } else {
-            log.warn("Article {} introuvable en base", id);
+    /**
+     * Retourne, parmi les {@code guid} fournis, ceux qui existent déjà en base.
+     * <p>
+     * La recherche est ensembliste : une seule requête par tranche de
+     * {@value #GUID_LOOKUP_CHUNK_SIZE} identifiants, afin de respecter la limite
+     * de paramètres liés du pilote JDBC. Le coût dépend donc du nombre de tranches,
+     * et non du nombre d’articles.
+     *
+     * @param guids identifiants globaux à vérifier (les doublons sont ignorés)
+     * @return l’ensemble des {@code guid} déjà présents
+     */
+    public Set<String> findExistingGuids(Collection<String> guids) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(guids));
+        Set<String> existing = new HashSet<>();
+
+        for (int from = 0; from < distinct.size(); from += GUID_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + GUID_LOOKUP_CHUNK_SIZE, distinct.size()));
+            existing.addAll(itemRepository.findExistingGuids(chunk));
+        }
+
+        log.debug("Vérification groupée de {} GUID : {} déjà présents", distinct.size(), existing.size());
+        return existing;
+    }
+
+    /**
+     * Supprime un article à partir de son identifiant, par les mêmes suppressions
+     * ensemblistes que {@link #deleteItemsByIds(Collection)} : l’article n’est pas
+     * chargé, et ses enfants ne sont pas supprimés ligne par ligne.
+     * 
+     * @param id identifiant de l’article à supprimer
+     * @return {@code true} si la suppression a été effectuée, sinon {@code false}
+     */
+    @Transactional
+    public boolean deleteItemById(Long id) {
+        log.debug("Suppression de l'article ID {}", id);
+
+        if (deleteItemsByIds(List.of(id)).getItems() == 0) {
+            log.warn("Impossible de supprimer l'article {}: introuvable", id);
+            return false;
         }
 
-        return entity;
+        log.info("Article {} supprimé avec succès", id);
+        return true;
     }
 
     /**
-     * Vérifie si un article avec le guid spécifié existe déjà en base.
+     * Supprime les articles dont les identifiants sont fournis (les identifiants
+     * inconnus sont ignorés).
      *
-     * @param guid identifiant global unique de l’article (RFC 4122)
-     * @return {@code true} si un article avec ce guid est déjà présent, sinon {@code false}
+     * @param ids identifiants des articles à supprimer
+     * @return le bilan de la suppression
+     * @see #deleteItems(List, String)
      */
-    public boolean itemExists(String guid) {
-        boolean exists = itemRepository.existsByGuid(guid);
+    @Transactional
+    public BulkDeleteResponseDTO deleteItemsByIds(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Long> existing = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += DELETE_CHUNK_SIZE) {
+            existing.addAll(itemRepository.findExistingIds(
+                distinct.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinct.size()))));
+        }
+        return deleteItems(existing, "id in " + distinct.size() + " identifiant(s)");
+    }
 
-        log.debug("Vérification existence pour GUID '{}': {}", guid, exists);
+    /**
+     * Supprime les articles publiés strictement avant une date, par lots de
+     * {@value #DELETE_CHUNK_SIZE} plus anciens articles.
+     *
+     * @param before date limite (exclue)
+     * @return le bilan de la suppression
+     * @see #deleteItemsInBatches(Supplier, String)
+     */
+    @Transactional
+    public BulkDeleteResponseDTO deleteItemsPublishedBefore(OffsetDateTime before) {
+        return deleteItemsInBatches(
+            () -> itemRepository.findOldestIdsPublishedBefore(before, Limit.of(DELETE_CHUNK_SIZE)),
+            "published < " + DateTimeUtil.formatToRfc3339(before));
+    }
 
-        return exists;
+    /**
+     * Supprime, dans une transaction courte, un lot des plus anciens articles publiés
+     * avant une date. Appelé en boucle par la rétention jusqu’à épuisement.
+     *
+     * @param before    date limite (exclue)
+     * @param batchSize nombre maximal d’articles supprimés
+     * @return le bilan du lot
+     * @see RetentionService
+     */
+    @Transactional
+    public BulkDeleteResponseDTO purgeBatchPublishedBefore(OffsetDateTime before, int batchSize) {
+        return deleteItems(itemRepository.findOldestIdsPublishedBefore(before, Limit.of(batchSize)),
+            "published < " + DateTimeUtil.formatToRfc3339(before));
     }
 
     /**
-     * Convertit un objet XML {@link Item}
-     * en entité {@link ItemEntity} et l’enregistre en base.
+     * Supprime les articles possédant une catégorie donnée, par lots de
+     * {@value #DELETE_CHUNK_SIZE} articles.
      *
-     * @param item objet XML à enregistrer
-     * @return identifiant de l’article persisté
+     * @param term terme exact de la catégorie
+     * @return le bilan de la suppression
+     * @see #deleteItemsInBatches(Supplier, String)
      */
-    public Long saveItemFromXml(Item item) {
-        log.debug("Enregistrement d'un nouvel article GUID='{}'", item.getGuid());
+    @Transactional
+    public BulkDeleteResponseDTO deleteItemsByCategory(String term) {
+        return deleteItemsInBatches(
+            () -> itemRepository.findIdsByCategoryTerm(term, Limit.of(DELETE_CHUNK_SIZE)),
+            "category = " + term);
+    }
 
-        Long id = itemRepository.save(ItemMapper.toEntity(item)).getId();
-        log.info("Article inséré avec ID {}", id);
+    /**
+     * Supprime un ensemble d’articles existants par requêtes ensemblistes.
+     * <p>
+     * Par tranche de {@value #DELETE_CHUNK_SIZE} identifiants, quatre requêtes {@code DELETE}
+     * suffisent : catégories, auteurs, contributeurs, puis articles. Aucune entité n’est
+     * chargée. L’appelant fournit la transaction : la suppression est donc globale.
+     * Les rendus en cache des articles sont invalidés et la version du catalogue incrémentée.
+     * </p>
+     *
+     * @param ids       identifiants d’articles existants
+     * @param criterion description du critère de sélection, reprise dans le bilan
+     * @return le bilan de la suppression
+     */
+    private BulkDeleteResponseDTO deleteItems(List<Long> ids, String criterion) {
+        log.debug("Suppression groupée de {} articles ({})", ids.size(), criterion);
+        BulkDeleteResponseDTO summary = new BulkDeleteResponseDTO(criterion);
 
-        return id;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            deleteChunk(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())), summary);
+        }
+        if (summary.getItems() > 0) {
+            renderedItemCache.invalidateAll(ids);
+        }
+        return complete(summary);
     }
 
     /**
-     * Supprime un article à partir de son identifiant.
-     * 
-     * @param id identifiant de l’article à supprimer
-     * @return {@code true} si la suppression a été effectuée, sinon {@code false}
+     * Supprime par lots les articles répondant à un critère, sans jamais charger plus de
+     * {@value #DELETE_CHUNK_SIZE} identifiants en mémoire : chaque lot est relu par le critère
+     * (les articles déjà supprimés n’y figurent plus), puis supprimé comme par
+     * {@link #deleteItems(List, String)}, jusqu’à obtenir un lot incomplet. L’appelant fournit
+     * la transaction : la suppression reste globale. Les identifiants supprimés n’étant pas
+     * conservés, le cache des rendus est vidé entièrement.
+     *
+     * @param nextBatch lecture du lot suivant, au plus {@value #DELETE_CHUNK_SIZE} identifiants
+     * @param criterion description du critère de sélection, reprise dans le bilan
+     * @return le bilan de la suppression
      */
-    public boolean deleteItemById(Long id) {
-        log.debug("Suppression de l'article ID {}", id);
+    private BulkDeleteResponseDTO deleteItemsInBatches(Supplier<List<Long>> nextBatch, String criterion) {
+        log.debug("Suppression groupée par lots ({})", criterion);
+        BulkDeleteResponseDTO summary = new BulkDeleteResponseDTO(criterion);
 
-        if (!itemRepository.existsById(id)) {
-            log.warn("Impossible de supprimer l'article {}: introuvable", id);
-            return false;
+        List<Long> batch;
+        int deleted;
+        do {
+            batch = nextBatch.get();
+            deleted = deleteChunk(batch, summary);
+        } while (batch.size() >= DELETE_CHUNK_SIZE && deleted > 0);
+        if (summary.getItems() > 0) {
+            renderedItemCache.clear();
         }
+        return complete(summary);
+    }
 
-        itemRepository.deleteById(id);
-        log.info("Article {} supprimé avec succès", id);
+    /**
+     * Supprime une tranche d’au plus {@value #DELETE_CHUNK_SIZE} articles et leurs lignes filles,
+     * et cumule les compteurs dans le bilan.
+     *
+     * @param chunk   identifiants d’articles existants
+     * @param summary bilan à compléter
+     * @return le nombre d’articles supprimés
+     */
+    private int deleteChunk(List<Long> chunk, BulkDeleteResponseDTO summary) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        summary.setCategories(summary.getCategories() + itemRepository.deleteCategoriesByItemIds(chunk));
+        summary.setAuthors(summary.getAuthors() + itemRepository.deleteAuthorsByItemIds(chunk));
+        summary.setContributors(summary.getContributors() + itemRepository.deleteContributorsByItemIds(chunk));
+        int items = itemRepository.deleteItemsByIds(chunk);
+        summary.setItems(summary.getItems() + items);
+        return items;
+    }
 
-        return true;
+    /**
+     * Termine une suppression groupée : incrémente la version du catalogue si des articles
+     * ont été supprimés et journalise le bilan. Les rendus en cache sont invalidés par l’appelant.
+     *
+     * @param summary bilan de la suppression
+     * @return le bilan
+     */
+    private BulkDeleteResponseDTO complete(BulkDeleteResponseDTO summary) {
+        if (summary.getItems() > 0) {
+            catalogueVersion.bump();
+        }
+        log.info("Suppression groupée ({}) : {} articles, {} catégories, {} auteurs, {} contributeurs",
+            summary.getCriterion(), summary.getItems(), summary.getCategories(), summary.getAuthors(), summary.getContributors());
+        return summary;
     }
 
     /**
@@ -171,6 +357,9 @@ public class ItemService {
      * <p>
      * Cette opération est transactionnelle : si l’insertion d’un seul élément échoue,
      * l’ensemble de la transaction est annulé.
+     * Les identifiants provenant de séquences, les INSERT des articles et de leurs
+     * catégories, auteurs et contributeurs sont regroupés en lots JDBC
+     * ({@code hibernate.jdbc.batch_size}) et ordonnés par table.
      * Tous les objets doivent avoir été validés ou convertis préalablement.
      * </p>
      *
@@ -189,6 +378,7 @@ public class ItemService {
         List<Long> ids = savedEntities.stream()
             .map(ItemEntity::getId)
             .toList();
+        catalogueVersion.bump(); // effectif après validation de la transaction
 
         log.info("Articles insérés avec succès : {}", ids);
         return ids;
@@ -0,0 +1,259 @@
+package fr.univrouen.rss25SB.service;
+
+import com.github.benmanes.caffeine.cache.*;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import fr.univrouen.rss25SB.config.RenderCacheProperties;
+import fr.univrouen.rss25SB.model.ResourceVersion;
+import fr.univrouen.rss25SB.utils.StylesheetReloadedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.*;
+
+import java.util.*;
+
+/**
+ * Cache en mémoire des rendus finaux (octets HTML ou XML) des articles,
+ * indexés par couple {@code (id, format)}. Chaque rendu est conservé avec ses
+ * validateurs HTTP, ce qui permet de répondre {@code 304 Not Modified} sans
+ * aucune lecture en base.
+ * <p>
+ * Un article n’étant jamais modifié après insertion (il ne peut qu’être supprimé),
+ * son rendu reste valide jusqu’à sa suppression : l’entrée est alors invalidée
+ * par {@link ItemService#deleteItemById(Long)} ou lors d’une suppression groupée.
+ * En mode développement, le cache est vidé à chaque recompilation d’une feuille XSLT
+ * ({@link StylesheetReloadedEvent}).
+ * </p>
+ *
+ * <p>
+ * Le cache repose sur Caffeine (politique d’éviction W-TinyLFU). Sa capacité est
+ * bornée en poids ({@code rss25sb.cache.rendered.max-size-mb}) : chaque entrée
+ * pèse la taille de son rendu en octets. Les statistiques de succès, d’échecs et
+ * d’évictions sont collectées et publiées dans Micrometer ({@code cache.*}, avec
+ * l’étiquette {@code cache=rendered-items}).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.5
+ * @see ItemRenderService
+ */
+@Slf4j
+@Component
+public class RenderedItemCache implements MeterBinder {
+
+    /** Nom du cache dans les métriques. */
+    private static final String METRICS_NAME = "rendered-items";
+
+    /** Surcoût mémoire forfaitaire estimé d’une entrée (clé, tableau, nœud du cache). */
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    /** Format de rendu d’un article. */
+    public enum Format {
+        /** Page HTML obtenue par transformation XSLT. */
+        HTML,
+        /** Document XML rss25SB. */
+        XML
+    }
+
+    /**
+     * Clé d’une entrée du cache.
+     *
+     * @param id     identifiant de l’article
+     * @param format format du rendu
+     */
+    private record Key(Long id, Format format) {
+    }
+
+    /**
+     * Rendu d’un article accompagné de ses validateurs HTTP.
+     *
+     * @param body    octets UTF-8 du rendu
+     * @param version validateurs ({@code ETag}, {@code Last-Modified}) de l’article
+     */
+    public record RenderedItem(byte[] body, ResourceVersion version) {
+    }
+
+    /** Cache Caffeine sous-jacent. */
+    private final Cache<Key, RenderedItem> cache;
+
+    /** Indique si le cache est actif. */
+    private final boolean enabled;
+
+    /** Capacité maximale du cache, en octets. */
+    private final long maxWeightBytes;
+
+    /**
+     * Construit le cache à partir de sa configuration.
+     *
+     * @param properties propriétés {@code rss25sb.cache.rendered}
+     */
+    public RenderedItemCache(RenderCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maxWeightBytes = properties.getMaxSizeMb() * 1024 * 1024;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeightBytes)
+            .weigher((Key key, RenderedItem value) -> value.body().length + ENTRY_OVERHEAD_BYTES)
+            .recordStats()
+            .build();
+        log.info("Cache des rendus d'articles : actif={}, capacité={} Mo", enabled, properties.getMaxSizeMb());
+    }
+
+    /**
+     * Publie les statistiques du cache (succès, échecs, évictions, taille) et son poids en octets.
+     *
+     * @param registry registre Micrometer de l’application
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, METRICS_NAME);
+        Gauge.builder("rss25sb.cache.rendered.weight", this, RenderedItemCache::weightedSizeBytes)
+            .description("Poids courant des rendus en cache")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("rss25sb.cache.rendered.capacity", this, RenderedItemCache::maxWeightBytes)
+            .description("Capacité maximale du cache des rendus")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    /**
+     * Retourne le rendu en cache d’un article.
+     *
+     * @param id     identifiant de l’article
+     * @param format format souhaité
+     * @return le rendu et ses validateurs, ou {@code null} s’il n’est pas en cache
+     */
+    public RenderedItem get(Long id, Format format) {
+        return enabled ? cache.getIfPresent(new Key(id, format)) : null;
+    }
+
+    /**
+     * Enregistre le rendu d’un article.
+     *
+     * @param id       identifiant de l’article
+     * @param format   format du rendu
+     * @param rendered rendu final et validateurs de l’article
+     */
+    public void put(Long id, Format format, RenderedItem rendered) {
+        if (enabled) {
+            cache.put(new Key(id, format), rendered);
+        }
+    }
+
+    /**
+     * Supprime tous les rendus d’un article (tous formats confondus).
+     *
+     * @param id identifiant de l’article supprimé
+     */
+    public void invalidate(Long id) {
+        for (Format format : Format.values()) {
+            cache.invalidate(new Key(id, format));
+        }
+        log.debug("Rendus de l'article {} invalidés", id);
+    }
+
+    /**
+     * Supprime les rendus d’un ensemble d’articles. Si une transaction est active, les
+     * entrées sont de nouveau supprimées après sa validation : un rendu recalculé entre-temps
+     * par une lecture concurrente (qui voyait encore les articles) ne survit donc pas à la suppression.
+     *
+     * @param ids identifiants des articles supprimés
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(ids);
+                }
+            });
+        }
+        log.debug("Rendus de {} articles invalidés", ids.size());
+    }
+
+    /**
+     * Vide entièrement le cache, puis de nouveau après validation de la transaction active.
+     * Utilisé par les suppressions par critère, qui ne conservent pas les identifiants supprimés.
+     */
+    public void clear() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        }
+        log.debug("Cache des rendus vidé");
+    }
+
+    /**
+     * Vide le cache après la recompilation à chaud d’une feuille XSLT : les pages HTML
+     * en cache ont été produites par l’ancienne feuille.
+     *
+     * @param event feuille recompilée
+     */
+    @EventListener
+    public void onStylesheetReloaded(StylesheetReloadedEvent event) {
+        cache.invalidateAll();
+        log.info("Cache des rendus vidé après recompilation de {}", event.stylesheet().getPath());
+    }
+
+    /**
+     * Supprime les entrées de tous formats des articles fournis.
+     */
+    private void evict(Collection<Long> ids) {
+        List<Key> keys = new ArrayList<>(ids.size() * Format.values().length);
+        for (Long id : ids) {
+            for (Format format : Format.values()) {
+                keys.add(new Key(id, format));
+            }
+        }
+        cache.invalidateAll(keys);
+    }
+
+    /**
+     * Retourne les statistiques cumulées du cache.
+     *
+     * @return statistiques de succès, d’échecs et d’évictions
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Retourne le nombre approximatif d’entrées présentes.
+     *
+     * @return nombre estimé d’entrées
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Retourne le poids total courant des entrées, en octets.
+     *
+     * @return poids cumulé des entrées
+     */
+    public long weightedSizeBytes() {
+        return cache.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0L))
+            .orElse(0L);
+    }
+
+    /**
+     * Retourne la capacité maximale du cache, en octets.
+     *
+     * @return capacité configurée
+     */
+    public long maxWeightBytes() {
+        return maxWeightBytes;
+    }
+}
@@ -0,0 +1,210 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.config.RetentionProperties;
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.utils.DateTimeUtil;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Service de rétention : supprime les articles dont la date de publication dépasse
+ * l’âge maximal configuré ({@code rss25sb.retention.max-age-days}).
+ * <p>
+ * La purge est déclenchée par planification ({@code rss25sb.retention.cron}) ou à la demande.
+ * Elle procède par petits lots : chaque lot sélectionne, via l’index sur {@code published},
+ * les plus anciens articles expirés, puis les supprime par requêtes ensemblistes dans sa
+ * propre transaction ({@link ItemService#purgeBatchPublishedBefore(OffsetDateTime, int)}).
+ * Les verrous sont ainsi relâchés entre deux lots, et une courte pause laisse passer les
+ * insertions concurrentes. Les rendus en cache des articles supprimés sont invalidés.
+ * </p>
+ *
+ * <p>
+ * Une seule purge s’exécute à la fois. Le nombre de lignes supprimées et la durée des lots
+ * sont mesurés ({@link #stats()}) et publiés dans Micrometer ({@code rss25sb.retention.*}).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see ItemService
+ */
+@Slf4j
+@Service
+public class RetentionService implements MeterBinder {
+
+    /** Service de gestion des articles. */
+    private final ItemService itemService;
+
+    /** Propriétés de rétention. */
+    private final RetentionProperties retentionProperties;
+
+    /** Indique qu’une purge est en cours. */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Date de fin de la dernière purge. */
+    private final AtomicReference<OffsetDateTime> lastRun = new AtomicReference<>();
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder itemsPurged = new LongAdder();
+    private final LongAdder childRowsPurged = new LongAdder();
+    private final LongAdder totalBatchMs = new LongAdder();
+    private final LongAccumulator maxBatchMs = new LongAccumulator(Long::max, 0);
+    private final AtomicLong lastRunItems = new AtomicLong();
+
+    /**
+     * Construit le service de rétention.
+     *
+     * @param itemService         service de gestion des articles
+     * @param retentionProperties propriétés {@code rss25sb.retention}
+     */
+    public RetentionService(ItemService itemService, RetentionProperties retentionProperties) {
+        this.itemService = itemService;
+        this.retentionProperties = retentionProperties;
+        log.info("Rétention des articles : {} jours, lots de {}, planification « {} »{}",
+            retentionProperties.getMaxAgeDays(), retentionProperties.getBatchSize(),
+            retentionProperties.getCron(), retentionProperties.isEnabled() ? "" : " (désactivée)");
+    }
+
+    /**
+     * Purge planifiée, ignorée si la rétention est désactivée.
+     */
+    @Scheduled(cron = "${rss25sb.retention.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (!retentionProperties.isEnabled()) {
+            log.debug("Rétention désactivée, purge planifiée ignorée");
+            return;
+        }
+        if (purge().isEmpty()) {
+            log.warn("Purge planifiée ignorée : une purge est déjà en cours");
+        }
+    }
+
+    /**
+     * Supprime, lot par lot, tous les articles publiés avant la date limite de rétention.
+     *
+     * @return le bilan cumulé de la purge, ou {@link Optional#empty()} si une purge est déjà en cours
+     */
+    public Optional<BulkDeleteResponseDTO> purge() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            OffsetDateTime limit = OffsetDateTime.now(ZoneOffset.UTC)
+                .truncatedTo(ChronoUnit.SECONDS)
+                .minusDays(retentionProperties.getMaxAgeDays());
+            int batchSize = retentionProperties.getBatchSize();
+            BulkDeleteResponseDTO total = new BulkDeleteResponseDTO(
+                "published < " + DateTimeUtil.formatToRfc3339(limit));
+            log.info("Purge des articles publiés avant {}", limit);
+
+            BulkDeleteResponseDTO batch;
+            do {
+                long startedAt = System.nanoTime();
+                batch = itemService.purgeBatchPublishedBefore(limit, batchSize);
+                long batchMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                record(batch, batchMs);
+                total.add(batch);
+                log.debug("Lot de rétention : {} articles supprimés en {} ms", batch.getItems(), batchMs);
+            } while (batch.getItems() >= batchSize && pause());
+
+            runs.increment();
+            lastRunItems.set(total.getItems());
+            lastRun.set(OffsetDateTime.now(ZoneOffset.UTC));
+            log.info("Purge terminée : {} articles supprimés", total.getItems());
+            return Optional.of(total);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Retourne l’état de la rétention.
+     *
+     * @return les statistiques de purge
+     */
+    public RetentionStatsDTO stats() {
+        long done = batches.sum();
+        OffsetDateTime last = lastRun.get();
+        return new RetentionStatsDTO(
+            retentionProperties.isEnabled(),
+            retentionProperties.getMaxAgeDays(),
+            retentionProperties.getBatchSize(),
+            running.get(),
+            runs.sum(),
+            done,
+            itemsPurged.sum(),
+            childRowsPurged.sum(),
+            last == null ? null : DateTimeUtil.formatToRfc3339(last),
+            lastRunItems.get(),
+            done == 0 ? 0 : (double) totalBatchMs.sum() / done,
+            maxBatchMs.get()
+        );
+    }
+
+    /**
+     * Publie les lignes purgées, la durée des lots et l’état de la purge dans Micrometer.
+     *
+     * @param registry registre Micrometer de l’application
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rss25sb.retention.purged", itemsPurged, LongAdder::sum)
+            .description("Lignes supprimées par la rétention")
+            .tag("table", "item")
+            .register(registry);
+        FunctionCounter.builder("rss25sb.retention.purged", childRowsPurged, LongAdder::sum)
+            .description("Lignes supprimées par la rétention")
+            .tag("table", "child")
+            .register(registry);
+        FunctionTimer.builder("rss25sb.retention.batch", this,
+                s -> s.batches.sum(), s -> s.totalBatchMs.sum(), TimeUnit.MILLISECONDS)
+            .description("Durée des lots de purge")
+            .register(registry);
+        TimeGauge.builder("rss25sb.retention.batch.max", maxBatchMs, TimeUnit.MILLISECONDS, LongAccumulator::get)
+            .description("Durée maximale d’un lot de purge")
+            .register(registry);
+        Gauge.builder("rss25sb.retention.running", running, r -> r.get() ? 1 : 0)
+            .description("Purge en cours")
+            .register(registry);
+    }
+
+    /**
+     * Enregistre les compteurs d’un lot.
+     *
+     * @param batch   bilan du lot
+     * @param batchMs durée du lot, en millisecondes
+     */
+    private void record(BulkDeleteResponseDTO batch, long batchMs) {
+        batches.increment();
+        itemsPurged.add(batch.getItems());
+        childRowsPurged.add(batch.getCategories() + batch.getAuthors() + batch.getContributors());
+        totalBatchMs.add(batchMs);
+        maxBatchMs.accumulate(batchMs);
+    }
+
+    /**
+     * Marque une pause entre deux lots.
+     *
+     * @return {@code false} si le thread a été interrompu (arrêt de l’application)
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(retentionProperties.getPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Purge interrompue");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package fr.univrouen.rss25SB.utils;
+
+import fr.univrouen.rss25SB.exception.PayloadTooLargeException;
+
+import java.io.*;
+
+/**
+ * Flux d’entrée limitant le nombre total d’octets lus.
+ * <p>
+ * La limite est vérifiée au fil de la lecture : dès qu’elle est dépassée, une
+ * {@link PayloadTooLargeException} est levée, sans que le reste du flux ne soit lu.
+ * Les analyseurs XML n’enchaînant pas toujours la cause d’une erreur de lecture, le
+ * dépassement reste consultable après coup via {@link #getOverflow()}.
+ * Les appels à {@link #mark(int)} / {@link #reset()} ne sont pas supportés : le flux
+ * doit être enveloppé dans un {@link BufferedInputStream} si nécessaire.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+    /** Nombre maximal d’octets autorisés. */
+    private final long maxBytes;
+
+    /** Nombre d’octets lus jusqu’à présent. */
+    private long count;
+
+    /** Exception levée lors du dépassement, ou {@code null} si la limite est respectée. */
+    private PayloadTooLargeException overflow;
+
+    /**
+     * Construit un flux limité.
+     *
+     * @param input    flux sous-jacent
+     * @param maxBytes nombre maximal d’octets autorisés
+     */
+    public BoundedInputStream(InputStream input, long maxBytes) {
+        super(input);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Retourne le nombre d’octets lus jusqu’à présent.
+     *
+     * @return nombre d’octets lus
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Retourne l’exception levée lors du dépassement de la limite.
+     *
+     * @return l’exception, ou {@code null} si la limite n’a pas été dépassée
+     */
+    public PayloadTooLargeException getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Comptabilise des octets lus et vérifie la limite.
+     */
+    private void count(long n) throws PayloadTooLargeException {
+        count += n;
+        if (count > maxBytes) {
+            if (overflow == null) {
+                overflow = new PayloadTooLargeException(maxBytes);
+            }
+            throw overflow;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package fr.univrouen.rss25SB.utils;
 
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.*;
+import java.time.format.*;
 
 import lombok.NoArgsConstructor;
 
@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
  * <p><strong>Exemple de format RFC 3339 :</strong> {@code 2025-05-18T15:42:00+02:00}</p>
  * 
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.1
  */
 @NoArgsConstructor
 public class DateTimeUtil {
@@ -40,4 +40,22 @@ public class DateTimeUtil {
     public static String formatToRfc3339(OffsetDateTime dateTime) {
         return RFC3339_FORMATTER.format(dateTime);
     }
-}
\ No newline at end of file
+
+    /**
+     * Interprète une date au format RFC 3339, ou une date seule ({@code yyyy-MM-dd})
+     * considérée comme le début de la journée en UTC.
+     *
+     * @param value la chaîne à interpréter
+     * @return la date correspondante
+     * @throws DateTimeParseException si la chaîne ne respecte aucun des deux formats
+     *
+     * <p><b>Exemple :</b> {@code "2025-01-01"} donne {@code 2025-01-01T00:00Z}</p>
+     */
+    public static OffsetDateTime parseRfc3339OrDate(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() == 10) {
+            return LocalDate.parse(trimmed).atStartOfDay().atOffset(ZoneOffset.UTC);
+        }
+        return OffsetDateTime.parse(trimmed, RFC3339_FORMATTER);
+    }
+}
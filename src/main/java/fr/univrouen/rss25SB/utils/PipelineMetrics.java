@@ -0,0 +1,194 @@
+package fr.univrouen.rss25SB.utils;
+
+import fr.univrouen.rss25SB.utils.constants.PipelineStage;
+import io.micrometer.core.instrument.*;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.*;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Mesures Micrometer des chaînes d’ingestion et de rendu.
+ * <ul>
+ *     <li>{@value #STAGE_TIMER} : durée de chaque étape ({@link PipelineStage}), avec les
+ *         étiquettes {@code stage}, {@code endpoint}, {@code source} et {@code outcome}</li>
+ *     <li>{@value #FEED_ITEMS} : nombre d’articles lus par flux soumis</li>
+ *     <li>{@value #FEED_BYTES} : taille des flux soumis, en octets</li>
+ * </ul>
+ * <p>
+ * L’étiquette {@code endpoint} reprend le motif de la route HTTP en cours
+ * (ex : {@code /rss25SB/html/{id}}), ce qui borne sa cardinalité. L’étiquette {@code source}
+ * désigne le convertisseur pour l’ingestion ({@code rss25SB} pour un flux natif), et la feuille
+ * XSLT ou le type sérialisé pour le rendu.
+ * </p>
+ *
+ * <p>
+ * Les mesures sont enregistrées dans le registre Micrometer de l’application, injecté par Spring.
+ * Chaque minuteur (ou distribution) est créé une seule fois par combinaison d’étiquettes puis
+ * conservé : un enregistrement ne reconstruit ni ne recherche de compteur dans le registre.
+ * Les histogrammes sont publiés, ce qui permet de calculer des percentiles côté Prometheus
+ * ({@code histogram_quantile}).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 2.0
+ */
+@Component
+public class PipelineMetrics {
+
+    /** Minuteur des étapes. */
+    public static final String STAGE_TIMER = "rss25sb.pipeline.stage";
+
+    /** Distribution du nombre d’articles par flux. */
+    public static final String FEED_ITEMS = "rss25sb.ingest.feed.items";
+
+    /** Distribution de la taille des flux. */
+    public static final String FEED_BYTES = "rss25sb.ingest.feed.bytes";
+
+    /** Valeur de l’étiquette {@code endpoint} hors requête HTTP (tâche de fond). */
+    public static final String NO_ENDPOINT = "none";
+
+    /**
+     * Étiquettes d’un minuteur d’étape.
+     *
+     * @param stage    étape mesurée
+     * @param endpoint motif de la route
+     * @param source   convertisseur, feuille XSLT ou type sérialisé
+     * @param success  issue de l’étape
+     */
+    private record StageKey(PipelineStage stage, String endpoint, String source, boolean success) {
+    }
+
+    /**
+     * Étiquettes des distributions d’un flux soumis.
+     *
+     * @param endpoint motif de la route
+     * @param source   convertisseur du flux
+     */
+    private record FeedKey(String endpoint, String source) {
+    }
+
+    /**
+     * Distributions d’un flux soumis.
+     *
+     * @param items nombre d’articles
+     * @param bytes taille en octets
+     */
+    private record FeedSummaries(DistributionSummary items, DistributionSummary bytes) {
+    }
+
+    /** Registre Micrometer de l’application. */
+    private final MeterRegistry registry;
+
+    /** Minuteurs déjà créés, par combinaison d’étiquettes. */
+    private final Map<StageKey, Timer> timers = new ConcurrentHashMap<>();
+
+    /** Distributions déjà créées, par combinaison d’étiquettes. */
+    private final Map<FeedKey, FeedSummaries> feeds = new ConcurrentHashMap<>();
+
+    /**
+     * Construit les mesures sur le registre fourni.
+     *
+     * @param registry registre Micrometer de l’application
+     */
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Enregistre la durée d’une étape.
+     *
+     * @param stage        étape mesurée
+     * @param endpoint     motif de la route à l’origine du traitement
+     * @param source       convertisseur, feuille XSLT ou type sérialisé
+     * @param success      {@code true} si l’étape s’est terminée normalement
+     * @param elapsedNanos durée, en nanosecondes
+     */
+    public void record(PipelineStage stage, String endpoint, String source, boolean success, long elapsedNanos) {
+        timers.computeIfAbsent(new StageKey(stage, endpoint, source, success), this::stageTimer)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Enregistre la durée d’une étape commencée à {@code startNanos}, pour la route en cours.
+     *
+     * @param stage      étape mesurée
+     * @param source     convertisseur, feuille XSLT ou type sérialisé
+     * @param success    {@code true} si l’étape s’est terminée normalement
+     * @param startNanos instant de début ({@link System#nanoTime()})
+     */
+    public void recordSince(PipelineStage stage, String source, boolean success, long startNanos) {
+        record(stage, currentEndpoint(), source, success, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Enregistre le nombre d’articles et la taille d’un flux soumis.
+     *
+     * @param endpoint motif de la route à l’origine de l’ingestion
+     * @param source   convertisseur du flux
+     * @param items    nombre d’articles lus
+     * @param bytes    nombre d’octets lus
+     */
+    public void recordFeed(String endpoint, String source, int items, long bytes) {
+        FeedSummaries summaries = feeds.computeIfAbsent(new FeedKey(endpoint, source), this::feedSummaries);
+        summaries.items().record(items);
+        summaries.bytes().record(bytes);
+    }
+
+    /**
+     * Retourne le motif de la route HTTP traitée par le thread courant.
+     *
+     * @return le motif (ex : {@code /rss25SB/insert}), ou {@value #NO_ENDPOINT} hors requête
+     */
+    public static String currentEndpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            Object pattern = attributes.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                return pattern.toString();
+            }
+        }
+        return NO_ENDPOINT;
+    }
+
+    /**
+     * Crée le minuteur d’une combinaison d’étiquettes.
+     */
+    private Timer stageTimer(StageKey key) {
+        return Timer.builder(STAGE_TIMER)
+            .description("Durée des étapes d’ingestion et de rendu")
+            .tag("stage", key.stage().getTag())
+            .tag("endpoint", key.endpoint())
+            .tag("source", key.source())
+            .tag("outcome", key.success() ? "success" : "error")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    /**
+     * Crée les distributions d’une combinaison d’étiquettes.
+     */
+    private FeedSummaries feedSummaries(FeedKey key) {
+        DistributionSummary items = DistributionSummary.builder(FEED_ITEMS)
+            .description("Nombre d’articles par flux soumis")
+            .baseUnit("items")
+            .tag("endpoint", key.endpoint())
+            .tag("source", key.source())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(100_000.0)
+            .register(registry);
+        DistributionSummary bytes = DistributionSummary.builder(FEED_BYTES)
+            .description("Taille des flux soumis")
+            .baseUnit("bytes")
+            .tag("endpoint", key.endpoint())
+            .tag("source", key.source())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1024.0)
+            .maximumExpectedValue(64.0 * 1024 * 1024)
+            .register(registry);
+        return new FeedSummaries(items, bytes);
+    }
+}
@@ -0,0 +1,249 @@
+package fr.univrouen.rss25SB.utils;
+
+import fr.univrouen.rss25SB.model.xml.Item;
+import fr.univrouen.rss25SB.utils.constants.Constants;
+import jakarta.xml.bind.*;
+import lombok.extern.slf4j.Slf4j;
+
+import org.xml.sax.*;
+import org.xml.sax.helpers.*;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.*;
+import javax.xml.validation.ValidatorHandler;
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Lecteur en flux d’un document {@code rss25SB} natif.
+ * <p>
+ * Le document est analysé une seule fois par un analyseur SAX dont les événements traversent
+ * successivement :
+ * </p>
+ * <ol>
+ *     <li>un {@link ValidatorHandler} issu du schéma XSD précompilé, qui lève une
+ *         {@link SAXParseException} dès la première violation ;</li>
+ *     <li>un découpeur qui transmet le sous-arbre de chaque {@code <item>} de premier niveau
+ *         à un {@link UnmarshallerHandler} JAXB, puis remet l’{@link Item} obtenu au consommateur.</li>
+ * </ol>
+ * <p>
+ * Seul l’article en cours de lecture est matérialisé : la mémoire utilisée est bornée par
+ * la taille du plus grand article, et non par celle du document.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see XmlContextRegistry
+ */
+@Slf4j
+public final class StreamingFeedReader {
+
+    /** Fabrique SAX partagée (sans DTD ni entités externes). */
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    static {
+        PARSER_FACTORY.setNamespaceAware(true);
+        try {
+            PARSER_FACTORY.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            PARSER_FACTORY.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            PARSER_FACTORY.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            PARSER_FACTORY.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private StreamingFeedReader() {
+    }
+
+    /**
+     * Valide un document {@code rss25SB} contre le schéma XSD et transmet chacun de ses
+     * articles au consommateur, au fil de la lecture.
+     * <p>
+     * Les articles précédant une éventuelle erreur de validation ont déjà été transmis :
+     * l’appelant doit donc traiter l’ensemble de façon transactionnelle s’il souhaite
+     * une insertion en tout ou rien.
+     * </p>
+     *
+     * @param input    flux d’octets du document (non fermé par cette méthode)
+     * @param consumer destinataire des articles désérialisés
+     * @return le nombre d’articles transmis
+     * @throws SAXException  si le document est mal formé ou non conforme au XSD
+     * @throws IOException   si la lecture du flux échoue
+     * @throws JAXBException si un article ne peut être désérialisé
+     */
+    public static int stream(InputStream input, Consumer<Item> consumer)
+            throws SAXException, IOException, JAXBException {
+        Unmarshaller unmarshaller = XmlContextRegistry.borrowUnmarshaller(Item.class, null);
+        try {
+            ValidatorHandler validator = XmlContextRegistry.getSchema(Constants.XSD_PATH).newValidatorHandler();
+            ItemSplitter splitter = new ItemSplitter(unmarshaller, consumer);
+            validator.setContentHandler(splitter);
+
+            XMLReader reader = newParser().getXMLReader();
+            reader.setContentHandler(validator);
+            reader.setErrorHandler(validator.getErrorHandler());
+            reader.parse(new InputSource(input));
+
+            log.debug("Lecture en flux terminée : {} articles", splitter.count);
+            return splitter.count;
+        } finally {
+            XmlContextRegistry.releaseUnmarshaller(Item.class, null, unmarshaller);
+        }
+    }
+
+    /**
+     * Crée un analyseur SAX à partir de la fabrique partagée.
+     */
+    private static SAXParser newParser() throws SAXException {
+        try {
+            return PARSER_FACTORY.newSAXParser();
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    /**
+     * Gestionnaire SAX qui isole chaque {@code <item>} enfant direct de la racine et
+     * le désérialise indépendamment du reste du document.
+     */
+    private static final class ItemSplitter extends DefaultHandler {
+
+        /** Profondeur d’un article dans le document (la racine est au niveau 1). */
+        private static final int ITEM_DEPTH = 2;
+
+        private final Unmarshaller unmarshaller;
+        private final Consumer<Item> consumer;
+
+        /** Espaces de noms en vigueur, rejoués au début de chaque article. */
+        private final NamespaceSupport namespaces = new NamespaceSupport();
+
+        /** Déclarations reçues pour le prochain élément ouvrant. */
+        private final List<String[]> pendingMappings = new ArrayList<>();
+
+        /** Préfixes rejoués au début de l’article courant. */
+        private final List<String> replayedPrefixes = new ArrayList<>();
+
+        /** Destinataire des événements de l’article courant, ou {@code null} hors article. */
+        private UnmarshallerHandler current;
+
+        private int depth;
+        private int count;
+
+        ItemSplitter(Unmarshaller unmarshaller, Consumer<Item> consumer) {
+            this.unmarshaller = unmarshaller;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            if (current != null) {
+                current.startPrefixMapping(prefix, uri);
+            } else {
+                pendingMappings.add(new String[] { prefix, uri });
+            }
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            if (current != null) {
+                current.endPrefixMapping(prefix);
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            depth++;
+            if (current == null) {
+                namespaces.pushContext();
+                for (String[] mapping : pendingMappings) {
+                    namespaces.declarePrefix(mapping[0], mapping[1]);
+                }
+                pendingMappings.clear();
+
+                if (depth == ITEM_DEPTH && Constants.RSS25_NAMESPACE.equals(uri) && "item".equals(localName)) {
+                    beginItem();
+                }
+            }
+            if (current != null) {
+                current.startElement(uri, localName, qName, attributes);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (current != null) {
+                current.endElement(uri, localName, qName);
+                if (depth == ITEM_DEPTH) {
+                    endItem();
+                }
+            }
+            if (current == null) {
+                namespaces.popContext();
+            }
+            depth--;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (current != null) {
+                current.characters(ch, start, length);
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            if (current != null) {
+                current.ignorableWhitespace(ch, start, length);
+            }
+        }
+
+        /**
+         * Ouvre un document JAXB autonome pour l’article et y rejoue les espaces de noms en vigueur.
+         */
+        private void beginItem() throws SAXException {
+            current = unmarshaller.getUnmarshallerHandler();
+            current.startDocument();
+            Enumeration<?> prefixes = namespaces.getPrefixes();
+            while (prefixes.hasMoreElements()) {
+                String prefix = (String) prefixes.nextElement();
+                replay(prefix, namespaces.getURI(prefix));
+            }
+            String defaultUri = namespaces.getURI("");
+            if (defaultUri != null) {
+                replay("", defaultUri);
+            }
+        }
+
+        private void replay(String prefix, String uri) throws SAXException {
+            if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+                return;
+            }
+            current.startPrefixMapping(prefix, uri);
+            replayedPrefixes.add(prefix);
+        }
+
+        /**
+         * Clôt le document JAXB de l’article et transmet l’{@link Item} obtenu.
+         */
+        private void endItem() throws SAXException {
+            for (String prefix : replayedPrefixes) {
+                current.endPrefixMapping(prefix);
+            }
+            replayedPrefixes.clear();
+            current.endDocument();
+
+            Object result;
+            try {
+                result = JAXBIntrospector.getValue(current.getResult());
+            } catch (JAXBException e) {
+                throw new SAXException("Article illisible : " + e.getMessage(), e);
+            }
+            current = null;
+            count++;
+            consumer.accept((Item) result);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package fr.univrouen.rss25SB.utils;
+
+import fr.univrouen.rss25SB.utils.constants.XsltFilePath;
+
+/**
+ * Événement publié par {@link XsltTransformer} lorsqu’une feuille de style modifiée sur le disque
+ * a été recompilée (rechargement à chaud). Les rendus produits avec l’ancienne feuille
+ * et les validateurs HTTP qui leur sont associés doivent alors être abandonnés.
+ *
+ * @param stylesheet feuille XSLT recompilée
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public record StylesheetReloadedEvent(XsltFilePath stylesheet) {
+}
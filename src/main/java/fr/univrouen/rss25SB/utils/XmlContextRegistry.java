@@ -0,0 +1,206 @@
+package fr.univrouen.rss25SB.utils;
+
+import jakarta.xml.bind.*;
+import lombok.extern.slf4j.Slf4j;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.*;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Registre global (à l’échelle du processus) des objets XML coûteux à construire :
+ * <ul>
+ *     <li>les {@link JAXBContext}, un par classe racine</li>
+ *     <li>les {@link Schema} XSD compilés, un par chemin de classpath</li>
+ *     <li>des pools de {@link Unmarshaller} et {@link Marshaller} réutilisables</li>
+ * </ul>
+ *
+ * <p>
+ * {@link JAXBContext} et {@link Schema} sont thread-safe et sont donc partagés.
+ * En revanche, {@link Unmarshaller} et {@link Marshaller} ne le sont pas : ils sont
+ * empruntés dans un pool borné le temps d’un appel, puis restitués. Un pool est
+ * préféré à un {@link ThreadLocal} afin de ne pas dupliquer les instances sur chaque
+ * thread Tomcat (ou thread virtuel).
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see XmlUtil
+ */
+@Slf4j
+public final class XmlContextRegistry {
+
+    /** Nombre maximal d’instances inactives conservées par pool. */
+    private static final int MAX_IDLE_PER_POOL = 32;
+
+    /** Contextes JAXB compilés, indexés par classe racine. */
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    /** Schémas XSD compilés, indexés par chemin dans le classpath. */
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    /** Désérialiseurs inactifs, indexés par couple (classe, XSD). */
+    private static final Map<String, Deque<Unmarshaller>> UNMARSHALLERS = new ConcurrentHashMap<>();
+
+    /** Sérialiseurs inactifs (sortie indentée), indexés par classe. */
+    private static final Map<Class<?>, Deque<Marshaller>> MARSHALLERS = new ConcurrentHashMap<>();
+
+    /**
+     * Constructeur privé pour empêcher l’instanciation de cette classe utilitaire.
+     */
+    private XmlContextRegistry() {
+
+    }
+
+    /**
+     * Compile par avance le schéma et les contextes JAXB fournis.
+     * <p>
+     * Appelée au démarrage de l’application, cette méthode évite que la première
+     * requête d’insertion ne paie le coût de compilation.
+     *
+     * @param xsdPath chemin du fichier XSD dans le classpath (peut être {@code null})
+     * @param classes classes racines JAXB à précompiler
+     * @throws JAXBException si un contexte JAXB ne peut être construit
+     * @throws SAXException si le schéma XSD est invalide
+     */
+    public static void preload(String xsdPath, Class<?>... classes) throws JAXBException, SAXException {
+        if (xsdPath != null) {
+            getSchema(xsdPath);
+        }
+        for (Class<?> clazz : classes) {
+            getContext(clazz);
+        }
+        log.info("Registre XML initialisé : {} contexte(s) JAXB, {} schéma(s) XSD", CONTEXTS.size(), SCHEMAS.size());
+    }
+
+    /**
+     * Retourne le contexte JAXB associé à une classe, en le créant au premier appel.
+     *
+     * @param clazz classe racine JAXB
+     * @return le contexte partagé
+     * @throws JAXBException si le contexte ne peut être construit
+     */
+    public static JAXBContext getContext(Class<?> clazz) throws JAXBException {
+        JAXBContext context = CONTEXTS.get(clazz);
+        if (context == null) {
+            log.debug("Création du contexte JAXB pour {}", clazz.getSimpleName());
+            context = JAXBContext.newInstance(clazz);
+            JAXBContext previous = CONTEXTS.putIfAbsent(clazz, context);
+            if (previous != null) {
+                context = previous;
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Retourne le schéma XSD compilé correspondant au chemin donné.
+     *
+     * @param xsdPath chemin du fichier XSD dans le classpath
+     * @return le schéma compilé partagé
+     * @throws SAXException si le schéma est invalide
+     * @throws IllegalArgumentException si le fichier XSD est introuvable
+     */
+    public static Schema getSchema(String xsdPath) throws SAXException {
+        Schema schema = SCHEMAS.get(xsdPath);
+        if (schema == null) {
+            URL resource = XmlContextRegistry.class.getClassLoader().getResource(xsdPath);
+            if (resource == null) {
+                throw new IllegalArgumentException("Fichier XSD introuvable : " + xsdPath);
+            }
+            log.debug("Compilation du schéma XSD {}", xsdPath);
+            schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(resource);
+            Schema previous = SCHEMAS.putIfAbsent(xsdPath, schema);
+            if (previous != null) {
+                schema = previous;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Emprunte un désérialiseur configuré pour la classe et le schéma donnés.
+     * L’instance doit être restituée via {@link #releaseUnmarshaller(Class, String, Unmarshaller)}.
+     *
+     * @param clazz   classe racine JAXB
+     * @param xsdPath chemin du XSD de validation, ou {@code null} pour désactiver la validation
+     * @return un désérialiseur prêt à l’emploi
+     * @throws JAXBException si le désérialiseur ne peut être créé
+     * @throws SAXException si le schéma est invalide
+     */
+    public static Unmarshaller borrowUnmarshaller(Class<?> clazz, String xsdPath) throws JAXBException, SAXException {
+        Unmarshaller unmarshaller = poolOf(UNMARSHALLERS, unmarshallerKey(clazz, xsdPath)).pollFirst();
+        if (unmarshaller == null) {
+            unmarshaller = getContext(clazz).createUnmarshaller();
+            if (xsdPath != null) {
+                unmarshaller.setSchema(getSchema(xsdPath));
+            }
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * Restitue un désérialiseur au pool après utilisation.
+     *
+     * @param clazz        classe racine JAXB utilisée lors de l’emprunt
+     * @param xsdPath      chemin du XSD utilisé lors de l’emprunt
+     * @param unmarshaller instance à restituer
+     */
+    public static void releaseUnmarshaller(Class<?> clazz, String xsdPath, Unmarshaller unmarshaller) {
+        release(poolOf(UNMARSHALLERS, unmarshallerKey(clazz, xsdPath)), unmarshaller);
+    }
+
+    /**
+     * Emprunte un sérialiseur (sortie indentée) pour la classe donnée.
+     * L’instance doit être restituée via {@link #releaseMarshaller(Class, Marshaller)}.
+     *
+     * @param clazz classe de l’objet à sérialiser
+     * @return un sérialiseur prêt à l’emploi
+     * @throws JAXBException si le sérialiseur ne peut être créé
+     */
+    public static Marshaller borrowMarshaller(Class<?> clazz) throws JAXBException {
+        Marshaller marshaller = poolOf(MARSHALLERS, clazz).pollFirst();
+        if (marshaller == null) {
+            marshaller = getContext(clazz).createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        }
+        return marshaller;
+    }
+
+    /**
+     * Restitue un sérialiseur au pool après utilisation.
+     *
+     * @param clazz      classe utilisée lors de l’emprunt
+     * @param marshaller instance à restituer
+     */
+    public static void releaseMarshaller(Class<?> clazz, Marshaller marshaller) {
+        release(poolOf(MARSHALLERS, clazz), marshaller);
+    }
+
+    /**
+     * Retourne (en le créant si besoin) le pool associé à une clé.
+     */
+    private static <K, V> Deque<V> poolOf(Map<K, Deque<V>> pools, K key) {
+        return pools.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    /**
+     * Remet une instance dans son pool, sauf si celui-ci est déjà plein.
+     */
+    private static <V> void release(Deque<V> pool, V instance) {
+        if (instance != null && pool.size() < MAX_IDLE_PER_POOL) {
+            pool.offerFirst(instance);
+        }
+    }
+
+    /**
+     * Construit la clé d’un pool de désérialiseurs.
+     */
+    private static String unmarshallerKey(Class<?> clazz, String xsdPath) {
+        return clazz.getName() + "|" + xsdPath;
+    }
+}
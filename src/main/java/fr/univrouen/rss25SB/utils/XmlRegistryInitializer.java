@@ -0,0 +1,50 @@
+package fr.univrouen.rss25SB.utils;
+
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.model.xml.*;
+import fr.univrouen.rss25SB.utils.constants.Constants;
+import jakarta.annotation.PostConstruct;
+import jakarta.xml.bind.JAXBException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+
+/**
+ * Composant Spring chargé de précompiler, au démarrage de l’application,
+ * le schéma XSD rss25SB et les contextes JAXB de toutes les classes racines
+ * manipulées par les contrôleurs.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.4
+ * @see XmlContextRegistry
+ */
+@Slf4j
+@Component
+public class XmlRegistryInitializer {
+
+    /**
+     * Remplit le {@link XmlContextRegistry} avant la première requête HTTP.
+     *
+     * @throws JAXBException si un contexte JAXB ne peut être construit
+     * @throws SAXException si le schéma XSD est invalide
+     */
+    @PostConstruct
+    public void preload() throws JAXBException, SAXException {
+        log.debug("Précompilation du schéma {} et des contextes JAXB", Constants.XSD_PATH);
+        XmlContextRegistry.preload(
+            Constants.XSD_PATH,
+            Feed.class,
+            Item.class,
+            ItemSummaryListDTO.class,
+            InsertResponseDTO.class,
+            DeleteResponseDTO.class,
+            BulkDeleteResponseDTO.class,
+            XmlErrorResponseDTO.class,
+            CacheStatsDTO.class,
+            InsertQueueStatsDTO.class,
+            RetentionStatsDTO.class,
+            PollerStatsDTO.class
+        );
+    }
+}
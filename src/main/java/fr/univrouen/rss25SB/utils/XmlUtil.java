@@ -5,27 +5,43 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.xml.sax.SAXException;
 
-import javax.xml.XMLConstants;
-import javax.xml.validation.*;
+import javax.xml.stream.*;
 import java.io.*;
 
 /**
  * Utilitaire pour la manipulation XML avec JAXB, incluant :
  * <ul>
  *     <li>la désérialisation d’un flux XML en objet Java avec validation XSD</li>
- *     <li>la sérialisation d’un objet Java en chaîne XML</li>
+ *     <li>la sérialisation d’un objet Java en chaîne XML ou directement dans un flux</li>
+ *     <li>la création de lecteurs StAX sécurisés (sans DTD ni entités externes)</li>
  * </ul>
  * <p>
  * Ce composant est utilisé notamment dans les contrôleurs pour convertir
  * les flux RSS personnalisés vers/depuis les classes JAXB.
  * </p>
+ *
+ * <p>
+ * Les contextes JAXB, le schéma XSD et les (dé)sérialiseurs ne sont plus construits
+ * à chaque appel : ils proviennent de {@link XmlContextRegistry}. Utilitaire statique, il n’est
+ * pas instrumenté : les composants des chemins critiques mesurent eux-mêmes la sérialisation
+ * ({@link PipelineMetrics}).
+ * </p>
  * 
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.4
  */
 @Slf4j
 public class XmlUtil {
 
+    /** Fabrique StAX partagée (thread-safe une fois configurée), sans DTD ni entités externes. */
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    }
+
     /**
      * Désérialise un flux XML en un objet Java, en le validant à l’aide d’un schéma XSD.
      *
@@ -42,19 +58,15 @@ public class XmlUtil {
     public static <T> T unmarshal(String xmlContent, Class<T> clazz, String xsdPath)
             throws JAXBException, SAXException {
         log.debug("Début unmarshal pour la classe {} avec XSD={}", clazz.getSimpleName(), xsdPath);
-        // Création du contexte JAXB pour la classe cible
-        JAXBContext context = JAXBContext.newInstance(clazz);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
-
-        // Chargement du schéma XSD depuis le classpath
-        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Schema schema = factory.newSchema(XmlUtil.class.getClassLoader().getResource(xsdPath));
-
-        // Attache le schéma au désérialiseur pour activer la validation XSD
-        unmarshaller.setSchema(schema);
-
-        // Conversion de la chaîne XML vers un objet Java
-        T result = (T) unmarshaller.unmarshal(new StringReader(xmlContent));
+        // Emprunt d'un désérialiseur précompilé, déjà associé au schéma XSD
+        Unmarshaller unmarshaller = XmlContextRegistry.borrowUnmarshaller(clazz, xsdPath);
+        T result;
+        try {
+            // Conversion de la chaîne XML vers un objet Java
+            result = (T) unmarshaller.unmarshal(new StringReader(xmlContent));
+        } finally {
+            XmlContextRegistry.releaseUnmarshaller(clazz, xsdPath, unmarshaller);
+        }
         log.debug("Unmarshal réussi pour {}", clazz.getSimpleName());
 
         return result;
@@ -69,23 +81,81 @@ public class XmlUtil {
      * @throws JAXBException si la sérialisation échoue (ex : attributs manquants, structure incorrecte)
      */
     public static String marshal(Object object) throws JAXBException {
-        // Création du contexte JAXB à partir de la classe réelle de l'objet
         log.debug("Début marshal pour l’objet de classe {}", object.getClass().getSimpleName());
-        JAXBContext context = JAXBContext.newInstance(object.getClass());
-        Marshaller marshaller = context.createMarshaller();
-
-        // Option pour indenter le XML pour plus de lisibilité
-        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        // Emprunt d'un sérialiseur (sortie indentée) associé à la classe réelle de l'objet
+        Marshaller marshaller = XmlContextRegistry.borrowMarshaller(object.getClass());
 
         // Sérialisation de l'objet vers une chaîne XML
         StringWriter writer = new StringWriter();
-        marshaller.marshal(object, writer);
+        try {
+            marshaller.marshal(object, writer);
+        } finally {
+            XmlContextRegistry.releaseMarshaller(object.getClass(), marshaller);
+        }
         String xml = writer.toString();
         log.debug("Marshal réussi ({} octets générés)", xml.length());
 
         return xml;
     }
 
+    /**
+     * Sérialise un objet Java en XML indenté directement dans un flux de sortie (UTF-8),
+     * sans construire de chaîne intermédiaire.
+     *
+     * @param object l’objet à convertir
+     * @param output flux de destination (ex : réponse HTTP) ; il n’est pas fermé par cette méthode
+     *
+     * @throws JAXBException si la sérialisation échoue
+     */
+    public static void marshal(Object object, OutputStream output) throws JAXBException {
+        log.debug("Début marshal (flux) pour l’objet de classe {}", object.getClass().getSimpleName());
+        Marshaller marshaller = XmlContextRegistry.borrowMarshaller(object.getClass());
+        try {
+            marshaller.marshal(object, output);
+        } finally {
+            XmlContextRegistry.releaseMarshaller(object.getClass(), marshaller);
+        }
+    }
+
+    /**
+     * Crée un lecteur StAX sur un flux d’octets. L’encodage est déterminé à partir
+     * du prologue XML (UTF-8 par défaut).
+     *
+     * @param input flux d’octets du document (non fermé par le lecteur)
+     * @return un lecteur StAX positionné au début du document
+     * @throws XMLStreamException si le lecteur ne peut être créé
+     */
+    public static XMLStreamReader createStreamReader(InputStream input) throws XMLStreamException {
+        return INPUT_FACTORY.createXMLStreamReader(input);
+    }
+
+    /**
+     * Crée un lecteur StAX sur un flux de caractères déjà décodé.
+     *
+     * @param input flux de caractères du document (non fermé par le lecteur)
+     * @return un lecteur StAX positionné au début du document
+     * @throws XMLStreamException si le lecteur ne peut être créé
+     */
+    public static XMLStreamReader createStreamReader(Reader input) throws XMLStreamException {
+        return INPUT_FACTORY.createXMLStreamReader(input);
+    }
+
+    /**
+     * Ferme un lecteur StAX en ignorant les erreurs de fermeture.
+     *
+     * @param reader lecteur à fermer (peut être {@code null})
+     */
+    public static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            log.debug("Fermeture du lecteur StAX impossible : {}", e.getMessage());
+        }
+    }
+
     /**
      * Parcourt la chaîne d’exceptions pour en extraire le message de la cause racine.
      * <p>
@@ -1,25 +1,57 @@
 package fr.univrouen.rss25SB.utils;
 
+import fr.univrouen.rss25SB.utils.constants.*;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.xml.transform.*;
+import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.*;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.*;
+import jakarta.xml.bind.util.JAXBSource;
+
+import org.xml.sax.*;
+import org.xml.sax.helpers.XMLFilterImpl;
 
 import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utilitaire de transformation permettant de convertir du contenu XML en HTML
- * à l’aide de feuilles de style XSLT. Cette classe fournit deux méthodes :
+ * à l’aide de feuilles de style XSLT. Cette classe fournit les méthodes suivantes :
  * <ul>
- *     <li>{@link #transform(String, String)} pour transformer une chaîne XML</li>
- *     <li>{@link #marshalAndTransform(Object, String)} pour transformer un objet JAXB</li>
+ *     <li>{@link #transform(String, XsltFilePath)} pour transformer une chaîne XML</li>
+ *     <li>{@link #marshalAndTransform(Object, XsltFilePath)} pour transformer un objet JAXB</li>
+ *     <li>{@link #marshalAndTransform(Object, XsltFilePath, OutputStream)} pour écrire le HTML
+ *         directement dans un flux (ex : réponse HTTP)</li>
  * </ul>
  *
  * <p>
+ * Chaque feuille de style est compilée une seule fois en objet {@link Templates}
+ * (thread-safe), indexé par {@link XsltFilePath}. Chaque requête n’instancie ensuite
+ * qu’un {@link Transformer} léger. En mode développement
+ * ({@code rss25sb.xslt.hot-reload=true}), une feuille est recompilée dès que
+ * son fichier est modifié sur le disque : une seule requête la recompile, les
+ * autres requêtes sur la même feuille attendent le résultat sur un verrou propre à la feuille
+ * (un {@link ReentrantLock}, qui ne bloque pas le thread porteur d’un thread virtuel), et non
+ * sous le verrou interne de la table. Les fichiers sont aussi vérifiés
+ * périodiquement ({@code rss25sb.xslt.reload-check-ms}), car une page servie depuis le cache des
+ * rendus ne passe plus par ce transformateur. Chaque recompilation publie un
+ * {@link StylesheetReloadedEvent}, qui vide le cache des rendus et change leur version.
+ * La durée de chaque transformation est mesurée ({@link PipelineMetrics}, étape {@code xslt}) ;
+ * pour un objet JAXB, la sérialisation (qui alimente l’arbre d’entrée du transformateur avant
+ * l’exécution de la feuille) est mesurée à part, à l’étape {@code marshal}.
+ * </p>
+ *
+ * <p>
  * Ces méthodes sont principalement utilisées dans les contrôleurs REST pour
  * générer dynamiquement des pages HTML à partir des flux RSS stockés dans l’application.
  * </p>
@@ -28,46 +60,66 @@ import java.io.*;
  * En cas d’erreur de transformation, un message HTML d’erreur est généré et journalisé.
  *
  * @author Matisse SENECHAL
- * @version 2.0
+ * @version 3.6
  */
 @Slf4j
 @Component
 public class XsltTransformer {
 
+    /** Feuilles de style compilées, indexées par chemin XSLT. */
+    private final Map<XsltFilePath, CompiledStylesheet> cache = new ConcurrentHashMap<>();
+
+    /** Verrous de recompilation, un par feuille de style. */
+    private final Map<XsltFilePath, ReentrantLock> reloadLocks = new EnumMap<>(XsltFilePath.class);
+
+    /** Active le rechargement à chaud des feuilles modifiées (mode développement). */
+    private final boolean hotReload;
+
+    /** Publication des recompilations à chaud. */
+    private final ApplicationEventPublisher publisher;
+
+    /** Mesures des étapes de rendu. */
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * Construit le transformateur et précompile toutes les feuilles de style connues.
+     *
+     * @param hotReload       {@code true} pour recompiler une feuille XSLT lorsque son fichier change
+     * @param publisher       publication des {@link StylesheetReloadedEvent}
+     * @param pipelineMetrics mesures des étapes de rendu
+     */
+    public XsltTransformer(@Value("${rss25sb.xslt.hot-reload:false}") boolean hotReload,
+                           ApplicationEventPublisher publisher,
+                           PipelineMetrics pipelineMetrics) {
+        this.hotReload = hotReload;
+        this.publisher = publisher;
+        this.pipelineMetrics = pipelineMetrics;
+        for (XsltFilePath path : XsltFilePath.values()) {
+            cache.put(path, compile(path));
+            reloadLocks.put(path, new ReentrantLock());
+        }
+        log.info("{} feuilles XSLT précompilées (rechargement à chaud : {})", cache.size(), hotReload);
+    }
+
     /**
      * Transforme un contenu XML (au format chaîne) en HTML via une feuille XSLT.
      *
      * @param xmlContent   Chaîne XML à transformer (doit être bien formée)
-     * @param xsltFilePath Chemin relatif du fichier XSLT dans le classpath (ex: {@code "/xslt/rss25-list.xslt"})
+     * @param xsltFilePath Feuille XSLT à appliquer (ex: {@link XsltFilePath#LIST})
      * @return Chaîne HTML générée par la transformation ; si une erreur survient, un message HTML d’erreur est retourné
-     *
-     * @throws IllegalArgumentException si le fichier XSLT est introuvable dans le classpath
      */
-    public static String transform(String xmlContent, String xsltFilePath) {
+    public String transform(String xmlContent, XsltFilePath xsltFilePath) {
+        long start = System.nanoTime();
         try {
-            // Création des sources XML et XSLT
-            Source xmlSource = new StreamSource(new StringReader(xmlContent));
-            InputStream xsltStream = XsltTransformer.class.getResourceAsStream(xsltFilePath);
-            if (xsltStream == null) {
-                throw new IllegalArgumentException("Fichier XSLT introuvable : " + xsltFilePath);
-            }
-            Source xsltSource = new StreamSource(xsltStream);
-
-            // Initialisation du transformateur
-            TransformerFactory factory = TransformerFactory.newInstance();
-            Transformer transformer = factory.newTransformer(xsltSource);
-
-            // Définition des propriétés de sortie HTML
-            transformer.setOutputProperty(OutputKeys.METHOD, "html");
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-
-            // Transformation en mémoire
+            // Transformation en mémoire à partir d'un Transformer issu du cache
             StringWriter outputWriter = new StringWriter();
-            transformer.transform(xmlSource, new StreamResult(outputWriter));
+            newTransformer(xsltFilePath).transform(
+                new StreamSource(new StringReader(xmlContent)), new StreamResult(outputWriter));
 
+            pipelineMetrics.recordSince(PipelineStage.XSLT, metricSource(xsltFilePath), true, start);
             return outputWriter.toString();
         } catch (TransformerException e) {
+            pipelineMetrics.recordSince(PipelineStage.XSLT, metricSource(xsltFilePath), false, start);
             log.error("Erreur de transformation XSLT", e);
             return "<html><body><p>Erreur de transformation XSLT : " + e.getMessage() + "</p></body></html>";
         }
@@ -76,18 +128,241 @@ public class XsltTransformer {
     /**
      * Transforme un objet Java (annoté JAXB) en HTML via une feuille XSLT.
      * <p>
-     * Cette méthode effectue en interne une sérialisation JAXB (objet → XML),
-     * suivie d’une transformation XSLT (XML → HTML).
+     * Les événements SAX produits par le sérialiseur JAXB sont injectés directement
+     * dans le transformateur via {@link JAXBSource} : aucun document XML intermédiaire
+     * n’est construit ni ré-analysé.
      *
      * @param jaxbObject   Objet Java à transformer (doit être compatible JAXB)
-     * @param xsltFilePath Chemin du fichier XSLT dans le classpath (ex: {@code "/xslt/rss25.item.xslt"})
+     * @param xsltFilePath Feuille XSLT à appliquer (ex: {@link XsltFilePath#ITEM})
      * @return Chaîne HTML résultante après transformation
-     * @throws Exception en cas d’erreur de sérialisation JAXB ou de transformation XSLT
+     * @throws JAXBException en cas d’erreur de sérialisation JAXB
+     * @throws TransformerException en cas d’erreur de transformation XSLT
+     */
+    public String marshalAndTransform(Object jaxbObject, XsltFilePath xsltFilePath)
+            throws JAXBException, TransformerException {
+        StringWriter outputWriter = new StringWriter();
+        marshalAndTransform(jaxbObject, xsltFilePath, new StreamResult(outputWriter));
+        return outputWriter.toString();
+    }
+
+    /**
+     * Transforme un objet Java (annoté JAXB) en HTML et écrit le résultat
+     * directement dans le flux de sortie fourni (ex : réponse HTTP), en UTF-8.
+     *
+     * @param jaxbObject   Objet Java à transformer (doit être compatible JAXB)
+     * @param xsltFilePath Feuille XSLT à appliquer
+     * @param output       flux de destination ; il n’est pas fermé par cette méthode
+     * @throws JAXBException en cas d’erreur de sérialisation JAXB
+     * @throws TransformerException en cas d’erreur de transformation XSLT
+     */
+    public void marshalAndTransform(Object jaxbObject, XsltFilePath xsltFilePath, OutputStream output)
+            throws JAXBException, TransformerException {
+        marshalAndTransform(jaxbObject, xsltFilePath, new StreamResult(output));
+    }
+
+    /**
+     * Chaîne sérialisation JAXB et transformation XSLT en une seule passe.
+     * <p>
+     * Le transformateur lit toute la source (la sérialisation JAXB construit son arbre d’entrée)
+     * avant d’exécuter la feuille : la durée de cette lecture est enregistrée à l’étape
+     * {@code marshal}, le reste à l’étape {@code xslt}.
+     * </p>
+     *
+     * @param jaxbObject   objet JAXB source
+     * @param xsltFilePath feuille XSLT à appliquer
+     * @param result       destination de la transformation
+     * @throws JAXBException en cas d’erreur de sérialisation JAXB
+     * @throws TransformerException en cas d’erreur de transformation XSLT
+     */
+    private void marshalAndTransform(Object jaxbObject, XsltFilePath xsltFilePath, Result result)
+            throws JAXBException, TransformerException {
+        Class<?> clazz = jaxbObject.getClass();
+        Marshaller marshaller = XmlContextRegistry.borrowMarshaller(clazz);
+        JAXBSource jaxbSource = new JAXBSource(marshaller, jaxbObject);
+        TimedReader reader = new TimedReader(jaxbSource.getXMLReader());
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            newTransformer(xsltFilePath).transform(new SAXSource(reader, jaxbSource.getInputSource()), result);
+            success = true;
+        } finally {
+            XmlContextRegistry.releaseMarshaller(clazz, marshaller);
+            long elapsed = System.nanoTime() - start;
+            String endpoint = PipelineMetrics.currentEndpoint();
+            if (reader.elapsedNanos >= 0) {
+                pipelineMetrics.record(PipelineStage.MARSHAL, endpoint, clazz.getSimpleName(), success, reader.elapsedNanos);
+                elapsed -= reader.elapsedNanos;
+            }
+            pipelineMetrics.record(PipelineStage.XSLT, endpoint, metricSource(xsltFilePath), success, elapsed);
+        }
+    }
+
+    /**
+     * Recompile les feuilles modifiées sur le disque, même si aucune requête ne les utilise :
+     * une page servie depuis le cache des rendus (ou un {@code 304}) ne déclencherait sinon
+     * jamais le rechargement. Sans effet hors mode développement.
+     */
+    @Scheduled(fixedDelayString = "${rss25sb.xslt.reload-check-ms:1000}")
+    public void reloadModified() {
+        if (!hotReload) {
+            return;
+        }
+        for (XsltFilePath path : XsltFilePath.values()) {
+            templatesFor(path);
+        }
+    }
+
+    /**
+     * Retourne la valeur de l’étiquette {@code source} des mesures d’une feuille XSLT.
+     *
+     * @param xsltFilePath feuille XSLT
+     * @return le nom de la feuille en minuscules (ex : {@code "item"})
+     */
+    private static String metricSource(XsltFilePath xsltFilePath) {
+        return xsltFilePath.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Crée un {@link Transformer} à partir de la feuille compilée en cache,
+     * avec les propriétés de sortie HTML du projet.
+     *
+     * @param xsltFilePath feuille XSLT souhaitée
+     * @return un transformateur propre à la requête courante
+     * @throws TransformerConfigurationException si la création échoue
      */
-    public static String marshalAndTransform(Object jaxbObject, String xsltFilePath) throws Exception {
-        JAXBContext context = JAXBContext.newInstance(jaxbObject.getClass());
-        StringWriter xmlWriter = new StringWriter();
-        context.createMarshaller().marshal(jaxbObject, xmlWriter);
-        return transform(xmlWriter.toString(), xsltFilePath);
+    private Transformer newTransformer(XsltFilePath xsltFilePath) throws TransformerConfigurationException {
+        Transformer transformer = templatesFor(xsltFilePath).newTransformer();
+
+        // Définition des propriétés de sortie HTML
+        transformer.setOutputProperty(OutputKeys.METHOD, "html");
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        return transformer;
+    }
+
+    /**
+     * Retourne la feuille compilée, en la recompilant si le rechargement à chaud
+     * est actif et que le fichier source a été modifié depuis la dernière compilation.
+     * <p>
+     * La recompilation (lecture du fichier comprise) se fait sous le verrou de la feuille,
+     * hors de la table : {@code compute()} l’exécuterait sous le moniteur {@code synchronized}
+     * de l’entrée, qui épingle un thread virtuel à son porteur. La nouvelle feuille remplace
+     * l’ancienne par {@link Map#replace(Object, Object, Object)}, puis un
+     * {@link StylesheetReloadedEvent} est publié, une fois le verrou relâché.
+     * </p>
+     *
+     * @param xsltFilePath feuille XSLT souhaitée
+     * @return l’objet {@link Templates} à jour
+     */
+    private Templates templatesFor(XsltFilePath xsltFilePath) {
+        CompiledStylesheet compiled = cache.get(xsltFilePath);
+        if (!hotReload || !compiled.isStale()) {
+            return compiled.templates();
+        }
+
+        boolean reloaded = false;
+        ReentrantLock lock = reloadLocks.get(xsltFilePath);
+        lock.lock();
+        try {
+            // Une autre requête a pu recompiler la feuille pendant l'attente du verrou
+            CompiledStylesheet stale = cache.get(xsltFilePath);
+            if (stale.isStale()) {
+                log.info("Feuille XSLT modifiée, recompilation : {}", xsltFilePath.getPath());
+                CompiledStylesheet fresh = compile(xsltFilePath);
+                reloaded = cache.replace(xsltFilePath, stale, fresh);
+            }
+            compiled = cache.get(xsltFilePath);
+        } finally {
+            lock.unlock();
+        }
+
+        if (reloaded) {
+            publisher.publishEvent(new StylesheetReloadedEvent(xsltFilePath));
+        }
+        return compiled.templates();
+    }
+
+    /**
+     * Compile une feuille XSLT depuis le classpath. Une fabrique est créée pour chaque
+     * compilation : {@link TransformerFactory} n’est pas thread-safe.
+     *
+     * @param xsltFilePath feuille à compiler
+     * @return la feuille compilée accompagnée de sa date de modification
+     * @throws IllegalArgumentException si le fichier XSLT est introuvable ou invalide
+     */
+    private CompiledStylesheet compile(XsltFilePath xsltFilePath) {
+        URL resource = XsltTransformer.class.getResource(xsltFilePath.getPath());
+        if (resource == null) {
+            throw new IllegalArgumentException("Fichier XSLT introuvable : " + xsltFilePath.getPath());
+        }
+
+        File file = toFile(resource);
+        long lastModified = (file != null) ? file.lastModified() : 0L;
+        try (InputStream xsltStream = resource.openStream()) {
+            Templates templates = TransformerFactory.newInstance().newTemplates(new StreamSource(xsltStream, resource.toExternalForm()));
+            return new CompiledStylesheet(templates, file, lastModified);
+        } catch (IOException | TransformerConfigurationException e) {
+            throw new IllegalArgumentException("Feuille XSLT invalide : " + xsltFilePath.getPath(), e);
+        }
+    }
+
+    /**
+     * Retourne le fichier correspondant à une ressource, si elle est hors archive.
+     *
+     * @param resource URL de la ressource
+     * @return le fichier local, ou {@code null} si la ressource est dans un JAR/WAR
+     */
+    private static File toFile(URL resource) {
+        if (!"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(resource.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lecteur SAX transmettant les événements du sérialiseur JAXB au transformateur,
+     * en mesurant la durée de la lecture complète.
+     */
+    private static final class TimedReader extends XMLFilterImpl {
+
+        /** Durée de la lecture en nanosecondes, ou {@code -1} si elle n’a pas eu lieu. */
+        private long elapsedNanos = -1;
+
+        TimedReader(XMLReader parent) {
+            super(parent);
+        }
+
+        @Override
+        public void parse(InputSource input) throws SAXException, IOException {
+            long start = System.nanoTime();
+            try {
+                super.parse(input);
+            } finally {
+                elapsedNanos = System.nanoTime() - start;
+            }
+        }
+    }
+
+    /**
+     * Feuille de style compilée et informations nécessaires au rechargement à chaud.
+     *
+     * @param templates    feuille compilée (thread-safe)
+     * @param file         fichier source, ou {@code null} si non surveillable
+     * @param lastModified date de modification du fichier lors de la compilation
+     */
+    private record CompiledStylesheet(Templates templates, File file, long lastModified) {
+
+        /**
+         * Indique si le fichier source a été modifié depuis la compilation.
+         *
+         * @return {@code true} si la feuille doit être recompilée
+         */
+        boolean isStale() {
+            return file != null && file.lastModified() != lastModified;
+        }
     }
-}
\ No newline at end of file
+}
@@ -11,7 +11,7 @@ package fr.univrouen.rss25SB.utils.constants;
  * chaînes de configuration utilisées dans plusieurs parties du projet.
  *
  * @author Matisse SENECHAL
- * @version 1.0
+ * @version 1.1
  */
 public final class Constants {
 
@@ -27,4 +27,14 @@ public final class Constants {
      * Ce fichier doit être présent dans le classpath (ex: {@code src/main/resources}).
      */
     public static final String XSD_PATH = "rss25.xsd";
-}
\ No newline at end of file
+
+    /**
+     * Espace de noms XML du format rss25SB (racine {@code <feed>}).
+     */
+    public static final String RSS25_NAMESPACE = "http://univ.fr/rss25";
+
+    /**
+     * Nom local de l’élément racine d’un flux rss25SB.
+     */
+    public static final String RSS25_ROOT = "feed";
+}
@@ -0,0 +1,48 @@
+package fr.univrouen.rss25SB.utils.constants;
+
+import java.util.Locale;
+
+/**
+ * <p>
+ * Énumération des modes d’insertion d’un flux soumis à {@code POST /rss25SB/insert},
+ * sélectionnés par le paramètre {@code mode} de la requête.
+ * </p>
+ *
+ * <ul>
+ *     <li>{@link #ATOMIC} (par défaut) : le flux est recopié dans un fichier temporaire, puis
+ *         lu, converti et inséré par lots dans une seule transaction, en tout ou rien</li>
+ *     <li>{@link #CHUNKED} : le flux est validé, converti et inséré par lots de
+ *         {@code rss25sb.insert.chunk-size} articles, chaque lot étant validé dans sa propre
+ *         transaction ; destiné aux reprises de volumes importants</li>
+ * </ul>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+public enum IngestMode {
+
+    /** Une transaction pour l’ensemble du flux (comportement historique). */
+    ATOMIC,
+
+    /** Une transaction par lot, avec compte rendu de progression. */
+    CHUNKED;
+
+    /**
+     * Retourne le mode correspondant à la valeur d’un paramètre de requête (insensible à la casse).
+     *
+     * @param value valeur du paramètre, ou {@code null} pour le mode par défaut
+     * @return le mode correspondant
+     * @throws IllegalArgumentException si la valeur ne correspond à aucun mode
+     */
+    public static IngestMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ATOMIC;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Mode d’insertion inconnu : " + value
+                + " (valeurs acceptées : atomic, chunked)");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package fr.univrouen.rss25SB.utils.constants;
+
+/**
+ * <p>
+ * Énumération des étapes mesurées des chaînes d’ingestion et de rendu.
+ * Chaque constante correspond à la valeur de l’étiquette {@code stage} du
+ * minuteur {@code rss25sb.pipeline.stage}.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see fr.univrouen.rss25SB.utils.PipelineMetrics
+ */
+public enum PipelineStage {
+
+    /** Lecture d’un flux rss25SB natif avec validation XSD (désérialisation JAXB). */
+    PARSE("parse"),
+
+    /** Conversion d’un flux externe par son {@code FeedConverter}. */
+    CONVERT("convert"),
+
+    /** Élimination groupée des GUID déjà présents en base. */
+    DEDUPE("dedupe"),
+
+    /** Conversion des articles XML en entités JPA ({@code ItemMapper.toEntity}). */
+    MAP("map"),
+
+    /** Écriture groupée des entités ({@code ItemService.saveAllItems}). */
+    PERSIST("persist"),
+
+    /**
+     * Sérialisation JAXB d’un objet en XML, dans une réponse ou en entrée d’une
+     * transformation XSLT (construction de l’arbre d’entrée du transformateur comprise).
+     */
+    MARSHAL("marshal"),
+
+    /** Transformation XSLT en HTML ({@code XsltTransformer}), hors sérialisation JAXB. */
+    XSLT("xslt");
+
+    /** Valeur de l’étiquette {@code stage}. */
+    private final String tag;
+
+    /**
+     * Constructeur de l’énumération.
+     *
+     * @param tag valeur de l’étiquette {@code stage}
+     */
+    PipelineStage(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Retourne la valeur de l’étiquette {@code stage}.
+     *
+     * @return la valeur, ex. {@code "parse"}
+     */
+    public String getTag() {
+        return tag;
+    }
+}
@@ -11,7 +11,7 @@ package fr.univrouen.rss25SB.utils.constants;
  * <p>Cette classe est déclarée {@code final} et ne peut pas être instanciée.
  *
  * @author Matisse SENECHAL
- * @version 2.0
+ * @version 2.1
  */
 public final class ResponseStatusConstants {
 
@@ -30,4 +30,10 @@ public final class ResponseStatusConstants {
 
     /** Statut d’échec à utiliser dans les réponses XML en cas d’erreur. */
     public static final String ERROR = "ERROR";
+
+    /** Statut d’une insertion asynchrone en attente de traitement. */
+    public static final String QUEUED = "QUEUED";
+
+    /** Statut d’une insertion asynchrone en cours de traitement. */
+    public static final String RUNNING = "RUNNING";
 }
\ No newline at end of file
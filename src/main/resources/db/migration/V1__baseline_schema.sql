@@ -0,0 +1,53 @@
+-- ======== Schéma initial rss25SB ========
+-- Reprend le schéma produit jusqu'ici par hibernate.ddl-auto=update.
+-- Les bases existantes sont marquées à cette version (spring.flyway.baseline-on-migrate)
+-- sans exécuter ce script.
+
+CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE contributor_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE item (
+    id           BIGINT                      NOT NULL,
+    title        VARCHAR(255)                NOT NULL,
+    guid         VARCHAR(255)                NOT NULL,
+    published    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated      TIMESTAMP(6) WITH TIME ZONE,
+    content_type VARCHAR(255)                NOT NULL,
+    src          VARCHAR(255),
+    image_type   VARCHAR(255),
+    href         VARCHAR(255),
+    alt          VARCHAR(255),
+    length       INTEGER,
+    CONSTRAINT item_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_item_guid UNIQUE (guid)
+);
+
+CREATE TABLE category (
+    id      BIGINT       NOT NULL,
+    term    VARCHAR(255) NOT NULL,
+    item_id BIGINT       NOT NULL,
+    CONSTRAINT category_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_category_item FOREIGN KEY (item_id) REFERENCES item (id)
+);
+
+CREATE TABLE author (
+    id           BIGINT       NOT NULL,
+    author_name  VARCHAR(255) NOT NULL,
+    author_email VARCHAR(255),
+    author_uri   VARCHAR(255),
+    item_id      BIGINT       NOT NULL,
+    CONSTRAINT author_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_author_item FOREIGN KEY (item_id) REFERENCES item (id)
+);
+
+CREATE TABLE contributor (
+    id                BIGINT       NOT NULL,
+    contributor_name  VARCHAR(255) NOT NULL,
+    contributor_email VARCHAR(255),
+    contributor_uri   VARCHAR(255),
+    item_id           BIGINT       NOT NULL,
+    CONSTRAINT contributor_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_contributor_item FOREIGN KEY (item_id) REFERENCES item (id)
+);
@@ -0,0 +1,14 @@
+-- ======== Index des requêtes fréquentes ========
+
+-- Clés étrangères des tables filles : chargement des collections (IN sur item_id)
+-- et suppressions ensemblistes (DELETE ... WHERE item_id IN (...)).
+CREATE INDEX IF NOT EXISTS idx_category_item_id ON category (item_id);
+CREATE INDEX IF NOT EXISTS idx_author_item_id ON author (item_id);
+CREATE INDEX IF NOT EXISTS idx_contributor_item_id ON contributor (item_id);
+
+-- Pagination par curseur de /resume (ORDER BY published DESC, id DESC) ;
+-- parcouru à rebours par la rétention (published < :before ORDER BY published, id).
+CREATE INDEX IF NOT EXISTS idx_item_published_id ON item (published DESC, id DESC);
+
+-- Suppression par catégorie : recherche sur le terme, item_id lu directement dans l'index.
+CREATE INDEX IF NOT EXISTS idx_category_term ON category (term, item_id);
@@ -0,0 +1,15 @@
+-- ======== Alignement des séquences d'identifiants ========
+-- Les bases créées avant le passage aux séquences (colonnes IDENTITY) n'ont pas de
+-- séquence, ou une séquence en retard sur les identifiants existants.
+-- Hibernate réserve les identifiants par blocs de 50 (optimiseur « pooled ») :
+-- la prochaine valeur doit donc dépasser max(id) d'au moins 50.
+
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS contributor_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('item_seq', (SELECT MAX(id) FROM item) + 50, false) WHERE EXISTS (SELECT 1 FROM item);
+SELECT setval('category_seq', (SELECT MAX(id) FROM category) + 50, false) WHERE EXISTS (SELECT 1 FROM category);
+SELECT setval('author_seq', (SELECT MAX(id) FROM author) + 50, false) WHERE EXISTS (SELECT 1 FROM author);
+SELECT setval('contributor_seq', (SELECT MAX(id) FROM contributor) + 50, false) WHERE EXISTS (SELECT 1 FROM contributor);
@@ -0,0 +1,199 @@
+package fr.univrouen.rss25SB.repository;
+
+import fr.univrouen.rss25SB.support.*;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les migrations Flyway (V1 à V3) s’appliquent à un schéma PostgreSQL vide, puis
+ * que les requêtes des chemins critiques s’appuient sur les index créés : première page et
+ * pagination par curseur de {@code /resume}, recherche par {@code guid}, sélection des lots de la
+ * rétention, recherche par catégorie et suppressions ensemblistes des tables filles.
+ * <p>
+ * Chaque requête analysée est celle que {@link ItemRepository} envoie réellement au pilote JDBC :
+ * la méthode du repository est appelée, sa requête capturée par {@link SqlStatementRecorder},
+ * puis passée à {@code EXPLAIN} avec les mêmes valeurs de paramètres. Les tables sont peuplées
+ * (5 000 articles) puis analysées, afin que le planificateur choisisse ses plans sur des
+ * statistiques réalistes et non sur des tables vides.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 2.0
+ * @see ItemRepository
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=fr.univrouen.rss25SB.support.SqlStatementRecorder",
+    "rss25sb.retention.enabled=false",
+    "rss25sb.poller.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MigrationIndexUsageTest {
+
+    /** Schéma vide dédié à la vérification des migrations, recréé à chaque exécution. */
+    private static final String EMPTY_SCHEMA = "migration_index_test";
+
+    /** Nombre d’articles insérés avant l’analyse des tables. */
+    private static final int ITEMS = 5000;
+
+    /** Date de publication du premier article ; les suivants sont espacés d’une minute. */
+    private static final OffsetDateTime FIRST_PUBLISHED = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void populate() {
+        jdbcTemplate.execute("TRUNCATE contributor, author, category, item");
+        jdbcTemplate.execute("INSERT INTO item (id, title, guid, published, content_type) "
+            + "SELECT n, 'Article ' || n, 'https://example.com/' || n, "
+            + "TIMESTAMPTZ '2025-01-01 00:00:00+00' + n * INTERVAL '1 minute', 'text' "
+            + "FROM generate_series(1, " + ITEMS + ") AS n");
+        jdbcTemplate.execute("INSERT INTO category (id, term, item_id) "
+            + "SELECT n, 'categorie' || (n % 500), (n + 1) / 2 FROM generate_series(1, " + (2 * ITEMS) + ") AS n");
+        jdbcTemplate.execute("INSERT INTO author (id, author_name, item_id) "
+            + "SELECT n, 'Auteur ' || n, n FROM generate_series(1, " + ITEMS + ") AS n");
+        jdbcTemplate.execute("INSERT INTO contributor (id, contributor_name, item_id) "
+            + "SELECT n, 'Contributeur ' || n, n FROM generate_series(1, " + ITEMS + ", 2) AS n");
+        jdbcTemplate.execute("ANALYZE item, category, author, contributor");
+    }
+
+    @AfterAll
+    void empty() {
+        jdbcTemplate.execute("TRUNCATE contributor, author, category, item");
+    }
+
+    @Test
+    void migrationsApplyToEmptySchema() {
+        Flyway flyway = Flyway.configure()
+            .dataSource(TestDatabase.url(), TestDatabase.username(), TestDatabase.password())
+            .schemas(EMPTY_SCHEMA)
+            .locations("classpath:db/migration")
+            .cleanDisabled(false)
+            .load();
+        flyway.clean();
+        MigrateResult result = flyway.migrate();
+
+        assertThat(result.migrationsExecuted).isEqualTo(3);
+        assertThat(result.targetSchemaVersion).isEqualTo("3");
+    }
+
+    @Test
+    void resumeFirstPageUsesPublishedIdIndex() {
+        Limit limit = Limit.of(51);
+        String sql = capture(() -> itemRepository.findSummaryPage(limit));
+
+        assertThat(explain(sql, limit.max()))
+            .contains("idx_item_published_id").doesNotContain("Seq Scan").doesNotContain("Sort");
+    }
+
+    @Test
+    void resumeKeysetPageUsesPublishedIdIndex() {
+        OffsetDateTime published = FIRST_PUBLISHED.plusMinutes(1440);
+        Limit limit = Limit.of(51);
+        String sql = capture(() -> itemRepository.findSummaryPageAfter(published, 1440L, limit));
+
+        assertThat(explain(sql, published, 1440L, limit.max()))
+            .contains("idx_item_published_id").doesNotContain("Seq Scan").doesNotContain("Sort");
+    }
+
+    @Test
+    void guidLookupUsesUniqueIndex() {
+        List<String> guids = List.of("https://example.com/12", "https://example.com/4000", "https://example.com/absent");
+        String sql = capture(() -> itemRepository.findExistingGuids(guids));
+
+        assertThat(explain(sql, guids.toArray())).contains("uk_item_guid").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void retentionBatchUsesPublishedIdIndex() {
+        OffsetDateTime before = FIRST_PUBLISHED.plusHours(12);
+        Limit limit = Limit.of(500);
+        String sql = capture(() -> itemRepository.findOldestIdsPublishedBefore(before, limit));
+
+        assertThat(explain(sql, before, limit.max()))
+            .contains("idx_item_published_id").doesNotContain("Seq Scan").doesNotContain("Sort");
+    }
+
+    @Test
+    void categoryLookupUsesTermIndex() {
+        Limit limit = Limit.of(1000);
+        String sql = capture(() -> itemRepository.findIdsByCategoryTerm("categorie7", limit));
+
+        assertThat(explain(sql, "categorie7", limit.max()))
+            .contains("idx_category_term").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void childDeletesUseItemIdIndexes() {
+        List<Long> ids = List.of(10L, 20L, 30L);
+        Object[] params = ids.toArray();
+
+        assertThat(explain(captureRolledBack(() -> itemRepository.deleteCategoriesByItemIds(ids)), params))
+            .contains("idx_category_item_id").doesNotContain("Seq Scan");
+        assertThat(explain(captureRolledBack(() -> itemRepository.deleteAuthorsByItemIds(ids)), params))
+            .contains("idx_author_item_id").doesNotContain("Seq Scan");
+        assertThat(explain(captureRolledBack(() -> itemRepository.deleteContributorsByItemIds(ids)), params))
+            .contains("idx_contributor_item_id").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Appelle une méthode du repository et retourne la requête SQL qu’elle a envoyée.
+     *
+     * @param call appel à une méthode de lecture de {@link ItemRepository}
+     * @return la dernière requête préparée, paramètres sous forme de {@code ?}
+     */
+    private static String capture(Runnable call) {
+        SqlStatementRecorder.clear();
+        call.run();
+        return SqlStatementRecorder.last();
+    }
+
+    /**
+     * Appelle une méthode de suppression du repository dans une transaction annulée,
+     * pour capturer sa requête sans modifier les tables analysées.
+     *
+     * @param call appel à une méthode de suppression de {@link ItemRepository}
+     * @return la dernière requête préparée, paramètres sous forme de {@code ?}
+     */
+    private String captureRolledBack(Runnable call) {
+        return capture(() -> transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            call.run();
+        }));
+    }
+
+    /**
+     * Retourne le plan d’exécution d’une requête, sans l’exécuter.
+     *
+     * @param sql    requête capturée
+     * @param params valeurs des paramètres, dans l’ordre des {@code ?}
+     * @return le plan au format texte, une ligne par nœud
+     */
+    private String explain(String sql, Object... params) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params));
+    }
+}
@@ -0,0 +1,230 @@
+package fr.univrouen.rss25SB.service;
+
+import com.sun.net.httpserver.*;
+import fr.univrouen.rss25SB.config.PollerProperties;
+import fr.univrouen.rss25SB.dto.*;
+import fr.univrouen.rss25SB.utils.constants.IngestMode;
+
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Vérifie la collecte d’une source contre un serveur HTTP local ({@code com.sun.net.httpserver}) :
+ * décompression gzip, requêtes conditionnelles, {@code Retry-After}, délai de réception du corps
+ * et intervalle adaptatif. Le service d’ingestion est simulé.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see FeedPollerService
+ */
+class FeedPollerServiceTest {
+
+    private static final String FEED = "<rss25SB xmlns=\"http://univ.fr/rss25\"><title>stub</title></rss25SB>";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Tue, 20 May 2025 10:00:00 GMT";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private volatile HttpHandler handler;
+    private final List<Headers> requests = new CopyOnWriteArrayList<>();
+
+    private FeedIngestService feedIngestService;
+    private PollerProperties properties;
+    private FeedPollerService poller;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/feed.xml", exchange -> {
+            requests.add(exchange.getRequestHeaders());
+            handler.handle(exchange);
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        feedIngestService = mock(FeedIngestService.class);
+        when(feedIngestService.getMaxPayloadBytes()).thenReturn(1024L * 1024);
+
+        PollerProperties.Source source = new PollerProperties.Source();
+        source.setName("stub");
+        source.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/feed.xml");
+        properties = new PollerProperties();
+        properties.setEnabled(false);
+        properties.setInitialIntervalSeconds(300);
+        properties.setMinIntervalSeconds(60);
+        properties.setMaxIntervalSeconds(3600);
+        properties.setSources(List.of(source));
+    }
+
+    @AfterEach
+    void stopServer() throws InterruptedException {
+        if (poller != null) {
+            poller.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void gzipFeedIsDecompressedAndHalvesTheInterval() throws Exception {
+        List<String> received = ingestAnswers(HttpStatus.CREATED, List.of(1L, 2L));
+        handler = exchange -> {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            respond(exchange, 200, gzip(FEED));
+        };
+
+        PollerSourceStatsDTO stats = pollOnce();
+
+        assertThat(requests.get(0).getFirst("Accept-Encoding")).isEqualTo("gzip");
+        assertThat(received).containsExactly(FEED);
+        assertThat(stats.getLastOutcome()).isEqualTo("changed");
+        assertThat(stats.getItemsInserted()).isEqualTo(2);
+        assertThat(stats.getIntervalSeconds()).isEqualTo(150);
+    }
+
+    @Test
+    void notModifiedIsRequestedWithStoredValidators() throws Exception {
+        ingestAnswers(HttpStatus.NO_CONTENT, null);
+        handler = exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                respond(exchange, 304, null);
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+            respond(exchange, 200, FEED.getBytes(StandardCharsets.UTF_8));
+        };
+
+        PollerSourceStatsDTO first = pollOnce();
+        PollerSourceStatsDTO second = poller.pollNow().getSource().get(0);
+
+        assertThat(first.getLastOutcome()).isEqualTo("unchanged");
+        assertThat(first.getIntervalSeconds()).isEqualTo(450);
+        assertThat(requests.get(0).containsKey("If-None-Match")).isFalse();
+        assertThat(requests.get(1).getFirst("If-None-Match")).isEqualTo(ETAG);
+        assertThat(requests.get(1).getFirst("If-Modified-Since")).isEqualTo(LAST_MODIFIED);
+        assertThat(second.getLastOutcome()).isEqualTo("not_modified");
+        assertThat(second.getNotModified()).isEqualTo(1);
+        assertThat(second.getIntervalSeconds()).isEqualTo(675);
+        verify(feedIngestService, times(1)).ingest(any(), any(), any());
+    }
+
+    @Test
+    void retryAfterPostponesTheNextPoll() throws Exception {
+        handler = exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "7200");
+            respond(exchange, 503, null);
+        };
+
+        PollerSourceStatsDTO stats = pollOnce();
+
+        assertThat(stats.getLastOutcome()).isEqualTo("error");
+        assertThat(stats.getLastStatus()).isEqualTo(503);
+        assertThat(stats.getIntervalSeconds()).isEqualTo(600);
+        assertThat(Duration.between(OffsetDateTime.parse(stats.getLastPoll()), OffsetDateTime.parse(stats.getNextPoll())))
+            .isEqualTo(Duration.ofSeconds(7200));
+        verify(feedIngestService, never()).ingest(any(), any(), any());
+    }
+
+    @Test
+    void intervalAdaptsWithinItsBounds() throws Exception {
+        ingestAnswers(HttpStatus.CREATED, List.of(1L));
+        handler = exchange -> respond(exchange, 200, FEED.getBytes(StandardCharsets.UTF_8));
+
+        List<Long> intervals = new ArrayList<>();
+        intervals.add(pollOnce().getIntervalSeconds());
+        for (int i = 0; i < 2; i++) {
+            intervals.add(poller.pollNow().getSource().get(0).getIntervalSeconds());
+        }
+        handler = exchange -> respond(exchange, 500, null);
+        for (int i = 0; i < 7; i++) {
+            intervals.add(poller.pollNow().getSource().get(0).getIntervalSeconds());
+        }
+
+        assertThat(intervals).containsExactly(150L, 75L, 60L, 120L, 240L, 480L, 960L, 1920L, 3600L, 3600L);
+    }
+
+    @Test
+    void stalledBodyIsAbandonedBeforeIngestion() throws Exception {
+        properties.setBodyTimeoutMs(300);
+        handler = exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write("<rss25SB".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        };
+
+        long start = System.nanoTime();
+        PollerSourceStatsDTO stats = pollOnce();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(stats.getLastOutcome()).isEqualTo("error");
+        assertThat(stats.getLastError()).contains("300 ms");
+        verify(feedIngestService, never()).ingest(any(), any(), any());
+    }
+
+    /**
+     * Crée le service de collecte et collecte une fois l’unique source.
+     */
+    private PollerSourceStatsDTO pollOnce() {
+        poller = new FeedPollerService(feedIngestService, properties, new MockEnvironment());
+        return poller.pollNow().getSource().get(0);
+    }
+
+    /**
+     * Programme la réponse du service d’ingestion simulé et conserve les flux reçus.
+     *
+     * @param status statut renvoyé
+     * @param ids    identifiants insérés, ou {@code null} si aucun
+     * @return les flux transmis au service d’ingestion
+     */
+    private List<String> ingestAnswers(HttpStatus status, List<Long> ids) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        when(feedIngestService.ingest(any(), eq(IngestMode.ATOMIC), eq(FeedPollerService.ENDPOINT))).thenAnswer(call -> {
+            try (InputStream body = call.getArgument(0)) {
+                received.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            InsertResponseDTO response = ids == null ? InsertResponseDTO.error("déjà présents") : InsertResponseDTO.success(ids);
+            return new FeedIngestService.IngestResult(status, response);
+        });
+        return received;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return output.toByteArray();
+    }
+}
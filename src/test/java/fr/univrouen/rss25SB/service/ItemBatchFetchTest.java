@@ -0,0 +1,160 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.client.generator.*;
+import fr.univrouen.rss25SB.model.db.ItemEntity;
+import fr.univrouen.rss25SB.model.xml.Item;
+import fr.univrouen.rss25SB.repository.ItemRepository;
+import fr.univrouen.rss25SB.support.TestDatabase;
+import fr.univrouen.rss25SB.utils.ItemMapper;
+import fr.univrouen.rss25SB.utils.constants.IngestMode;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie, à l’aide des statistiques Hibernate, le nombre de requêtes nécessaires à la lecture
+ * des articles et de leurs catégories, auteurs et contributeurs : il ne doit pas dépendre du
+ * nombre d’articles lus.
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ * @see ItemEntity
+ * @see ExportService
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "rss25sb.retention.enabled=false",
+    "rss25sb.poller.enabled=false"
+})
+class ItemBatchFetchTest {
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private FeedIngestService feedIngestService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE contributor, author, category, item");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void singleReadLoadsCollectionsInFourQueries() {
+        long id = insert(2).get(1); // article d’indice impair : auteur et contributeur
+
+        statistics.clear();
+        Item item = itemService.getItemAsXmlById(id).orElseThrow();
+
+        assertThat(item.getCategory()).isNotEmpty();
+        assertThat(item.getAuthorOrContributor()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    void bulkReadLoadsCollectionsInFourQueries(int count) {
+        List<Long> ids = insert(count);
+
+        statistics.clear();
+        List<Item> items = transactionTemplate.execute(status ->
+            itemRepository.findAllById(ids).stream().map(ItemMapper::toXml).toList());
+
+        assertThat(items).hasSize(count);
+        assertThat(items).allSatisfy(item -> assertThat(item.getCategory()).isNotEmpty());
+        assertThat(items.stream().mapToInt(item -> item.getAuthorOrContributor().size()).sum())
+            .isEqualTo(count + count / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 4", "100, 4", "501, 7"})
+    void exportLoadsCollectionsOncePerBlock(int count, long expectedStatements) throws Exception {
+        insert(count);
+        long categories = jdbcTemplate.queryForObject("SELECT count(*) FROM category", Long.class);
+
+        statistics.clear();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long exported = exportService.exportAll(output, "http://localhost/rss25SB/export/xml");
+
+        String xml = output.toString(StandardCharsets.UTF_8);
+        assertThat(exported).isEqualTo(count);
+        assertThat(occurrences(xml, "<item>")).isEqualTo(count);
+        assertThat(occurrences(xml, "<category ")).isEqualTo(categories);
+        assertThat(occurrences(xml, "<contributor ")).isEqualTo(count / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatements);
+    }
+
+    /**
+     * Insère {@code count} articles générés (catégories, auteur, et contributeur un article sur deux).
+     *
+     * @param count nombre d’articles
+     * @return les identifiants des articles insérés
+     */
+    private List<Long> insert(int count) {
+        SyntheticFeedSpec spec = new SyntheticFeedSpec();
+        spec.setItems(count);
+        spec.setNewest(OffsetDateTime.of(2025, 5, 20, 10, 0, 0, 0, ZoneOffset.UTC));
+        SyntheticFeedGenerator generator = new SyntheticFeedGenerator(spec);
+
+        List<Long> ids = new ArrayList<>();
+        try {
+            while (generator.hasNext()) {
+                byte[] document = generator.nextDocument().getBytes(StandardCharsets.UTF_8);
+                FeedIngestService.IngestResult result =
+                    feedIngestService.ingest(new ByteArrayInputStream(document), IngestMode.ATOMIC, "test");
+                assertThat(result.status()).isEqualTo(HttpStatus.CREATED);
+                ids.addAll(result.body().getId());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Insertion des articles de test impossible", e);
+        }
+        assertThat(ids).hasSize(count);
+        return ids;
+    }
+
+    private static long occurrences(String text, String token) {
+        return Pattern.compile(Pattern.quote(token)).matcher(text).results().count();
+    }
+}
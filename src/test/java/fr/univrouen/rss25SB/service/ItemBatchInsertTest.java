@@ -0,0 +1,125 @@
+package fr.univrouen.rss25SB.service;
+
+import fr.univrouen.rss25SB.client.generator.*;
+import fr.univrouen.rss25SB.model.db.ItemEntity;
+import fr.univrouen.rss25SB.support.*;
+import fr.univrouen.rss25SB.utils.constants.IngestMode;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que l’insertion d’un flux regroupe les {@code INSERT} en lots JDBC : une instruction
+ * préparée par table et par tranche de {@code hibernate.jdbc.batch_size} lignes, sans
+ * {@code UPDATE} de clé étrangère, quel que soit le nombre d’articles du flux.
+ * <p>
+ * Un flux rss25SB natif est limité à 10 articles par le XSD : le franchissement de la limite
+ * d’un lot JDBC (50 lignes) est donc vérifié avec un flux Le Monde de 120 articles, que le
+ * convertisseur complète d’une catégorie et d’un auteur par article.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ * @see ItemEntity
+ * @see ItemService#saveAllItems(java.util.List)
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=fr.univrouen.rss25SB.support.SqlStatementRecorder",
+    "rss25sb.retention.enabled=false",
+    "rss25sb.poller.enabled=false"
+})
+class ItemBatchInsertTest {
+
+    /** Valeur de {@code hibernate.jdbc.batch_size} (application.properties). */
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    private static final String[] TABLES = {"item", "category", "author", "contributor"};
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private FeedIngestService feedIngestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE contributor, author, category, item");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"RSS25SB, 1", "RSS25SB, 10", "LE_MONDE, 120"})
+    void feedIsInsertedWithOneStatementPerTableBatch(SyntheticFeedFormat format, int count) {
+        byte[] feed = feed(format, count);
+
+        statistics.clear();
+        SqlStatementRecorder.clear();
+        FeedIngestService.IngestResult result =
+            feedIngestService.ingest(new ByteArrayInputStream(feed), IngestMode.ATOMIC, "test");
+
+        assertThat(result.status()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.body().getId()).hasSize(count);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM item", Long.class)).isEqualTo(count);
+
+        long rows = 0;
+        for (String table : TABLES) {
+            long tableRows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+            rows += tableRows;
+            long expectedBatches = (tableRows + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE;
+            assertThat(SqlStatementRecorder.count("insert into " + table + " "))
+                .as("INSERT préparés pour la table %s (%d lignes)", table, tableRows)
+                .isEqualTo(expectedBatches);
+        }
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+        assertThat(SqlStatementRecorder.count("update")).isZero();
+    }
+
+    /**
+     * Génère un flux de {@code count} articles en un seul document.
+     *
+     * @param format format du document ({@code RSS25SB} : 10 articles au plus)
+     * @param count  nombre d’articles
+     * @return le document encodé en UTF-8
+     */
+    private static byte[] feed(SyntheticFeedFormat format, int count) {
+        SyntheticFeedSpec spec = new SyntheticFeedSpec();
+        spec.setFormat(format);
+        spec.setItems(count);
+        spec.setItemsPerDocument((long) count);
+        spec.setNewest(OffsetDateTime.of(2025, 5, 20, 10, 0, 0, 0, ZoneOffset.UTC));
+        SyntheticFeedGenerator generator = new SyntheticFeedGenerator(spec);
+        try {
+            byte[] document = generator.nextDocument().getBytes(StandardCharsets.UTF_8);
+            assertThat(generator.hasNext()).isFalse();
+            return document;
+        } catch (Exception e) {
+            throw new IllegalStateException("Génération du flux de test impossible", e);
+        }
+    }
+}
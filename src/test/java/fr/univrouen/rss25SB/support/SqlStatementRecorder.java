@@ -0,0 +1,63 @@
+package fr.univrouen.rss25SB.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Enregistre les requêtes SQL préparées par Hibernate, pour compter les instructions réellement
+ * envoyées au pilote JDBC. Une instruction regroupée en lot n’est préparée qu’une fois par lot.
+ * <p>
+ * Activé dans un test par
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=fr.univrouen.rss25SB.support.SqlStatementRecorder}.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.1
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    /** Requêtes préparées depuis le dernier {@link #clear()}. */
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    /**
+     * Oublie les requêtes enregistrées.
+     */
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Retourne la dernière requête préparée, telle qu’envoyée au pilote JDBC.
+     *
+     * @return la requête, paramètres sous forme de {@code ?}
+     * @throws IllegalStateException si aucune requête n’a été enregistrée
+     */
+    public static String last() {
+        if (STATEMENTS.isEmpty()) {
+            throw new IllegalStateException("Aucune requête enregistrée");
+        }
+        return STATEMENTS.get(STATEMENTS.size() - 1);
+    }
+
+    /**
+     * Compte les requêtes préparées commençant par un préfixe (insensible à la casse),
+     * par exemple {@code "insert into category"}.
+     *
+     * @param prefix début de la requête
+     * @return le nombre de requêtes correspondantes
+     */
+    public static long count(String prefix) {
+        String expected = prefix.toLowerCase(Locale.ROOT);
+        return STATEMENTS.stream()
+            .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(expected))
+            .count();
+    }
+}
@@ -0,0 +1,91 @@
+package fr.univrouen.rss25SB.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.*;
+
+/**
+ * Base PostgreSQL partagée par les tests d’intégration.
+ * <p>
+ * Par défaut, un PostgreSQL embarqué est démarré une seule fois pour toute l’exécution des tests.
+ * PostgreSQL refusant de démarrer sous l’utilisateur root, une base existante peut être utilisée
+ * à la place avec {@code -Drss25sb.test.datasource-url=jdbc:postgresql://…} (ainsi que
+ * {@code rss25sb.test.datasource-username} et {@code rss25sb.test.datasource-password}).
+ * Les tests vident les tables qu’ils utilisent : la base fournie doit être dédiée aux tests.
+ * </p>
+ *
+ * @author Matisse SENECHAL
+ * @version 1.0
+ */
+public final class TestDatabase {
+
+    /** Propriété système désignant une base existante. */
+    public static final String URL_PROPERTY = "rss25sb.test.datasource-url";
+
+    /** PostgreSQL embarqué, démarré à la première demande. */
+    private static EmbeddedPostgres embedded;
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Retourne l’URL JDBC de la base de test, en démarrant le PostgreSQL embarqué si nécessaire.
+     *
+     * @return l’URL JDBC
+     */
+    public static synchronized String url() {
+        String external = System.getProperty(URL_PROPERTY);
+        if (external != null && !external.isBlank()) {
+            return external;
+        }
+        if (embedded == null) {
+            try {
+                embedded = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Démarrage du PostgreSQL embarqué impossible "
+                    + "(utiliser -D" + URL_PROPERTY + " sous root)", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(TestDatabase::stop));
+        }
+        return embedded.getJdbcUrl("postgres", "postgres");
+    }
+
+    /**
+     * Retourne l’utilisateur de la base de test.
+     *
+     * @return le nom d’utilisateur
+     */
+    public static String username() {
+        return System.getProperty("rss25sb.test.datasource-username", "postgres");
+    }
+
+    /**
+     * Retourne le mot de passe de la base de test.
+     *
+     * @return le mot de passe (vide par défaut)
+     */
+    public static String password() {
+        return System.getProperty("rss25sb.test.datasource-password", "");
+    }
+
+    /**
+     * Déclare la base de test comme source de données de l’application.
+     *
+     * @param registry propriétés dynamiques du contexte de test
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", TestDatabase::url);
+        registry.add("spring.datasource.username", TestDatabase::username);
+        registry.add("spring.datasource.password", TestDatabase::password);
+    }
+
+    private static synchronized void stop() {
+        try {
+            embedded.close();
+        } catch (IOException ignored) {
+            // arrêt de la JVM : rien d’autre à faire
+        }
+    }
+}